@@ -1,51 +1,110 @@
 package com.auth.config;
 
+import com.auth.dto.response.UserDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
 
 /**
- * Spring Cache configuration backed by Redis with per-cache TTL controls.
+ * Spring Cache configuration: per-cache TTLs in Redis (L2), fronted by a size-bounded
+ * in-process Caffeine cache (L1) whose evictions are broadcast to other nodes over Redis
+ * pub/sub. Values are encoded per {@code app.cache.serializer} (see {@link CacheValueSerializers}).
  */
 @Configuration
-@EnableCaching
+// Just outside the transaction interceptor, so cache hits never open a transaction.
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class CacheConfig {
 
+    /** Value type of each cache with a fixed type, letting compact formats omit type metadata. */
+    private static final Map<String, Class<?>> VALUE_TYPES = Map.of(CacheNames.USER_PROFILE, UserDto.class);
+
     @Value("${app.cache.default-ttl-seconds:30}")
     private long defaultCacheTtlSeconds;
 
-    @Value("${app.cache.user-profile.ttl-seconds:60}")
+    @Value("${app.cache.user-profile.ttl-seconds:300}")
     private long userProfileTtlSeconds;
 
-    @Value("${app.cache.admin-dashboard.ttl-seconds:30}")
-    private long adminDashboardTtlSeconds;
+    @Value("${app.cache.serializer:smile}")
+    private String cacheSerializer;
+
+    @Value("${app.cache.local.enabled:true}")
+    private boolean localCacheEnabled;
+
+    @Value("${app.cache.local.max-entries:10000}")
+    private long localCacheMaxEntries;
+
+    @Value("${app.cache.local.refresh-ahead-ratio:0.8}")
+    private double refreshAheadRatio;
+
     /**
-     * Executes redis cache manager builder customizer logic.
+     * Builds the Redis cache manager and, unless disabled, wraps it with the local L1.
      */
 
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
-        RedisSerializationContext.SerializationPair<Object> valueSerializationPair = RedisSerializationContext.SerializationPair
-                .fromSerializer(new GenericJackson2JsonRedisSerializer());
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, StringRedisTemplate redisTemplate,
+                                     ObjectMapper objectMapper) {
+        Map<String, Duration> ttlByCacheName = Map.of(CacheNames.USER_PROFILE, ttl(userProfileTtlSeconds));
+        Duration defaultTtl = ttl(defaultCacheTtlSeconds);
 
+        CacheValueSerializers.Format format = CacheValueSerializers.Format.of(cacheSerializer);
         RedisCacheConfiguration baseConfiguration = RedisCacheConfiguration.defaultCacheConfig()
-                .serializeValuesWith(valueSerializationPair)
                 .disableCachingNullValues();
+        if (format != CacheValueSerializers.Format.JSON) {
+            // Separate keyspace per encoding, so nodes on different formats never read each other's values.
+            String suffix = "::" + format.name().toLowerCase(Locale.ROOT) + "::";
+            baseConfiguration = baseConfiguration.computePrefixWith(cacheName -> cacheName + suffix);
+        }
+
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(baseConfiguration
+                        .serializeValuesWith(pair(CacheValueSerializers.generic(format)))
+                        .entryTtl(defaultTtl));
+        for (Map.Entry<String, Duration> entry : ttlByCacheName.entrySet()) {
+            Class<?> valueType = VALUE_TYPES.get(entry.getKey());
+            RedisSerializer<Object> serializer = valueType != null
+                    ? CacheValueSerializers.typed(format, valueType)
+                    : CacheValueSerializers.generic(format);
+            builder.withCacheConfiguration(entry.getKey(), baseConfiguration
+                    .serializeValuesWith(pair(serializer))
+                    .entryTtl(entry.getValue()));
+        }
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+
+        if (!localCacheEnabled) {
+            return redisCacheManager;
+        }
+        return new TwoLevelCacheManager(redisCacheManager, redisTemplate, objectMapper,
+                name -> ttlByCacheName.getOrDefault(name, defaultTtl), localCacheMaxEntries, refreshAheadRatio);
+    }
+
+    /**
+     * Wraps a serializer for use in a cache configuration.
+     */
+
+    private static RedisSerializationContext.SerializationPair<Object> pair(RedisSerializer<Object> serializer) {
+        return RedisSerializationContext.SerializationPair.fromSerializer(serializer);
+    }
+
+    /**
+     * Converts a TTL setting, never below one second.
+     */
 
-        return cacheManagerBuilder -> cacheManagerBuilder
-                .cacheDefaults(baseConfiguration.entryTtl(Duration.ofSeconds(Math.max(1, defaultCacheTtlSeconds))))
-                .withCacheConfiguration(
-                        CacheNames.USER_PROFILE,
-                        baseConfiguration.entryTtl(Duration.ofSeconds(Math.max(1, userProfileTtlSeconds))))
-                .withCacheConfiguration(
-                        CacheNames.ADMIN_DASHBOARD,
-                        baseConfiguration.entryTtl(Duration.ofSeconds(Math.max(1, adminDashboardTtlSeconds))));
+    private static Duration ttl(long seconds) {
+        return Duration.ofSeconds(Math.max(1, seconds));
     }
 }
@@ -0,0 +1,72 @@
+package com.auth.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Subscribes the {@link TwoLevelCacheManager} to L1 invalidations from other nodes.
+ *
+ * <p>The subscription is (re)attempted on a schedule instead of during context startup, so the
+ * application still starts while Redis is unavailable; until it succeeds, L1 entries only
+ * expire by TTL. Once subscribed, the listener container handles reconnects itself.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationSubscriber {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final CacheManager cacheManager;
+
+    private RedisMessageListenerContainer container;
+
+    /**
+     * Prepares the listener container when the two-level cache is in use.
+     */
+
+    @PostConstruct
+    void createContainer() {
+        if (!(cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager)) {
+            return;
+        }
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(twoLevelCacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        container.afterPropertiesSet();
+    }
+
+    /** Starts listening if not already subscribed. */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.cache.local.subscribe-retry-ms:10000}")
+    public void ensureSubscribed() {
+        if (container == null || container.isListening()) {
+            return;
+        }
+        try {
+            container.start();
+            log.info("Subscribed to cache invalidations on {}", TwoLevelCacheManager.INVALIDATION_CHANNEL);
+        } catch (RuntimeException exception) {
+            // A failed start leaves the container marked as started; reset so the next run retries.
+            container.stop();
+            log.warn("Cache invalidation subscription unavailable, retrying: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Stops the listener container.
+     */
+
+    @PreDestroy
+    void destroyContainer() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+}
@@ -12,5 +12,4 @@ public final class CacheNames {
     }
 
     public static final String USER_PROFILE = "userProfile";
-    public static final String ADMIN_DASHBOARD = "adminDashboard";
 }
@@ -0,0 +1,112 @@
+package com.auth.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Locale;
+
+/**
+ * Redis value serializers for Spring Cache, selected by {@code app.cache.serializer}.
+ *
+ * <p>{@link Format#JSON} is the original {@code GenericJackson2JsonRedisSerializer} encoding,
+ * which stores an {@code @class} property in every value. {@link Format#SMILE} is Jackson's
+ * binary JSON: caches with a known value type store just the fields (the type comes from
+ * configuration, not the payload), other caches keep type metadata but still encode in binary.
+ * That metadata is read back from Redis, so only the DTO, collection and date-time types that
+ * are actually cached may be named by it; anything else is rejected (a miss) before it is
+ * instantiated.
+ * Smile payloads that cannot be decoded (e.g. written by an incompatible version) are treated
+ * as cache misses and overwritten.
+ */
+public final class CacheValueSerializers {
+
+    /** Types a generic Smile value may declare in its {@code @class} metadata. */
+    private static final PolymorphicTypeValidator CACHED_TYPES = BasicPolymorphicTypeValidator.builder()
+            .allowIfSubType("com.auth.dto.")
+            .allowIfSubType("java.util.")
+            .allowIfSubType("java.time.")
+            .build();
+
+    /** Supported cache value encodings. */
+    public enum Format {
+        JSON,
+        SMILE;
+
+        /** Parses a format name, case-insensitively. */
+        public static Format of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+    /**
+     * Prevents instantiation.
+     */
+
+    private CacheValueSerializers() {
+    }
+
+    /** Serializer for a cache whose values are all of {@code valueType}. */
+    public static RedisSerializer<Object> typed(Format format, Class<?> valueType) {
+        if (format == Format.JSON) {
+            return generic(format);
+        }
+        return new MissOnFailure(new Jackson2JsonRedisSerializer<>(smileMapper(), valueType));
+    }
+
+    /** Serializer for a cache whose value type is not known up front. */
+    public static RedisSerializer<Object> generic(Format format) {
+        if (format == Format.JSON) {
+            return new GenericJackson2JsonRedisSerializer();
+        }
+        ObjectMapper mapper = smileMapper();
+        mapper.activateDefaultTyping(CACHED_TYPES, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return new MissOnFailure(new GenericJackson2JsonRedisSerializer(mapper));
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Creates a Smile object mapper that tolerates added or removed fields.
+     */
+
+    private static ObjectMapper smileMapper() {
+        return new ObjectMapper(new SmileFactory())
+                .findAndRegisterModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /** Turns undecodable cached bytes into a cache miss instead of a failed request. */
+    @Slf4j
+    private static final class MissOnFailure implements RedisSerializer<Object> {
+
+        private final RedisSerializer<?> delegate;
+
+        private MissOnFailure(RedisSerializer<?> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public byte[] serialize(Object value) throws SerializationException {
+            return ((RedisSerializer<Object>) delegate).serialize(value);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            try {
+                return delegate.deserialize(bytes);
+            } catch (SerializationException exception) {
+                log.debug("Discarding undecodable cache value", exception);
+                return null;
+            }
+        }
+    }
+}
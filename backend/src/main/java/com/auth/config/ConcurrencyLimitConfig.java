@@ -0,0 +1,150 @@
+package com.auth.config;
+
+import com.auth.security.ClientIpResolver;
+import com.auth.security.limit.AdaptiveConcurrencyLimiter;
+import com.auth.security.limit.ConcurrencyLimitFilter;
+import com.auth.security.limit.ConcurrencyLimiterMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jmx.export.MBeanExporter;
+import org.springframework.jmx.support.RegistrationPolicy;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits (load shedding) in front of the API, ahead of Spring Security.
+ *
+ * <p>{@code /api/v1/auth/**} and the user/admin API get separate limiters, so a slow login
+ * path cannot starve authenticated reads and vice versa. On the auth limiter one client network
+ * ({@code /24} or {@code /64}) may hold at most {@code auth.max-client-share} of the limit, so
+ * a single flooding source cannot occupy every permit. Each limiter publishes
+ * {@code concurrency.*} meters tagged {@code limiter=<auth|api>} (see
+ * {@link ConcurrencyLimiterMetrics}) and is exported over JMX as
+ * {@code com.auth:type=ConcurrencyLimiter,name=<auth|api>}.
+ *
+ * <p>The filters run before the CORS filter inside Spring Security, so a shed response gets
+ * its CORS headers from the filter itself; otherwise the browser could not read the 503.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    /** Runs before Spring Security's filter chain, so shed requests cost almost nothing. */
+    private static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    @Value("${app.concurrency-limit.auth.initial:20}")
+    private int authInitialLimit;
+
+    @Value("${app.concurrency-limit.auth.min:4}")
+    private int authMinLimit;
+
+    @Value("${app.concurrency-limit.auth.max:200}")
+    private int authMaxLimit;
+
+    @Value("${app.concurrency-limit.auth.max-client-share:0.25}")
+    private double authMaxClientShare;
+
+    @Value("${app.concurrency-limit.api.initial:50}")
+    private int apiInitialLimit;
+
+    @Value("${app.concurrency-limit.api.min:10}")
+    private int apiMinLimit;
+
+    @Value("${app.concurrency-limit.api.max:500}")
+    private int apiMaxLimit;
+
+    @Value("${app.concurrency-limit.latency-tolerance:1.5}")
+    private double latencyTolerance;
+
+    @Value("${app.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.concurrency-limit.window-ms:1000}")
+    private long windowMs;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter authConcurrencyLimiter() {
+        return limiter("auth", authInitialLimit, authMinLimit, authMaxLimit);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter apiConcurrencyLimiter() {
+        return limiter("api", apiInitialLimit, apiMinLimit, apiMaxLimit);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> authConcurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter authConcurrencyLimiter, ObjectMapper objectMapper,
+            CorsConfigurationSource corsConfigurationSource, ClientIpResolver clientIpResolver) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(authConcurrencyLimiter, objectMapper,
+                corsConfigurationSource, request -> ClientIpResolver.subnetKey(clientIpResolver.resolve(request)),
+                authMaxClientShare);
+        return registration(filter, authConcurrencyLimiter, ApiPaths.AUTH_V1 + "/*");
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> apiConcurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter apiConcurrencyLimiter, ObjectMapper objectMapper,
+            CorsConfigurationSource corsConfigurationSource) {
+        return registration(new ConcurrencyLimitFilter(apiConcurrencyLimiter, objectMapper, corsConfigurationSource),
+                apiConcurrencyLimiter, ApiPaths.USER_V1 + "/*", ApiPaths.ADMIN_V1 + "/*");
+    }
+
+    /** Publishes both limiters' statistics as Micrometer meters. */
+    @Bean
+    public MeterBinder concurrencyLimiterMetrics(AdaptiveConcurrencyLimiter authConcurrencyLimiter,
+                                                 AdaptiveConcurrencyLimiter apiConcurrencyLimiter) {
+        return registry -> {
+            new ConcurrencyLimiterMetrics(authConcurrencyLimiter).bindTo(registry);
+            new ConcurrencyLimiterMetrics(apiConcurrencyLimiter).bindTo(registry);
+        };
+    }
+
+    /** Exports both limiters' statistics over JMX. */
+    @Bean
+    public MBeanExporter concurrencyLimiterMBeanExporter(AdaptiveConcurrencyLimiter authConcurrencyLimiter,
+                                                         AdaptiveConcurrencyLimiter apiConcurrencyLimiter) {
+        MBeanExporter exporter = new MBeanExporter();
+        exporter.setRegistrationPolicy(RegistrationPolicy.REPLACE_EXISTING);
+        exporter.setBeans(Map.of(
+                objectName(authConcurrencyLimiter), authConcurrencyLimiter,
+                objectName(apiConcurrencyLimiter), apiConcurrencyLimiter));
+        return exporter;
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Creates a limiter with the shared tuning settings.
+     */
+
+    private AdaptiveConcurrencyLimiter limiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(name, initialLimit, minLimit, maxLimit,
+                latencyTolerance, smoothing, Duration.ofMillis(windowMs));
+    }
+
+    /**
+     * Registers a limiting filter for the given URL patterns.
+     */
+
+    private static FilterRegistrationBean<ConcurrencyLimitFilter> registration(
+            ConcurrencyLimitFilter filter, AdaptiveConcurrencyLimiter limiter, String... urlPatterns) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setName(limiter.getName() + "ConcurrencyLimitFilter");
+        registration.addUrlPatterns(urlPatterns);
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+
+    private static String objectName(AdaptiveConcurrencyLimiter limiter) {
+        return "com.auth:type=ConcurrencyLimiter,name=" + limiter.getName();
+    }
+}
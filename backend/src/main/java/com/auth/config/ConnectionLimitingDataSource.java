@@ -0,0 +1,137 @@
+package com.auth.config;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds how many threads hold a connection at once, with a fair {@link Semaphore} in front of
+ * the pool.
+ *
+ * <p>With virtual threads every request gets its own thread, so thousands can reach the pool at
+ * once. Waiting here parks them in arrival order, and the pool only ever sees as many borrowers
+ * as it has connections. A permit is held from {@code getConnection()} until the connection is
+ * closed. A thread that already holds a permit (e.g. a {@code REQUIRES_NEW} transaction inside
+ * another) borrows its nested connections without one, so it cannot deadlock against itself.
+ * When no permit frees up within the timeout, a {@link SQLTransientConnectionException} is
+ * thrown, as the pool itself would.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrentConnections;
+    private final long acquireTimeoutNanos;
+    private final ThreadLocal<Boolean> holdsPermit = new ThreadLocal<>();
+
+    public ConnectionLimitingDataSource(DataSource target, int maxConcurrentConnections, Duration acquireTimeout) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrentConnections, true);
+        this.maxConcurrentConnections = maxConcurrentConnections;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return limit(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return limit(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /** Returns the number of permits currently free. */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Acquires a permit (unless this thread already holds one) and opens the connection.
+     */
+
+    private Connection limit(ConnectionOpener opener) throws SQLException {
+        if (Boolean.TRUE.equals(holdsPermit.get())) {
+            return opener.open();
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("No database connection permit available within "
+                        + Duration.ofNanos(acquireTimeoutNanos).toMillis() + "ms (limit "
+                        + maxConcurrentConnections + ")");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", exception);
+        }
+        try {
+            Connection connection = opener.open();
+            holdsPermit.set(Boolean.TRUE);
+            return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                    new Class<?>[] {ConnectionProxy.class}, new PermitReleasingHandler(connection));
+        } catch (SQLException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open() throws SQLException;
+    }
+
+    /** Releases the permit exactly once, when the connection is closed. */
+    private final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getTargetConnection":
+                    return target;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Permit-holding proxy for " + target;
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            holdsPermit.remove();
+                            permits.release();
+                        }
+                    }
+                    return null;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getTargetException();
+            }
+        }
+    }
+}
@@ -3,8 +3,9 @@ package com.auth.config;
 import com.auth.entity.Role;
 import com.auth.entity.RoleName;
 import com.auth.entity.User;
-import com.auth.repository.RoleRepository;
-import com.auth.repository.UserRepository;
+import com.auth.service.RoleService;
+import com.auth.service.UserService;
+import com.auth.util.EmailNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,8 +25,8 @@ import java.util.Set;
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
 
-    private final RoleRepository roleRepository;
-    private final UserRepository userRepository;
+    private final RoleService roleService;
+    private final UserService userService;
     private final PasswordEncoder passwordEncoder;
 
     @Value("${app.seed.admin.name:}")
@@ -43,8 +44,8 @@ public class DataInitializer implements CommandLineRunner {
     /** Seeds default roles and, if enabled, an initial admin user at startup. */
     @Override
     public void run(String... args) {
-        Role userRole = findOrCreateRole(RoleName.ROLE_USER);
-        Role adminRole = findOrCreateRole(RoleName.ROLE_ADMIN);
+        Role userRole = roleService.findOrCreateRole(RoleName.ROLE_USER);
+        Role adminRole = roleService.findOrCreateRole(RoleName.ROLE_ADMIN);
 
         if (!seedAdminEnabled) {
             return;
@@ -52,16 +53,17 @@ public class DataInitializer implements CommandLineRunner {
 
         validateSeedAdminConfig();
 
-        if (!userRepository.existsByEmailIgnoreCase(seedAdminEmail)) {
+        String adminEmail = EmailNormalizer.normalizeOrNull(seedAdminEmail);
+        if (!userService.existsByEmail(adminEmail)) {
             User admin = new User();
             admin.setName(seedAdminName);
-            admin.setEmail(seedAdminEmail);
+            admin.setEmail(adminEmail);
             admin.setPassword(passwordEncoder.encode(seedAdminPassword));
             admin.setEnabled(true);
             admin.setRoles(Set.of(adminRole, userRole));
 
-            userRepository.save(admin);
-            log.info("Default admin user created: {}", seedAdminEmail);
+            userService.save(admin);
+            log.info("Default admin user created: {}", adminEmail);
         }
     }
     /**
@@ -76,21 +78,4 @@ public class DataInitializer implements CommandLineRunner {
                     "app.seed.admin.enabled=true requires name, email, and password.");
         }
     }
-    /**
-     * Finds or create role.
-     */
-
-    private Role findOrCreateRole(RoleName roleName) {
-        return roleRepository.findByName(roleName)
-                .orElseGet(() -> createRole(roleName));
-    }
-    /**
-     * Creates role.
-     */
-
-    private Role createRole(RoleName roleName) {
-        Role role = new Role();
-        role.setName(roleName);
-        return roleRepository.save(role);
-    }
 }
@@ -0,0 +1,23 @@
+package com.auth.config;
+
+import com.auth.util.EmailNormalizer;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Cache key generator for methods whose first argument is an email address. Produces the
+ * canonical email, matching the keys used when evicting profiles in bulk.
+ */
+@Component(EmailKeyGenerator.BEAN_NAME)
+public class EmailKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "emailKeyGenerator";
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Object email = params.length > 0 ? params[0] : null;
+        return EmailNormalizer.normalizeOr(email instanceof String value ? value : null, "unknown");
+    }
+}
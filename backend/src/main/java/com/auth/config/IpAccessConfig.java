@@ -0,0 +1,31 @@
+package com.auth.config;
+
+import com.auth.security.ClientIpResolver;
+import com.auth.security.ip.IpAccessFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * IP allow/deny lists ({@code app.client-ip.allow} / {@code app.client-ip.deny}), enforced on
+ * every request ahead of load shedding and Spring Security.
+ */
+@Configuration
+public class IpAccessConfig {
+
+    /** Runs before the concurrency limiters, so refused clients never take a slot. */
+    private static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 5;
+
+    @Bean
+    public FilterRegistrationBean<IpAccessFilter> ipAccessFilter(ClientIpResolver clientIpResolver,
+                                                                 ObjectMapper objectMapper) {
+        FilterRegistrationBean<IpAccessFilter> registration =
+                new FilterRegistrationBean<>(new IpAccessFilter(clientIpResolver, objectMapper));
+        registration.setName("ipAccessFilter");
+        registration.addUrlPatterns("/*");
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
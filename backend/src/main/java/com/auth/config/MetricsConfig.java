@@ -0,0 +1,45 @@
+package com.auth.config;
+
+import com.auth.metrics.AuthMetrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer wiring beyond Spring Boot's defaults, exported at {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *   <li>Auth stage timers ({@code auth.jwt}, {@code auth.password}, {@code auth.rate.limit},
+ *       {@code auth.email}) come from {@link AuthMetrics}.</li>
+ *   <li>Boot times every repository call ({@code spring.data.repository.invocations}); here
+ *       those timers also get the request's {@code endpoint} tag. Leave their percentile
+ *       histogram off: with this tag it would publish a bucket set per method and endpoint.</li>
+ *   <li>Boot binds every cache of the cache manager at startup; the provider below teaches it
+ *       to read a {@link TwoLevelCache}'s hit and miss counts.</li>
+ *   <li>Load shedding and hashing admission are bound where they are built: the adaptive
+ *       limiters' {@code concurrency.*} meters in {@link ConcurrencyLimitConfig}, the password
+ *       hashing queue's {@code fair.queue.*} meters in {@link PasswordConfig}.</li>
+ *   <li>Read replica pools are not beans, so {@link ReadReplicaConfig} binds their
+ *       {@code hikaricp.*} and {@code jdbc.connections.*} meters and {@code db.replica.*}
+ *       rotation gauges itself.</li>
+ * </ul>
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return TwoLevelCacheMetrics::new;
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation))
+                .and(Tag.of("endpoint", AuthMetrics.currentEndpoint()));
+    }
+}
@@ -1,16 +1,85 @@
 package com.auth.config;
 
+import com.auth.metrics.AuthMetrics;
+import com.auth.metrics.TimedPasswordEncoder;
+import com.auth.security.ClientIpResolver;
+import com.auth.security.LockingSecureRandom;
+import com.auth.security.limit.ConcurrencyLimitFilter;
+import com.auth.security.limit.FairAdmissionQueue;
+import com.auth.security.limit.FairAdmissionQueueMetrics;
+import com.auth.security.limit.FairQueuedPasswordEncoder;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class PasswordConfig {
 
-    /** Exposes BCrypt password encoder used for hashing user passwords. */
+    /** BCrypt's default work factor, stated explicitly because a random source is supplied. */
+    private static final int BCRYPT_STRENGTH = 10;
+
+    @Value("${auth.password-hashing.fair-queue.enabled:true}")
+    private boolean fairQueueEnabled;
+
+    @Value("${auth.password-hashing.concurrency:0}")
+    private int hashingConcurrency;
+
+    @Value("${auth.password-hashing.max-queued-per-client:4}")
+    private int maxQueuedPerClient;
+
+    @Value("${auth.password-hashing.max-queued:1000}")
+    private int maxQueued;
+
+    @Value("${auth.password-hashing.max-wait-ms:5000}")
+    private long maxWaitMs;
+
+    /**
+     * Exposes BCrypt password encoder used for hashing user passwords. Salts come from a
+     * {@link LockingSecureRandom}, so concurrent registrations never pin virtual threads.
+     * Hashing for HTTP requests is fair-queued per client network (see
+     * {@link FairQueuedPasswordEncoder}), and each hash is timed inside the queue. Time spent
+     * waiting for a hashing slot is left out of the auth concurrency limiter's latency samples.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ClientIpResolver clientIpResolver, AuthMetrics authMetrics) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(BCRYPT_STRENGTH, new LockingSecureRandom());
+        if (authMetrics.isEnabled()) {
+            bcrypt = new TimedPasswordEncoder(bcrypt, authMetrics);
+        }
+        if (!fairQueueEnabled) {
+            return bcrypt;
+        }
+        FairAdmissionQueue queue = new FairAdmissionQueue(hashingSlots(), maxQueuedPerClient, maxQueued,
+                Duration.ofMillis(maxWaitMs), ConcurrencyLimitFilter::excludeFromLatency);
+        return new FairQueuedPasswordEncoder(bcrypt, queue, clientIpResolver);
+    }
+
+    /** Publishes the hashing queue's depth, wait and rejections as {@code fair.queue.*} meters. */
+    @Bean
+    public MeterBinder passwordHashingQueueMetrics(PasswordEncoder passwordEncoder) {
+        return registry -> {
+            if (passwordEncoder instanceof FairQueuedPasswordEncoder fairQueued) {
+                new FairAdmissionQueueMetrics(fairQueued.getQueue(), "password-hashing").bindTo(registry);
+            }
+        };
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Configured hashing slots; by default one per core but one, leaving a core (or virtual
+     * thread carrier) free for everything else.
+     */
+
+    private int hashingSlots() {
+        if (hashingConcurrency > 0) {
+            return hashingConcurrency;
+        }
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
     }
 }
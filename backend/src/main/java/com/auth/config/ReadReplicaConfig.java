@@ -0,0 +1,183 @@
+package com.auth.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.metrics.jdbc.DataSourcePoolMetrics;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes read-only transactions to PostgreSQL read replicas when
+ * {@code app.datasource.replica.urls} is set.
+ *
+ * <p>The application {@link DataSource} is a {@link LazyConnectionDataSourceProxy}: it defers
+ * fetching a physical connection until the first statement, by which point the transaction
+ * has marked the connection read-only, and then draws it from the replica router instead of
+ * the primary pool. Writes, Flyway migrations, and non-transactional access stay on the
+ * primary. Each pool is named ({@code primary}, {@code replica-N}), publishes Hikari's
+ * {@code hikaricp.*} meters tagged with that name, and registers JMX MBeans.
+ *
+ * <p>The replica pools are not beans (their number follows the URL list), so this class does
+ * what the container does for the primary: binds them to the {@link MeterRegistry}
+ * ({@code hikaricp.*} and {@code jdbc.connections.*}, plus {@code db.replica.healthy} and
+ * {@code db.replica.lag}), reports them under {@code /actuator/health} ({@code readReplicas}),
+ * and closes them on shutdown.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "urls")
+@RequiredArgsConstructor
+public class ReadReplicaConfig implements DisposableBean {
+
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+
+    @Value("${app.datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replica.connection-timeout-ms:2000}")
+    private long replicaConnectionTimeoutMs;
+
+    @Value("${app.datasource.replica.max-lag-ms:5000}")
+    private long maxReplicaLagMs;
+
+    /** Primary (read-write) pool, configured from the standard {@code spring.datasource.*} keys. */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        dataSource.setRegisterMbeans(true);
+        return dataSource;
+    }
+
+    /** One pool per replica URL behind a lag-aware router; health is checked before first use. */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource) {
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setPoolName("replica-" + (replicaPools.size() + 1));
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setConnectionTimeout(replicaConnectionTimeoutMs);
+            replica.setReadOnly(true);
+            replica.setRegisterMbeans(true);
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicaPools.add(replica);
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicaPools,
+                ReplicaRoutingDataSource.POSTGRES_LAG_PROBE, Duration.ofMillis(maxReplicaLagMs));
+        routing.refreshReplicaHealth();
+        return routing;
+    }
+
+    /** Application data source: primary by default, replica router for read-only transactions. */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    /**
+     * Per-pool rotation, lag and connection counts. Always UP: without a healthy replica, reads
+     * fall back to the primary, whose own {@code db} check decides whether the service is down.
+     */
+    @Bean
+    public HealthIndicator readReplicasHealthIndicator(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return () -> {
+            Health.Builder health = Health.up()
+                    .withDetail("readsOnReplicas", replicaRoutingDataSource.hasHealthyReplica());
+            for (ReplicaRoutingDataSource.PoolStats pool : replicaRoutingDataSource.poolStats()) {
+                health.withDetail(pool.name(), pool);
+            }
+            return health.build();
+        };
+    }
+
+    /**
+     * Binds each replica pool as Boot binds pooled data source beans ({@code jdbc.connections.*}
+     * tagged {@code name=replica-N}), along with whether it is in rotation and its last lag.
+     */
+    @Bean
+    public MeterBinder readReplicaMetrics(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                          ObjectProvider<DataSourcePoolMetadataProvider> metadataProviders) {
+        return registry -> {
+            List<DataSourcePoolMetadataProvider> providers = metadataProviders.orderedStream().toList();
+            for (HikariDataSource replica : replicaPools) {
+                String name = replica.getPoolName();
+                new DataSourcePoolMetrics(replica, providers, name, Tags.empty()).bindTo(registry);
+                Gauge.builder("db.replica.healthy", replicaRoutingDataSource,
+                                routing -> replicaStats(routing, name).healthy() ? 1 : 0)
+                        .tags("pool", name)
+                        .description("Whether the replica receives reads (1) or is out of rotation (0)")
+                        .register(registry);
+                TimeGauge.builder("db.replica.lag", replicaRoutingDataSource, TimeUnit.MILLISECONDS,
+                                routing -> replicaStats(routing, name).lagMillis())
+                        .tags("pool", name)
+                        .description("Replication lag at the last health check")
+                        .register(registry);
+            }
+        };
+    }
+
+    /** Closes the replica pools; the primary pool is closed by its own bean. */
+    @Override
+    public void destroy() {
+        replicaPools.forEach(HikariDataSource::close);
+    }
+
+    /** Re-probes replica lag so lagging replicas leave, and caught-up ones rejoin, the rotation. */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void refreshReplicaHealth() {
+        replicaRoutingDataSource.ifAvailable(ReplicaRoutingDataSource::refreshReplicaHealth);
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Finds a replica's current snapshot by pool name.
+     */
+
+    private static ReplicaRoutingDataSource.PoolStats replicaStats(ReplicaRoutingDataSource routing, String name) {
+        return routing.poolStats().stream()
+                .filter(stats -> stats.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,192 @@
+package com.auth.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections from healthy read replicas, falling back to the primary.
+ *
+ * <p>Replicas are used round-robin. A replica is taken out of rotation when its replication
+ * lag exceeds {@code maxLag}, when the lag probe fails, or when it refuses a connection; it
+ * rejoins once a later {@link #refreshReplicaHealth()} sees it caught up again. When no
+ * replica is healthy, reads are served by the primary. The router does not own the pools it
+ * routes to; whoever created them closes them.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    /** Replication lag query for PostgreSQL hot standbys; a primary reports zero. */
+    public static final LagProbe POSTGRES_LAG_PROBE = connection -> {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("""
+                     SELECT CASE
+                         WHEN NOT pg_is_in_recovery() THEN 0
+                         WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                         ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                     END""")) {
+            resultSet.next();
+            return Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000));
+        }
+    };
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final LagProbe lagProbe;
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    LagProbe lagProbe, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica(poolName(replicas.get(i), "replica-" + (i + 1)), replicas.get(i)));
+        }
+        this.lagProbe = lagProbe;
+        this.maxLag = maxLag;
+    }
+
+    /** Measures how far behind the primary the replica behind a connection is. */
+    @FunctionalInterface
+    public interface LagProbe {
+        Duration lag(Connection connection) throws SQLException;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /** Routes like {@link #getConnection()}, passing the credentials to whichever pool serves the read. */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /** Probes every replica's lag and updates which replicas receive reads. */
+    public void refreshReplicaHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                Duration lag = lagProbe.lag(connection);
+                replica.lag = lag;
+                if (lag.compareTo(maxLag) > 0) {
+                    markUnhealthy(replica, "lag " + lag.toMillis() + "ms exceeds " + maxLag.toMillis() + "ms");
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Read replica {} in rotation (lag {}ms)", replica.name, lag.toMillis());
+                }
+            } catch (SQLException | RuntimeException exception) {
+                markUnhealthy(replica, "lag probe failed: " + exception.getMessage());
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Connection pools: {}", poolStats());
+        }
+    }
+
+    /** Returns whether at least one replica currently receives reads. */
+    public boolean hasHealthyReplica() {
+        return replicas.stream().anyMatch(replica -> replica.healthy);
+    }
+
+    /** Returns a pool/health snapshot for the primary and every replica. */
+    public List<PoolStats> poolStats() {
+        List<PoolStats> stats = new ArrayList<>(replicas.size() + 1);
+        stats.add(PoolStats.of(poolName(primary, "primary"), primary, true, Duration.ZERO));
+        for (Replica replica : replicas) {
+            stats.add(PoolStats.of(replica.name, replica.dataSource, replica.healthy, replica.lag));
+        }
+        return stats;
+    }
+
+    /** Point-in-time view of one pool; connection counts are -1 for non-Hikari data sources. */
+    public record PoolStats(String name, boolean healthy, long lagMillis,
+                            int activeConnections, int idleConnections, int pendingThreads) {
+
+        static PoolStats of(String name, DataSource dataSource, boolean healthy, Duration lag) {
+            HikariPoolMXBean pool = dataSource instanceof HikariDataSource hikari ? hikari.getHikariPoolMXBean() : null;
+            if (pool == null) {
+                return new PoolStats(name, healthy, lag.toMillis(), -1, -1, -1);
+            }
+            return new PoolStats(name, healthy, lag.toMillis(),
+                    pool.getActiveConnections(), pool.getIdleConnections(), pool.getThreadsAwaitingConnection());
+        }
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /** Opens a connection from a healthy replica, or from the primary when none is usable. */
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        Replica replica = nextHealthyReplica();
+        if (replica == null) {
+            return opener.open(primary);
+        }
+        try {
+            return opener.open(replica.dataSource);
+        } catch (SQLException | RuntimeException exception) {
+            markUnhealthy(replica, "connection failed: " + exception.getMessage());
+            return opener.open(primary);
+        }
+    }
+
+    /** Picks the next healthy replica round-robin, or null when none is healthy. */
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+    /**
+     * Takes a replica out of rotation, logging only on the transition.
+     */
+
+    private void markUnhealthy(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} out of rotation, reads fall back to primary: {}", replica.name, reason);
+        }
+    }
+    /**
+     * Returns the Hikari pool name, or a fallback for other data sources.
+     */
+
+    private static String poolName(DataSource dataSource, String fallback) {
+        return dataSource instanceof HikariDataSource hikari && hikari.getPoolName() != null
+                ? hikari.getPoolName()
+                : fallback;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile Duration lag = Duration.ZERO;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.auth.security.oauth2.LinkedInAuthorizationRequestResolver;
 import com.auth.security.oauth2.OAuth2AuthenticationFailureHandler;
 import com.auth.security.oauth2.OAuth2AuthenticationSuccessHandler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -65,6 +66,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers(ApiPaths.AUTH_V1 + "/**").permitAll()
                     .requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll()
+                    // Scraped without credentials; serve them on an internal management.server.port.
+                    .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                     .requestMatchers(ApiPaths.ADMIN_V1 + "/**").hasAuthority("ROLE_ADMIN")
                     .requestMatchers(ApiPaths.USER_V1 + "/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                     .anyRequest().authenticated())
@@ -0,0 +1,283 @@
+package com.auth.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Cache} with a size-bounded in-process L1 in front of a shared (Redis) L2.
+ *
+ * <p>Reads try L1 first and fill it from L2 on a miss. Writes and evictions go to L2 first and
+ * are then broadcast, so other nodes drop their now-stale L1 copies; L1 entries also expire
+ * after the cache's TTL, which bounds staleness if a broadcast is lost.
+ *
+ * <p>For synchronized lookups ({@code @Cacheable(sync = true)}) concurrent misses on a key are
+ * coalesced into one load per node (waiters park on a future, so virtual threads are not
+ * pinned), and an entry read after {@code refreshAfterNanos} is served as-is while it is
+ * reloaded in the background, so hot keys do not expire under load. Refreshes are written to
+ * both levels without a broadcast.
+ *
+ * <p>Hit, miss and put counts are kept for {@link TwoLevelCacheMetrics}; a lookup that waits
+ * for another caller's load counts as neither.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, LocalEntry> local;
+    private final TwoLevelCacheManager manager;
+    private final Ticker ticker;
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    private final ConcurrentHashMap<Object, Boolean> refreshing = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    /** Bumped on every eviction, so a refresh that raced with one discards its result. */
+    private final AtomicLong evictions = new AtomicLong();
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteLookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    TwoLevelCache(Cache remote, com.github.benmanes.caffeine.cache.Cache<Object, LocalEntry> local,
+                  TwoLevelCacheManager manager, Ticker ticker, long refreshAfterNanos, Executor refreshExecutor) {
+        this.remote = remote;
+        this.local = local;
+        this.manager = manager;
+        this.ticker = ticker;
+        this.refreshAfterNanos = refreshAfterNanos;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /** L1 value with the time it was written, for refresh-ahead. */
+    record LocalEntry(Object value, long writtenAt) {
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    /** Returns the shared L2 cache. */
+    public Cache getRemoteCache() {
+        return remote;
+    }
+
+    /** Lookups served from L1. */
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    /** Lookups served from L2 after an L1 miss. */
+    public long getRemoteHits() {
+        return remoteLookups.sum() - misses.sum();
+    }
+
+    /** Lookups found in neither level. */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    /** Approximate number of L1 entries. */
+    public long getLocalSize() {
+        return local.estimatedSize();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        LocalEntry cached = local.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached::value;
+        }
+        remoteLookups.increment();
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(key, entry(wrapper.get()));
+        } else {
+            misses.increment();
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        LocalEntry cached = local.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            refreshIfDue(key, cached, valueLoader);
+            return (T) cached.value();
+        }
+        // Concurrent misses on a key wait for the first caller's load, so L2 (and the loader) is
+        // consulted once per node rather than once per request. Waiters park on a future instead
+        // of a map-bin monitor, which would pin virtual threads for the whole load.
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return (T) await(inFlight);
+        }
+        long evictionsAtStart = evictions.get();
+        remoteLookups.increment();
+        try {
+            T value = remote.get(key, () -> {
+                misses.increment();
+                return valueLoader.call();
+            });
+            if (value != null && evictions.get() == evictionsAtStart) {
+                local.put(key, entry(value));
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error exception) {
+            load.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, value);
+        manager.broadcastEvict(getName(), List.of(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.incrementAndGet();
+        remote.evict(key);
+        local.invalidate(key);
+        manager.broadcastEvict(getName(), List.of(key));
+    }
+
+    @Override
+    public void clear() {
+        evictions.incrementAndGet();
+        remote.clear();
+        local.invalidateAll();
+        manager.broadcastClear(getName());
+    }
+
+    /**
+     * Drops keys from this node's L1 and tells other nodes to do the same. Callers that
+     * remove the L2 entries themselves (e.g. with one batched delete) use this afterwards.
+     */
+    public void evictLocal(Collection<?> keys) {
+        evictions.incrementAndGet();
+        local.invalidateAll(keys);
+        manager.broadcastEvict(getName(), keys);
+    }
+
+    /** Applies an invalidation received from another node to this node's L1. */
+    void invalidateLocal(Collection<?> keys) {
+        evictions.incrementAndGet();
+        if (keys == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidateAll(keys);
+        }
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Stamps a value with the current time.
+     */
+
+    private LocalEntry entry(Object value) {
+        return new LocalEntry(value, ticker.read());
+    }
+    /**
+     * Writes a value to both levels of this node.
+     */
+
+    private void store(Object key, Object value) {
+        puts.increment();
+        remote.put(key, value);
+        if (value != null) {
+            local.put(key, entry(value));
+        }
+    }
+    /**
+     * Waits for another caller's load of the same key, rethrowing its failure as-is.
+     */
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Reloads an aging entry in the background, at most once at a time per key. The reload is
+     * not broadcast: it re-reads the source of truth, so peers' copies are as current as the
+     * last change, and that change was broadcast by the write that made it. Broadcasting here
+     * would evict a valid L1 entry on every node each time a hot key is refreshed.
+     */
+
+    private void refreshIfDue(Object key, LocalEntry cached, Callable<?> valueLoader) {
+        if (refreshAfterNanos <= 0 || ticker.read() - cached.writtenAt() < refreshAfterNanos) {
+            return;
+        }
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        long evictionsAtStart = evictions.get();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Object value = valueLoader.call();
+                    if (value != null && evictions.get() == evictionsAtStart) {
+                        store(key, value);
+                    }
+                } catch (Exception exception) {
+                    log.warn("Refresh-ahead failed for cache={}", getName(), exception);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            // Refresh queue full; the entry is still served and will be reloaded on expiry.
+            refreshing.remove(key);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.auth.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Wraps every cache of a shared (Redis) {@link CacheManager} in a {@link TwoLevelCache}.
+ *
+ * <p>L1 evictions are broadcast on {@link #INVALIDATION_CHANNEL}; this manager also listens on
+ * that channel and drops the named keys from its own L1, ignoring its own messages. Cache keys
+ * are expected to be strings, as produced by the application's key generators. Refresh-ahead
+ * loads run on a small private pool owned by this manager.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, DisposableBean {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidate";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    private final CacheManager remote;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Function<String, Duration> ttlByCacheName;
+    private final long maxLocalEntries;
+    private final double refreshAheadRatio;
+    private final Ticker ticker;
+    private final Executor refreshExecutor;
+
+    /**
+     * @param refreshAheadRatio fraction of the TTL after which a read triggers a background
+     *                          reload (e.g. 0.8); 0 disables refresh-ahead
+     */
+    public TwoLevelCacheManager(CacheManager remote, StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                Function<String, Duration> ttlByCacheName, long maxLocalEntries,
+                                double refreshAheadRatio) {
+        this(remote, redisTemplate, objectMapper, ttlByCacheName, maxLocalEntries, refreshAheadRatio,
+                Ticker.systemTicker(), newRefreshExecutor());
+    }
+
+    TwoLevelCacheManager(CacheManager remote, StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                         Function<String, Duration> ttlByCacheName, long maxLocalEntries,
+                         double refreshAheadRatio, Ticker ticker, Executor refreshExecutor) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttlByCacheName = ttlByCacheName;
+        this.maxLocalEntries = maxLocalEntries;
+        this.refreshAheadRatio = refreshAheadRatio;
+        this.ticker = ticker;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remoteCache = remote.getCache(cacheName);
+            if (remoteCache == null) {
+                return null;
+            }
+            Duration ttl = ttlByCacheName.apply(cacheName);
+            long refreshAfterNanos = refreshAheadRatio > 0 && refreshAheadRatio < 1
+                    ? (long) (ttl.toNanos() * refreshAheadRatio)
+                    : 0;
+            return new TwoLevelCache(remoteCache, Caffeine.newBuilder()
+                    .maximumSize(maxLocalEntries)
+                    .expireAfterWrite(ttl)
+                    .ticker(ticker)
+                    .<Object, TwoLevelCache.LocalEntry>build(),
+                    this, ticker, refreshAfterNanos, refreshExecutor);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    /** Stops the refresh-ahead workers. */
+    @Override
+    public void destroy() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /** Applies invalidations published by other nodes to the local L1 caches. */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), Invalidation.class);
+        } catch (Exception exception) {
+            log.warn("Ignoring malformed cache invalidation message", exception);
+            return;
+        }
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(invalidation.cache());
+        if (cache != null) {
+            cache.invalidateLocal(invalidation.keys());
+        }
+    }
+
+    /** Tells other nodes to drop the given keys from their L1. */
+    void broadcastEvict(String cacheName, Collection<?> keys) {
+        publish(new Invalidation(nodeId, cacheName, keys.stream().map(String::valueOf).toList()));
+    }
+
+    /** Tells other nodes to clear their L1 for a cache. */
+    void broadcastClear(String cacheName) {
+        publish(new Invalidation(nodeId, cacheName, null));
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Creates a small bounded pool for refresh-ahead loads; excess refreshes are skipped.
+     */
+
+    private static ExecutorService newRefreshExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1_000), runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Publishes an invalidation; on failure peers fall back to their L1 TTL. */
+    private void publish(Invalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, objectMapper.writeValueAsString(invalidation));
+        } catch (Exception exception) {
+            log.warn("Failed to broadcast cache invalidation for cache={}", invalidation.cache(), exception);
+        }
+    }
+
+    /** Pub/sub payload; {@code keys} is null when the whole cache was cleared. */
+    record Invalidation(String origin, String cache, List<String> keys) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.auth.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Standard {@code cache.gets} (hit/miss), {@code cache.puts} and {@code cache.size} meters for a
+ * {@link TwoLevelCache}, plus {@code cache.local.hits}: the share of hits served by the
+ * in-process L1 without a Redis round trip. {@code cache.size} is the L1 entry count.
+ */
+public class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+
+    public TwoLevelCacheMetrics(TwoLevelCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        return getCache().getLocalSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache().getLocalHits() + getCache().getRemoteHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache().getMisses();
+    }
+
+    /** L1 evictions are size- and TTL-driven inside Caffeine and are not counted. */
+    @Override
+    protected Long evictionCount() {
+        return null;
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache().getPuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.local.hits", getCache(), TwoLevelCache::getLocalHits)
+                .tags(getTagsWithCacheName())
+                .description("Cache hits served from the in-process L1")
+                .register(registry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.auth.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}, under which Tomcat, {@code @Async}
+ * and the scheduler run their work on virtual threads.
+ *
+ * <p>The application {@code dataSource} is wrapped in a {@link ConnectionLimitingDataSource}, so
+ * request threads queue fairly for a connection instead of all contending for the pool at once.
+ * With read replicas the limit applies to the routing proxy, i.e. to concurrent transactions.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /** Wraps the application data source in a connection limiter. */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                int maxConcurrentConnections = environment.getProperty(
+                        "app.datasource.max-concurrent-connections", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                long acquireTimeoutMs = environment.getProperty(
+                        "app.datasource.acquire-timeout-ms", Long.class,
+                        environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L));
+                return new ConnectionLimitingDataSource(dataSource, Math.max(1, maxConcurrentConnections),
+                        Duration.ofMillis(acquireTimeoutMs));
+            }
+        };
+    }
+}
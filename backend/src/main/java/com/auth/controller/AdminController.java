@@ -1,21 +1,40 @@
 package com.auth.controller;
 
 import com.auth.config.ApiPaths;
+import com.auth.dto.request.BulkUserActionRequest;
 import com.auth.dto.response.AdminDashboardDto;
 import com.auth.dto.response.ApiResponse;
+import com.auth.dto.response.CredentialStuffingReportDto;
+import com.auth.dto.response.CursorPageDto;
 import com.auth.dto.response.UserDto;
+import com.auth.dto.response.UserImportResultDto;
 import com.auth.service.AdminService;
+import com.auth.service.UserImportService;
+import com.auth.service.support.UserFileFormat;
 import com.auth.util.AuthPrincipalUtil;
+import com.auth.util.ConditionalResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * REST controller for admin dashboard.
@@ -29,16 +48,32 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
     private final AdminService adminService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Get admin dashboard data.
      * GET /api/v1/admin/dashboard
      */
     @GetMapping("/dashboard")
-    public ResponseEntity<ApiResponse<AdminDashboardDto>> getDashboard(Authentication authentication) {
+    public ResponseEntity<ApiResponse<AdminDashboardDto>> getDashboard(Authentication authentication,
+                                                                       WebRequest webRequest) {
         String authenticatedEmail = AuthPrincipalUtil.requireAuthenticatedEmail(authentication);
-        AdminDashboardDto dashboard = adminService.getDashboard(authenticatedEmail);
-        return ResponseEntity.ok(ApiResponse.ok(dashboard));
+        // The body names the viewing admin, so the shared list version alone is not enough.
+        String etag = ConditionalResponses.etag("a", adminService.getUsersVersion(),
+                ConditionalResponses.principalTag(authenticatedEmail));
+        return ConditionalResponses.okUnlessNotModified(webRequest, etag,
+                () -> adminService.getDashboard(authenticatedEmail));
+    }
+
+    /**
+     * Get the top suspected credential-stuffing sources.
+     * GET /api/v1/admin/security/offenders
+     */
+    @GetMapping("/security/offenders")
+    public ResponseEntity<ApiResponse<CredentialStuffingReportDto>> getCredentialStuffingOffenders(
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(ApiResponse.ok(adminService.getCredentialStuffingReport(limit)));
     }
 
     /**
@@ -57,8 +92,105 @@ public class AdminController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc")
             @Pattern(regexp = "(?i)asc|desc", message = "sortDir must be asc or desc.")
-            String sortDir) {
-        Page<UserDto> users = adminService.getUsers(page, size, search, enabled, role, sortBy, sortDir);
-        return ResponseEntity.ok(ApiResponse.ok(users));
+            String sortDir,
+            WebRequest webRequest) {
+        String etag = ConditionalResponses.etag("l", adminService.getUsersVersion());
+        return ConditionalResponses.okUnlessNotModified(webRequest, etag,
+                () -> adminService.getUsers(page, size, search, enabled, role, sortBy, sortDir));
+    }
+
+    /**
+     * Cursor (keyset) variant of the user listing, selected by the presence of {@code cursor}.
+     * Pass an empty cursor for the first window and {@code nextCursor} afterwards.
+     */
+    @GetMapping(value = "/users", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDto<UserDto>>> getUsersByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Boolean enabled,
+            @Pattern(regexp = "(?i)USER|ADMIN|ROLE_USER|ROLE_ADMIN",
+                    message = "Role filter must be USER, ADMIN, ROLE_USER, or ROLE_ADMIN.")
+            @RequestParam(required = false) String role,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc")
+            @Pattern(regexp = "(?i)asc|desc", message = "sortDir must be asc or desc.")
+            String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest webRequest) {
+        String etag = ConditionalResponses.etag("l", adminService.getUsersVersion());
+        return ConditionalResponses.okUnlessNotModified(webRequest, etag,
+                () -> adminService.getUsersByCursor(cursor, size, search, enabled, role, sortBy, sortDir, includeTotal));
+    }
+
+    /**
+     * Stream all users matching the filters as NDJSON or CSV.
+     * GET /api/v1/admin/users/export
+     */
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson")
+            @Pattern(regexp = "(?i)ndjson|csv", message = "format must be ndjson or csv.")
+            String format,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Boolean enabled,
+            @Pattern(regexp = "(?i)USER|ADMIN|ROLE_USER|ROLE_ADMIN",
+                    message = "Role filter must be USER, ADMIN, ROLE_USER, or ROLE_ADMIN.")
+            @RequestParam(required = false) String role) {
+        UserFileFormat exportFormat = UserFileFormat.from(format);
+        StreamingResponseBody body = outputStream ->
+                adminService.exportUsers(exportFormat, search, enabled, role, outputStream);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("users." + exportFormat.getFileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
+    /**
+     * Bulk-create verified local users from an NDJSON or CSV upload.
+     * POST /api/v1/admin/users/import
+     */
+    @PostMapping(value = "/users/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<UserImportResultDto>> importUsers(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false)
+            @Pattern(regexp = "(?i)ndjson|csv", message = "format must be ndjson or csv.")
+            String format,
+            @RequestParam(defaultValue = "true") boolean sendWelcomeEmail) throws IOException {
+        UserFileFormat importFormat = UserFileFormat.fromUpload(format, file.getOriginalFilename());
+        try (InputStream inputStream = file.getInputStream()) {
+            UserImportResultDto result = userImportService.importUsers(importFormat, inputStream, sendWelcomeEmail);
+            return ResponseEntity.ok(ApiResponse.ok(result, "User import completed."));
+        }
+    }
+
+    /**
+     * Apply an action to many users, streaming one NDJSON progress line per processed chunk.
+     * The final line has {@code done=true}. A client disconnect stops reporting, not the action.
+     * POST /api/v1/admin/users/bulk
+     */
+    @PostMapping("/users/bulk")
+    public ResponseEntity<StreamingResponseBody> applyBulkAction(@Valid @RequestBody BulkUserActionRequest request) {
+        StreamingResponseBody body = outputStream -> {
+            AtomicBoolean clientGone = new AtomicBoolean();
+            adminService.applyBulkAction(request, progress -> {
+                if (clientGone.get()) {
+                    return;
+                }
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(progress));
+                    outputStream.write('\n');
+                    outputStream.flush();
+                } catch (IOException ex) {
+                    clientGone.set(true);
+                }
+            });
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(UserFileFormat.NDJSON.getContentType()))
+                .body(body);
     }
 }
@@ -4,17 +4,21 @@ import com.auth.config.ApiPaths;
 import com.auth.dto.request.ChangePasswordRequest;
 import com.auth.dto.response.ApiResponse;
 import com.auth.dto.response.MessageResponse;
+import com.auth.dto.response.UserBootstrapDto;
 import com.auth.dto.response.UserDashboardDto;
 import com.auth.dto.response.UserDto;
+import com.auth.service.AdminService;
 import com.auth.service.AuthService;
 import com.auth.service.UserPortalService;
 import com.auth.util.AuthPrincipalUtil;
+import com.auth.util.ConditionalResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for user dashboard.
@@ -29,16 +33,20 @@ public class UserController {
 
     private final UserPortalService userPortalService;
 
+    private final AdminService adminService;
+
     /**
      * Get user dashboard data.
      * GET /api/v1/user/dashboard
      */
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<UserDashboardDto>> getDashboard(Authentication authentication) {
+    public ResponseEntity<ApiResponse<UserDashboardDto>> getDashboard(Authentication authentication,
+                                                                      WebRequest webRequest) {
         String authenticatedEmail = AuthPrincipalUtil.requireAuthenticatedEmail(authentication);
-        UserDashboardDto dashboard = userPortalService.getDashboard(authenticatedEmail);
-        return ResponseEntity.ok(ApiResponse.ok(dashboard));
+        String etag = ConditionalResponses.etag("d", userPortalService.getProfileVersion(authenticatedEmail));
+        return ConditionalResponses.okUnlessNotModified(webRequest, etag,
+                () -> userPortalService.getDashboard(authenticatedEmail));
     }
 
     /**
@@ -47,10 +55,32 @@ public class UserController {
      */
     @GetMapping("/profile")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<UserDto>> getProfile(Authentication authentication) {
+    public ResponseEntity<ApiResponse<UserDto>> getProfile(Authentication authentication, WebRequest webRequest) {
+        String authenticatedEmail = AuthPrincipalUtil.requireAuthenticatedEmail(authentication);
+        String etag = ConditionalResponses.etag("p", userPortalService.getProfileVersion(authenticatedEmail));
+        return ConditionalResponses.okUnlessNotModified(webRequest, etag,
+                () -> userPortalService.getProfile(authenticatedEmail));
+    }
+
+    /**
+     * Get everything the SPA needs at session start in one round trip.
+     * GET /api/v1/user/bootstrap
+     *
+     * <p>The ETag combines the user's version with, for admins, the user list version, so a
+     * client revalidating an unchanged session gets 304 without a body.
+     */
+    @GetMapping("/bootstrap")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserBootstrapDto>> getBootstrap(Authentication authentication,
+                                                                      WebRequest webRequest) {
         String authenticatedEmail = AuthPrincipalUtil.requireAuthenticatedEmail(authentication);
-        UserDto profile = userPortalService.getProfile(authenticatedEmail);
-        return ResponseEntity.ok(ApiResponse.ok(profile));
+        boolean admin = AuthPrincipalUtil.hasAuthority(authentication, "ROLE_ADMIN");
+        long profileVersion = userPortalService.getProfileVersion(authenticatedEmail);
+        String etag = admin
+                ? ConditionalResponses.etag("ba", profileVersion, adminService.getUsersVersion())
+                : ConditionalResponses.etag("b", profileVersion);
+        return ConditionalResponses.okUnlessNotModified(webRequest, etag,
+                () -> userPortalService.getBootstrap(authenticatedEmail, admin));
     }
 
     /**
@@ -0,0 +1,61 @@
+package com.auth.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * DTO for an admin bulk action. Targets are the given {@code userIds}, the users matching the
+ * {@code search}/{@code enabled}/{@code role} filters (same semantics as the admin user list),
+ * or the intersection when both are given.
+ */
+@Data
+public class BulkUserActionRequest {
+
+    public enum Action {
+        ENABLE,
+        DISABLE,
+        ASSIGN_ROLE,
+        REVOKE_SESSIONS
+    }
+
+    @NotNull(message = "Action is required")
+    private Action action;
+
+    @Pattern(regexp = "(?i)USER|ADMIN|ROLE_USER|ROLE_ADMIN",
+            message = "assignRole must be USER, ADMIN, ROLE_USER, or ROLE_ADMIN.")
+    private String assignRole;
+
+    @Size(max = 10_000, message = "At most 10000 user ids per request")
+    private List<@NotNull Long> userIds;
+
+    private String search;
+
+    private Boolean enabled;
+
+    @Pattern(regexp = "(?i)USER|ADMIN|ROLE_USER|ROLE_ADMIN",
+            message = "Role filter must be USER, ADMIN, ROLE_USER, or ROLE_ADMIN.")
+    private String role;
+
+    /** Guards against an accidental action on every user. */
+    @JsonIgnore
+    @AssertTrue(message = "Provide userIds or at least one filter (search, enabled, role)")
+    public boolean isTargetSpecified() {
+        return (userIds != null && !userIds.isEmpty())
+                || StringUtils.hasText(search)
+                || enabled != null
+                || StringUtils.hasText(role);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "assignRole is required for ASSIGN_ROLE")
+    public boolean isAssignRoleSpecified() {
+        return action != Action.ASSIGN_ROLE || StringUtils.hasText(assignRole);
+    }
+}
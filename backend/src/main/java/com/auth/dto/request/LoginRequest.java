@@ -2,6 +2,7 @@ package com.auth.dto.request;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 /**
@@ -16,4 +17,11 @@ public class LoginRequest {
 
     @NotBlank(message = "Password is required")
     private String password;
+
+    /** Proof-of-work challenge from a previous {@code 428} response, if one was issued. */
+    @Size(max = 512)
+    private String challenge;
+
+    @Size(max = 64)
+    private String challengeSolution;
 }
@@ -21,4 +21,11 @@ public class RegisterRequest {
     @NotBlank(message = "Password is required")
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
+
+    /** Proof-of-work challenge from a previous {@code 428} response, if one was issued. */
+    @Size(max = 512)
+    private String challenge;
+
+    @Size(max = 64)
+    private String challengeSolution;
 }
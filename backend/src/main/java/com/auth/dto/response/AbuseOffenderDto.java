@@ -0,0 +1,16 @@
+package com.auth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One suspected credential-stuffing source and its (approximate) score.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AbuseOffenderDto {
+    private String source;
+    private long score;
+}
@@ -0,0 +1,20 @@
+package com.auth.dto.response;
+
+import com.auth.dto.request.BulkUserActionRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of an admin bulk action: {@code matched} users processed so far, of which
+ * {@code affected} actually changed. The final report has {@code done=true}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserActionProgressDto {
+    private BulkUserActionRequest.Action action;
+    private long matched;
+    private long affected;
+    private boolean done;
+}
@@ -0,0 +1,20 @@
+package com.auth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Top suspected credential-stuffing sources: IPs by distinct emails tried, and client
+ * networks by failed logins on this node. Scores are sketch estimates.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CredentialStuffingReportDto {
+    private List<AbuseOffenderDto> ipsByDistinctEmails;
+    private List<AbuseOffenderDto> subnetsByFailedLogins;
+    private long windowSeconds;
+}
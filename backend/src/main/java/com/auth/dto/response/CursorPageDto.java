@@ -0,0 +1,27 @@
+package com.auth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated result window with an opaque continuation cursor.
+ *
+ * <p>{@code totalElements} is only populated when requested; {@code totalEstimated}
+ * signals that it comes from planner statistics rather than an exact count.
+ *
+ * @param <T> Type of the page items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+    private boolean totalEstimated;
+}
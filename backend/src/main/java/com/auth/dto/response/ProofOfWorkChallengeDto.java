@@ -0,0 +1,23 @@
+package com.auth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Proof-of-work puzzle returned with {@code 428 Precondition Required}.
+ *
+ * <p>The client must find a {@code solution} string such that
+ * {@code SHA-256(challenge + ":" + solution)} starts with at least {@code difficulty} zero
+ * bits, then repeat the request with both values.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProofOfWorkChallengeDto {
+
+    private String challenge;
+    private String algorithm;
+    private int difficulty;
+    private long expiresInSeconds;
+}
@@ -0,0 +1,18 @@
+package com.auth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the SPA loads at session start, in one payload.
+ * {@code adminDashboard} is null for non-admin users.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBootstrapDto {
+    private UserDto profile;
+    private UserDashboardDto dashboard;
+    private AdminDashboardDto adminDashboard;
+}
@@ -13,4 +13,6 @@ public class UserDto {
     private Set<String> roles;
     private boolean enabled;
     private String createdAt;
+    /** Changes whenever the user row changes; backs the profile ETag. */
+    private long version;
 }
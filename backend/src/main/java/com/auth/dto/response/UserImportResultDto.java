@@ -0,0 +1,19 @@
+package com.auth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResultDto {
+    private long received;
+    private long imported;
+    private long duplicates;
+    private long rejected;
+    private List<UserImportErrorDto> errors;
+    private boolean errorsTruncated;
+}
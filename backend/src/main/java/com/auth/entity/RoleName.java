@@ -1,9 +1,33 @@
 package com.auth.entity;
 
+import java.util.Collection;
+
 /**
  * Enum for supported system roles.
+ *
+ * <p>Each role owns the bit {@code 1 << ordinal()} in {@code users.role_mask}, so the
+ * declaration order is persisted: append new roles at the end, never reorder.
  */
 public enum RoleName {
     ROLE_USER,
-    ROLE_ADMIN
+    ROLE_ADMIN;
+
+    /** Returns the bit this role occupies in a role-combination mask. */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** Encodes role entities as a role-combination mask. */
+    public static int maskOf(Collection<Role> roles) {
+        int mask = 0;
+        if (roles == null) {
+            return mask;
+        }
+        for (Role role : roles) {
+            if (role != null && role.getName() != null) {
+                mask |= role.getName().bit();
+            }
+        }
+        return mask;
+    }
 }
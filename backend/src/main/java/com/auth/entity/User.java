@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -14,6 +15,10 @@ import lombok.EqualsAndHashCode;
 /**
  * User entity representing application users.
  * Contains authentication details, verification status, and roles.
+ *
+ * <p>Roles are stored twice: relationally in {@code user_roles} and as a compact
+ * {@code role_mask} bitmask (see {@link RoleName#bit()}). Read paths use the mask so
+ * loading a user never needs the join; {@link #setRoles(Set)} keeps both in sync.
  */
 @Entity
 @Table(name = "users")
@@ -71,7 +76,23 @@ public class User extends BaseEntity {
     @Column(name = "auth_provider_user_id")
     private String authProviderUserId;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @Column(name = "role_mask", nullable = false)
+    private int roleMask = 0;
+
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Set<Role> roles = new HashSet<>();
+
+    /** Replaces the role association and recomputes {@link #roleMask} from it. */
+    public void setRoles(Set<Role> roles) {
+        this.roles = roles;
+        this.roleMask = RoleName.maskOf(roles);
+    }
+
+    /** Returns whether the role-combination mask contains the given role. */
+    public boolean hasRole(RoleName roleName) {
+        return (roleMask & roleName.bit()) != 0;
+    }
 }
@@ -4,6 +4,9 @@ import lombok.Getter;
 
 /**
  * Raised when a user account is temporarily locked due to repeated failed attempts.
+ *
+ * <p>Stackless, like {@link RateLimitExceededException}; a lockout is an expected outcome,
+ * and its trace would never be logged.
  */
 @Getter
 public class AccountLockedException extends RuntimeException {
@@ -14,7 +17,7 @@ public class AccountLockedException extends RuntimeException {
      */
 
     public AccountLockedException(String message, long retryAfterSeconds) {
-        super(message);
+        super(message, null, false, false);
         this.retryAfterSeconds = retryAfterSeconds;
     }
 }
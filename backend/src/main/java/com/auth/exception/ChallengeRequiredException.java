@@ -0,0 +1,24 @@
+package com.auth.exception;
+
+import com.auth.dto.response.ProofOfWorkChallengeDto;
+import lombok.Getter;
+
+/**
+ * Thrown when a request must carry a solved proof-of-work challenge before it is processed.
+ *
+ * <p>Stackless, like {@link RateLimitExceededException}: in challenge mode every request over
+ * the soft limit ends here, and the stack trace was never logged.
+ */
+@Getter
+public class ChallengeRequiredException extends RuntimeException {
+
+    private final ProofOfWorkChallengeDto challenge;
+    /**
+     * Creates a new ChallengeRequiredException instance.
+     */
+
+    public ChallengeRequiredException(String message, ProofOfWorkChallengeDto challenge) {
+        super(message, null, false, false);
+        this.challenge = challenge;
+    }
+}
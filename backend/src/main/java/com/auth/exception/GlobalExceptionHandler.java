@@ -1,9 +1,14 @@
 package com.auth.exception;
 
 import com.auth.dto.response.ApiResponse;
+import com.auth.dto.response.ProofOfWorkChallengeDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.util.StringUtils;
@@ -11,18 +16,31 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
  * Centralised exception handler that translates domain exceptions into
  * consistent {@link ApiResponse} error payloads for all REST controllers.
+ *
+ * <p>Rate-limit and lockout rejections, the bulk of responses under attack, reuse a JSON
+ * body encoded once per message instead of serializing a new {@link ApiResponse} each time.
  */
 @ControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /** Rejection messages are constants, so this only guards against a dynamic one. */
+    private static final int MAX_CACHED_BODIES = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, byte[]> rejectionBodies = new ConcurrentHashMap<>();
+
     /** Handles bean-validation errors from {@code @Valid} annotations. */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Void>> handleValidationException(MethodArgumentNotValidException ex) {
@@ -60,22 +78,26 @@ public class GlobalExceptionHandler {
 
     /** Handles temporary account lockouts and sets a {@code Retry-After} header. */
     @ExceptionHandler(AccountLockedException.class)
-    public ResponseEntity<ApiResponse<Void>> handleAccountLockedException(AccountLockedException ex) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfterSeconds())));
-        return ResponseEntity.status(HttpStatus.LOCKED)
-                .headers(headers)
-                .body(ApiResponse.error(ex.getMessage()));
+    public ResponseEntity<byte[]> handleAccountLockedException(AccountLockedException ex) {
+        return rejection(HttpStatus.LOCKED, ex.getMessage(), ex.getRetryAfterSeconds());
     }
 
     /** Handles request-rate limit violations and sets a {@code Retry-After} header. */
     @ExceptionHandler(RateLimitExceededException.class)
-    public ResponseEntity<ApiResponse<Void>> handleRateLimitExceededException(RateLimitExceededException ex) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfterSeconds())));
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                .headers(headers)
-                .body(ApiResponse.error(ex.getMessage()));
+    public ResponseEntity<byte[]> handleRateLimitExceededException(RateLimitExceededException ex) {
+        return rejection(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), ex.getRetryAfterSeconds());
+    }
+
+    /** Returns a proof-of-work puzzle the client must solve before retrying. */
+    @ExceptionHandler(ChallengeRequiredException.class)
+    public ResponseEntity<ApiResponse<ProofOfWorkChallengeDto>> handleChallengeRequiredException(
+            ChallengeRequiredException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                .body(ApiResponse.<ProofOfWorkChallengeDto>builder()
+                        .success(false)
+                        .message(ex.getMessage())
+                        .data(ex.getChallenge())
+                        .build());
     }
 
     /** Handles client-side validation errors raised from the service layer. */
@@ -84,6 +106,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(ApiResponse.error(ex.getMessage()));
     }
 
+    /** Handles uploads larger than {@code spring.servlet.multipart.max-file-size}. */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(ApiResponse.error("Uploaded file is too large."));
+    }
+
     /** Catch-all handler — logs unexpected exceptions and returns a safe 500 response. */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleException(Exception ex) {
@@ -91,6 +120,35 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("An unexpected error occurred. Please try again later."));
     }
+    /**
+     * Builds a rejection response with {@code Retry-After} and the cached body for its message.
+     */
+
+    private ResponseEntity<byte[]> rejection(HttpStatus status, String message, long retryAfterSeconds) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(rejectionBody(message));
+    }
+    /**
+     * Returns the encoded error body for a message, encoding it on first use.
+     */
+
+    private byte[] rejectionBody(String message) {
+        byte[] body = message != null ? rejectionBodies.get(message) : null;
+        if (body != null) {
+            return body;
+        }
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponse.error(message));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Cannot encode rejection body", exception);
+        }
+        if (message != null && rejectionBodies.size() < MAX_CACHED_BODIES) {
+            rejectionBodies.putIfAbsent(message, body);
+        }
+        return body;
+    }
     /**
      * Builds validation message.
      */
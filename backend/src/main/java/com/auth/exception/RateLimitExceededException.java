@@ -4,6 +4,9 @@ import lombok.Getter;
 
 /**
  * Thrown when request frequency exceeds configured rate limits.
+ *
+ * <p>Stackless: under attack this is the most frequent outcome of an auth request, and
+ * filling in the stack trace cost more than the rest of the rejection.
  */
 @Getter
 public class RateLimitExceededException extends RuntimeException {
@@ -14,7 +17,7 @@ public class RateLimitExceededException extends RuntimeException {
      */
 
     public RateLimitExceededException(String message, long retryAfterSeconds) {
-        super(message);
+        super(message, null, false, false);
         this.retryAfterSeconds = retryAfterSeconds;
     }
 }
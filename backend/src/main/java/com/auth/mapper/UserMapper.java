@@ -5,13 +5,17 @@ import com.auth.dto.response.UserDashboardDto;
 import com.auth.dto.response.UserDto;
 import com.auth.entity.Role;
 import com.auth.entity.User;
+import com.auth.security.RoleAuthorities;
 import com.auth.util.DateTimeUtil;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 @Mapper(componentModel = "spring")
 public interface UserMapper {
@@ -21,6 +25,7 @@ public interface UserMapper {
      */
     @Mapping(target = "password", ignore = true) // Encoded manually
     @Mapping(target = "roles", ignore = true) // Set manually
+    @Mapping(target = "roleMask", ignore = true) // Derived from roles
     @Mapping(target = "verificationOtp", ignore = true)
     @Mapping(target = "otpExpiry", ignore = true)
     @Mapping(target = "resetToken", ignore = true)
@@ -41,22 +46,40 @@ public interface UserMapper {
 
     /** Maps User entity to API-safe user DTO. */
     @Mapping(target = "loginSource", expression = "java(resolveLoginSource(user))")
+    @Mapping(target = "roles", expression = "java(roleNameSet(user.getRoleMask()))")
+    @Mapping(target = "version", expression = "java(versionOf(user.getUpdatedAt()))")
     UserDto toDto(User user);
 
     /** Maps a list of users to their DTO representation. */
     List<UserDto> toDtoList(List<User> users);
 
-    /** Maps User entity to dashboard payload with custom user field mapping. */
+    /** Maps a (cached) profile to dashboard payload with custom user field mapping. */
     @Mapping(source = "name", target = "user")
     @Mapping(target = "message", ignore = true)
     @Mapping(target = "timestamp", ignore = true)
-    UserDashboardDto toUserDashboardDto(User user);
+    UserDashboardDto toUserDashboardDto(UserDto profile);
 
     /** Converts Role entity to its role-name string for DTO serialization. */
     default String map(Role role) {
         return role.getName().name();
     }
 
+    /**
+     * Resolves role names from the role bitmask without touching the lazy role association.
+     * Returns a mutable copy so cached DTOs round-trip through typed JSON serialization.
+     */
+    default Set<String> roleNameSet(int roleMask) {
+        return new LinkedHashSet<>(RoleAuthorities.roleNamesOf(roleMask));
+    }
+
+    /** Encodes a row's last-modified time as a monotonically comparable version (epoch micros). */
+    default long versionOf(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return 0;
+        }
+        return updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+    }
+
     /** Formats LocalDateTime as IST in 12-hour form for API responses. */
     default String map(LocalDateTime value) {
         return DateTimeUtil.formatIst12Hour(value);
@@ -0,0 +1,116 @@
+package com.auth.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for the stages of an auth request, tagged by {@code endpoint} (the matched route,
+ * e.g. {@code /api/v1/auth/login}), {@code operation} and {@code outcome}, with percentile
+ * histograms for Prometheus.
+ *
+ * <p>Callers bracket a stage with {@link #start()} and {@link #record}. With
+ * {@code app.metrics.auth.enabled=false} both return immediately without reading the clock,
+ * so the instrumented code pays one branch.
+ */
+@Component
+public class AuthMetrics {
+
+    /** Instrumented stages and their meter names. */
+    public enum Stage {
+        JWT("auth.jwt", "JWT signing and verification"),
+        PASSWORD("auth.password", "Password hashing (BCrypt encode and match)"),
+        RATE_LIMIT("auth.rate.limit", "Redis rate-limit counter calls"),
+        EMAIL("auth.email", "Email template rendering and SMTP delivery");
+
+        private final String meterName;
+        private final String description;
+
+        Stage(String meterName, String description) {
+            this.meterName = meterName;
+            this.description = description;
+        }
+
+        public String getMeterName() {
+            return meterName;
+        }
+    }
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    /** Endpoint tag outside a request (scheduled jobs, async workers). */
+    public static final String NO_ENDPOINT = "none";
+    /** Endpoint tag for requests that did not reach a controller (filters, 404s). */
+    public static final String UNMAPPED_ENDPOINT = "unmapped";
+
+    private final boolean enabled;
+    private final Map<Stage, Meter.MeterProvider<Timer>> timers = new EnumMap<>(Stage.class);
+
+    public AuthMetrics(MeterRegistry registry, @Value("${app.metrics.auth.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder(stage.meterName)
+                    .description(stage.description)
+                    .publishPercentileHistogram()
+                    .withRegistry(registry));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Starts timing a stage: returns the current {@link System#nanoTime()}, or 0 when disabled. */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /** Records a stage started at {@code startNanos}, tagged with the current request's endpoint. */
+    public void record(Stage stage, String operation, String outcome, long startNanos) {
+        if (!enabled) return;
+
+        long durationNanos = System.nanoTime() - startNanos;
+        recordDuration(stage, operation, outcome, durationNanos, currentEndpoint());
+    }
+
+    /**
+     * Records an already measured stage. Filters use this to tag a stage that ran before the
+     * request was mapped with the endpoint it was mapped to afterwards.
+     */
+    public void recordDuration(Stage stage, String operation, String outcome, long durationNanos, String endpoint) {
+        if (!enabled) return;
+
+        timers.get(stage)
+                .withTags(Tags.of("endpoint", endpoint, "operation", operation, "outcome", outcome))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the route pattern {@code request} was mapped to, so path variables do not
+     * multiply tag values.
+     */
+    public static String endpoint(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern
+                : UNMAPPED_ENDPOINT;
+    }
+
+    /** Returns the endpoint of the request bound to the current thread, if any. */
+    public static String currentEndpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return endpoint(attributes.getRequest());
+        }
+        return NO_ENDPOINT;
+    }
+}
@@ -0,0 +1,50 @@
+package com.auth.metrics;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} that times each hash as {@link AuthMetrics.Stage#PASSWORD}
+ * ({@code encode}, or {@code match} with outcome {@code match}/{@code mismatch}).
+ * It wraps the hashing itself, so time spent waiting in a fair queue is not included.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AuthMetrics metrics;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, AuthMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = metrics.start();
+        String outcome = AuthMetrics.OUTCOME_ERROR;
+        try {
+            String encoded = delegate.encode(rawPassword);
+            outcome = AuthMetrics.OUTCOME_SUCCESS;
+            return encoded;
+        } finally {
+            metrics.record(AuthMetrics.Stage.PASSWORD, "encode", outcome, start);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = metrics.start();
+        String outcome = AuthMetrics.OUTCOME_ERROR;
+        try {
+            boolean matches = delegate.matches(rawPassword, encodedPassword);
+            outcome = matches ? "match" : "mismatch";
+            return matches;
+        } finally {
+            metrics.record(AuthMetrics.Stage.PASSWORD, "match", outcome, start);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,17 @@
+package com.auth.repository;
+
+/**
+ * Row state returned by {@link UserRepository#recordFailedLogin} after the atomic update.
+ */
+public interface FailedLoginResult {
+
+    String getName();
+
+    /** Failed attempts after this one; reset to zero when this attempt triggered a lockout. */
+    int getAttempts();
+
+    /** Whether this attempt reached the threshold and locked the account. */
+    default boolean isLocked() {
+        return getAttempts() == 0;
+    }
+}
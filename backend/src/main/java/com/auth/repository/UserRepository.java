@@ -3,21 +3,42 @@ package com.auth.repository;
 import com.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for User entity operations.
+ *
+ * <p>Hot auth-path writes (lockout counters, OTP/reset/refresh tokens, password) are targeted
+ * single-statement updates: they touch only the affected columns, need no prior SELECT, and
+ * read-modify-write counters are computed by the database so concurrent requests cannot lose
+ * updates. They bypass entity lifecycle callbacks, so {@code updatedAt} is passed explicitly.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>,
+        UserStreamingRepository {
 
-    /** Finds a user by email address (case-insensitive). */
-    Optional<User> findByEmailIgnoreCase(String email);
+    /**
+     * Finds a user by canonical email address.
+     * Callers must pass an {@link com.auth.util.EmailNormalizer}-normalized value so
+     * the exact match is served by the unique index on {@code users.email}.
+     */
+    Optional<User> findByEmail(String email);
 
-    /** Checks whether a user exists for the given email (case-insensitive). */
-    boolean existsByEmailIgnoreCase(String email);
+    /** Checks whether a user exists for the given canonical (normalized) email. */
+    boolean existsByEmail(String email);
+
+    /** Returns which of the given canonical emails are already registered, in one index-backed query. */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 
     /** Finds a user by active password-reset token hash. */
     Optional<User> findByResetToken(String resetToken);
@@ -30,4 +51,173 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 
     /** Counts users with enabled=true for admin metrics. */
     long countByEnabledTrue();
+
+    /**
+     * Returns the planner's row estimate for {@code users} from {@code pg_class.reltuples}.
+     * Constant-time, but only as fresh as the last ANALYZE; returns 0 when never analyzed.
+     */
+    @Query(value = "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'users'::regclass",
+            nativeQuery = true)
+    long estimateTotalUsers();
+
+    // ── Targeted updates ──────────────────────────────────────────────────────
+
+    /**
+     * Counts a failed login. The attempt that reaches {@code maxAttempts} resets the counter
+     * and locks the account until {@code lockedUntil}. Every SET expression reads the pre-update
+     * row, and concurrent attempts serialize on the row lock, so no attempt is lost.
+     *
+     * @return the updated state, or empty when no user has that email
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE users SET
+                failed_login_attempts = CASE WHEN failed_login_attempts + 1 >= :maxAttempts
+                                             THEN 0 ELSE failed_login_attempts + 1 END,
+                account_locked_until = CASE WHEN failed_login_attempts + 1 >= :maxAttempts
+                                            THEN :lockedUntil ELSE account_locked_until END,
+                updated_at = :now
+            WHERE email = :email
+            RETURNING name, failed_login_attempts AS attempts
+            """, nativeQuery = true)
+    Optional<FailedLoginResult> recordFailedLogin(
+            @Param("email") String email,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("lockedUntil") LocalDateTime lockedUntil,
+            @Param("now") LocalDateTime now);
+
+    /** Clears login failure state; a no-op (0 rows) when already clear. */
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set u.failedLoginAttempts = 0, u.accountLockedUntil = null, u.updatedAt = :now
+            where u.id = :id and (u.failedLoginAttempts <> 0 or u.accountLockedUntil is not null)
+            """)
+    int resetLoginFailures(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /** Counts a failed OTP attempt, locking OTP verification once {@code maxAttempts} is reached. */
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set
+                u.failedOtpAttempts = case when u.failedOtpAttempts + 1 >= :maxAttempts
+                                           then 0 else u.failedOtpAttempts + 1 end,
+                u.otpLockedUntil = case when u.failedOtpAttempts + 1 >= :maxAttempts
+                                        then :lockedUntil else u.otpLockedUntil end,
+                u.updatedAt = :now
+            where u.id = :id
+            """)
+    int recordFailedOtp(
+            @Param("id") Long id,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("lockedUntil") LocalDateTime lockedUntil,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Marks the email verified and clears the OTP and its failure state.
+     *
+     * @return 1 if this call verified the user, 0 if already verified
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set u.enabled = true, u.verificationOtp = null, u.otpExpiry = null,
+                u.failedOtpAttempts = 0, u.otpLockedUntil = null, u.updatedAt = :now
+            where u.id = :id and u.enabled = false
+            """)
+    int markEmailVerified(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /** Stores a new verification OTP hash and expiry. */
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set u.verificationOtp = :otpHash, u.otpExpiry = :expiry, u.updatedAt = :now
+            where u.id = :id
+            """)
+    int updateVerificationOtp(
+            @Param("id") Long id,
+            @Param("otpHash") String otpHash,
+            @Param("expiry") LocalDateTime expiry,
+            @Param("now") LocalDateTime now);
+
+    /** Stores a new password-reset token hash and expiry. */
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set u.resetToken = :tokenHash, u.resetTokenExpiry = :expiry, u.updatedAt = :now
+            where u.id = :id
+            """)
+    int updateResetToken(
+            @Param("id") Long id,
+            @Param("tokenHash") String tokenHash,
+            @Param("expiry") LocalDateTime expiry,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Sets a new password and clears the reset token, but only while {@code tokenHash} is still
+     * the stored token, so a reset link can be used once even under concurrent submissions.
+     *
+     * @return 1 if the token was consumed, 0 if it was already used or replaced
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set u.password = :passwordHash, u.resetToken = null, u.resetTokenExpiry = null,
+                u.updatedAt = :now
+            where u.id = :id and u.resetToken = :tokenHash
+            """)
+    int consumeResetToken(
+            @Param("id") Long id,
+            @Param("tokenHash") String tokenHash,
+            @Param("passwordHash") String passwordHash,
+            @Param("now") LocalDateTime now);
+
+    /** Replaces the password hash. */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :passwordHash, u.updatedAt = :now where u.id = :id")
+    int updatePassword(
+            @Param("id") Long id,
+            @Param("passwordHash") String passwordHash,
+            @Param("now") LocalDateTime now);
+
+    /** Stores a newly issued refresh token hash and expiry. */
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set u.refreshToken = :tokenHash, u.refreshTokenExpiry = :expiry, u.updatedAt = :now
+            where u.id = :id
+            """)
+    int updateRefreshToken(
+            @Param("id") Long id,
+            @Param("tokenHash") String tokenHash,
+            @Param("expiry") LocalDateTime expiry,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Replaces the refresh token only while {@code currentHash} is still stored (compare-and-set),
+     * so a refresh token can be redeemed once even under concurrent refresh requests.
+     *
+     * @return 1 if rotated, 0 if the token was already rotated or revoked
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set u.refreshToken = :newHash, u.refreshTokenExpiry = :expiry, u.updatedAt = :now
+            where u.refreshToken = :currentHash
+            """)
+    int rotateRefreshToken(
+            @Param("currentHash") String currentHash,
+            @Param("newHash") String newHash,
+            @Param("expiry") LocalDateTime expiry,
+            @Param("now") LocalDateTime now);
+
+    /** Clears the refresh token identified by its hash; 0 rows when unknown. */
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u set u.refreshToken = null, u.refreshTokenExpiry = null, u.updatedAt = :now
+            where u.refreshToken = :tokenHash
+            """)
+    int clearRefreshToken(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,32 @@
+package com.auth.repository;
+
+import com.auth.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository fragment for forward-only reads over large user sets.
+ */
+public interface UserStreamingRepository {
+
+    /**
+     * Streams users matching the specification in ascending id order through a server-side
+     * cursor. Rows are detached as they are read so the persistence context stays empty.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @param spec      optional filter; {@code null} streams every user
+     * @param fetchSize rows fetched per database round trip
+     */
+    Stream<User> streamAll(Specification<User> spec, int fetchSize);
+
+    /**
+     * Returns up to {@code limit} ids of users matching the specification with an id greater
+     * than {@code afterId}, ascending. Callers walk a large selection in fixed-size windows by
+     * passing the last id of the previous window; each window is an index range scan.
+     *
+     * @param spec optional filter; {@code null} matches every user
+     */
+    List<Long> findIdsAfter(Specification<User> spec, long afterId, int limit);
+}
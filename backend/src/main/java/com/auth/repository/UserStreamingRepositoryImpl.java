@@ -0,0 +1,71 @@
+package com.auth.repository;
+
+import com.auth.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-based implementation of {@link UserStreamingRepository}.
+ */
+@RequiredArgsConstructor
+public class UserStreamingRepositoryImpl implements UserStreamingRepository {
+
+    private final EntityManager entityManager;
+
+    /** Streams matching users with a JDBC fetch size and read-only, detached entities. */
+    @Override
+    public Stream<User> streamAll(Specification<User> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> query = cb.createQuery(User.class);
+        Root<User> root = query.from(User.class);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        // PostgreSQL only honours the fetch size (a real cursor) inside a transaction.
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(this::detach);
+    }
+    /** Selects one window of matching ids past {@code afterId}. */
+    @Override
+    public List<Long> findIdsAfter(Specification<User> spec, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> root = query.from(User.class);
+        Predicate predicate = cb.greaterThan(root.get("id"), afterId);
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                predicate = cb.and(filter, predicate);
+            }
+        }
+        query.select(root.get("id")).where(predicate).orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    /**
+     * Detaches a streamed row.
+     */
+
+    private User detach(User user) {
+        entityManager.detach(user);
+        return user;
+    }
+}
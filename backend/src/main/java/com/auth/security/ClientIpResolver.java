@@ -0,0 +1,261 @@
+package com.auth.security;
+
+import com.auth.security.ip.IpAccessRules;
+import com.auth.security.ip.IpPrefixTree;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Resolves the client IP address of the current request, for per-client rate limits, fair
+ * queuing and the IP allow/deny lists.
+ *
+ * <p>Forwarding headers are only believed when the connecting peer is a trusted proxy. Then
+ * {@code X-Forwarded-For} is walked from the right, skipping trusted proxies, and the first
+ * other hop is the client; each proxy appends the address it saw, so entries a client forged
+ * on the left are never reached. {@code X-Real-IP} is the fallback. Otherwise the socket
+ * address is the client. {@link #subnetKey} groups addresses by network ({@code /24} for IPv4,
+ * {@code /64} for IPv6), since one attacker usually controls a whole block rather than a
+ * single address.
+ *
+ * <p>Rules come from {@code app.client-ip.*} and, when {@code app.client-ip.rules-file} is
+ * set, from that properties file, which is re-read whenever it changes.
+ */
+@Component
+@Slf4j
+public class ClientIpResolver {
+
+    public static final String UNKNOWN = "unknown";
+
+    /** Request attribute caching the resolved address, so each request is resolved once. */
+    static final String CLIENT_IP_ATTRIBUTE = ClientIpResolver.class.getName() + ".clientIp";
+
+    private volatile IpAccessRules rules = IpAccessRules.DEFAULT;
+    private volatile long rulesFileModifiedAt = -1;
+
+    @Value("${app.client-ip.trusted-proxies:#{null}}")
+    private String trustedProxies;
+
+    @Value("${app.client-ip.allow:}")
+    private String allow;
+
+    @Value("${app.client-ip.deny:}")
+    private String deny;
+
+    @Value("${app.client-ip.rules-file:}")
+    private String rulesFile;
+
+    /** Compiles the configured rules; invalid blocks fail startup. */
+    @PostConstruct
+    void loadRules() {
+        rules = compile(new Properties());
+        reloadRulesFile();
+    }
+
+    /** Returns the rules in effect. */
+    public IpAccessRules getRules() {
+        return rules;
+    }
+
+    /** Replaces the rules in effect; requests in flight finish with the rules they started with. */
+    public void setRules(IpAccessRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Re-reads the rules file when it has changed. An unreadable or invalid file is logged
+     * and the current rules stay in effect.
+     */
+    @Scheduled(fixedDelayString = "${app.client-ip.rules-file-check-ms:10000}")
+    public void reloadRulesFile() {
+        if (!StringUtils.hasText(rulesFile)) return;
+
+        Path path = Path.of(rulesFile.trim());
+        try {
+            long modifiedAt = Files.getLastModifiedTime(path).toMillis();
+            if (modifiedAt == rulesFileModifiedAt) return;
+
+            Properties overrides = new Properties();
+            try (InputStream input = Files.newInputStream(path)) {
+                overrides.load(input);
+            }
+            rules = compile(overrides);
+            rulesFileModifiedAt = modifiedAt;
+            log.info("Loaded client IP rules from {}: trusted-proxies={}, allow={}, deny={}", path,
+                    rules.trustedProxies(), rules.allow(), rules.deny());
+        } catch (IOException | IllegalArgumentException exception) {
+            log.warn("Keeping current client IP rules; cannot load {}", path, exception);
+        }
+    }
+
+    /** Returns the current request's client IP, or {@link #UNKNOWN} outside a request. */
+    public String resolve() {
+        HttpServletRequest request = currentRequest();
+        return request != null ? resolve(request) : UNKNOWN;
+    }
+
+    /** Returns the client IP of {@code request}, or {@link #UNKNOWN} if none is present. */
+    public String resolve(HttpServletRequest request) {
+        if (request.getAttribute(CLIENT_IP_ATTRIBUTE) instanceof String cached) {
+            return cached;
+        }
+        String clientIp = resolveUncached(request, rules.trustedProxies());
+        request.setAttribute(CLIENT_IP_ATTRIBUTE, clientIp);
+        return clientIp;
+    }
+
+    /**
+     * Returns the current request's client network, or {@code null} outside a request (e.g.
+     * on a background worker).
+     */
+    public String resolveSubnet() {
+        HttpServletRequest request = currentRequest();
+        return request != null ? subnetKey(resolve(request)) : null;
+    }
+
+    /**
+     * Maps an address to its {@code /24} (IPv4, also when IPv4-mapped) or {@code /64} (IPv6)
+     * network. Values that are not IP literals are returned as-is. Called for every queued
+     * hash and login guard, so the address is parsed in place and only the key is allocated.
+     */
+    public static String subnetKey(String ip) {
+        long ipv4 = IpPrefixTree.parseIpv4(ip);
+        if (ipv4 < 0 && IpPrefixTree.isIpv6(ip)) {
+            long prefix = IpPrefixTree.ipv6High(ip);
+            ipv4 = prefix == 0 ? IpPrefixTree.mappedIpv4(prefix, IpPrefixTree.ipv6Low(ip)) : -1;
+            if (ipv4 < 0) {
+                StringBuilder key = new StringBuilder(24);
+                for (int shift = 48; shift >= 0; shift -= 16) {
+                    appendHexGroup(key, (int) (prefix >>> shift) & 0xffff).append(':');
+                }
+                return key.append(":/64").toString();
+            }
+        }
+        if (ipv4 >= 0) {
+            return new StringBuilder(18)
+                    .append(ipv4 >>> 24).append('.')
+                    .append((ipv4 >>> 16) & 0xff).append('.')
+                    .append((ipv4 >>> 8) & 0xff).append(".0/24")
+                    .toString();
+        }
+        return ip;
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Resolves the client IP, believing forwarding headers only from trusted proxies.
+     */
+
+    private static String resolveUncached(HttpServletRequest request, IpPrefixTree trustedProxies) {
+        String remote = trimToNull(request.getRemoteAddr());
+        if (remote == null) return UNKNOWN;
+        if (!trustedProxies.contains(remote)) return remote;
+
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null) {
+            String client = firstUntrustedHop(forwarded, trustedProxies);
+            if (client != null) return client;
+        }
+
+        String realIp = trimToNull(request.getHeader("X-Real-IP"));
+        return realIp != null ? realIp : remote;
+    }
+
+    /**
+     * Scans a forwarding chain from the right and returns the first hop that is not a trusted
+     * proxy (or the leftmost hop if all are), without splitting the header.
+     */
+
+    private static String firstUntrustedHop(String chain, IpPrefixTree trustedProxies) {
+        int leftmostFrom = -1;
+        int leftmostTo = -1;
+        int end = chain.length();
+        while (end > 0) {
+            int comma = chain.lastIndexOf(',', end - 1);
+            int from = comma + 1;
+            int to = end;
+            while (from < to && Character.isWhitespace(chain.charAt(from))) from++;
+            while (to > from && Character.isWhitespace(chain.charAt(to - 1))) to--;
+            if (from < to) {
+                if (!trustedProxies.contains(chain, from, to)) {
+                    return chain.substring(from, to);
+                }
+                leftmostFrom = from;
+                leftmostTo = to;
+            }
+            end = comma;
+        }
+        return leftmostFrom >= 0 ? chain.substring(leftmostFrom, leftmostTo) : null;
+    }
+
+    /**
+     * Compiles the rules from the properties, letting file entries override them.
+     */
+
+    private IpAccessRules compile(Properties overrides) {
+        String trusted = overrides.getProperty("trusted-proxies", trustedProxies);
+        return IpAccessRules.of(
+                trusted != null ? split(trusted) : IpAccessRules.DEFAULT_TRUSTED_PROXIES,
+                split(overrides.getProperty("allow", allow)),
+                split(overrides.getProperty("deny", deny)));
+    }
+
+    /**
+     * Splits a comma-separated list.
+     */
+
+    private static List<String> split(String value) {
+        return value == null ? List.of() : Arrays.asList(StringUtils.commaDelimitedListToStringArray(value));
+    }
+
+    /**
+     * Returns the request bound to the current thread, if any.
+     */
+
+    private static HttpServletRequest currentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest();
+        }
+        return null;
+    }
+
+    /**
+     * Appends a 16-bit group as lowercase hex without leading zeros.
+     */
+
+    private static StringBuilder appendHexGroup(StringBuilder key, int group) {
+        int shift = 12;
+        while (shift > 0 && group >>> shift == 0) {
+            shift -= 4;
+        }
+        for (; shift >= 0; shift -= 4) {
+            key.append(Character.forDigit((group >>> shift) & 0xf, 16));
+        }
+        return key;
+    }
+
+    /**
+     * Trims to null.
+     */
+
+    private static String trimToNull(String value) {
+        if (!StringUtils.hasText(value)) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -53,11 +53,9 @@ public class CustomUserDetailsService implements UserDetailsService {
         return user;
     }
 
-    /** Converts application roles into Spring Security granted authorities. */
+    /** Converts the user's role mask into shared, precomputed Spring Security authorities. */
     protected List<SimpleGrantedAuthority> buildAuthorities(User user) {
-        List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                .toList();
+        List<SimpleGrantedAuthority> authorities = RoleAuthorities.authoritiesOf(user.getRoleMask());
         return authorities;
     }
 
@@ -0,0 +1,93 @@
+package com.auth.security;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link SecureRandom} whose callers queue on a {@link ReentrantLock} rather than on the
+ * provider's monitors.
+ *
+ * <p>On JDK 21 a virtual thread that blocks on a {@code synchronized} monitor pins its carrier
+ * thread. The default Linux provider (NativePRNG) reads {@code /dev/urandom} under such monitors,
+ * so a shared instance pins carriers whenever token generation is contended. Here only the
+ * lock holder ever enters the delegate, and waiters park. The delegate is DRBG, which generates
+ * in memory once seeded.
+ */
+public final class LockingSecureRandom extends SecureRandom {
+
+    private final transient ReentrantLock lock = new ReentrantLock();
+    private final transient SecureRandom delegate;
+
+    public LockingSecureRandom() {
+        super(null, null);
+        this.delegate = newDelegate();
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        lock.lock();
+        try {
+            delegate.nextBytes(bytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] generateSeed(int numBytes) {
+        lock.lock();
+        try {
+            return delegate.generateSeed(numBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void setSeed(byte[] seed) {
+        lock.lock();
+        try {
+            delegate.setSeed(seed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Ignored while the superclass constructor runs; the delegate is seeded by its provider. */
+    @Override
+    public void setSeed(long seed) {
+        if (delegate != null) {
+            lock.lock();
+            try {
+                delegate.setSeed(seed);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return delegate.getAlgorithm();
+    }
+
+    @Override
+    public String toString() {
+        return "LockingSecureRandom[" + delegate + "]";
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Creates the DRBG delegate, falling back to the platform default if DRBG is unavailable.
+     */
+
+    private static SecureRandom newDelegate() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException exception) {
+            return new SecureRandom();
+        }
+    }
+}
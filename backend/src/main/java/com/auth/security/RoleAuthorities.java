@@ -0,0 +1,115 @@
+package com.auth.security;
+
+import com.auth.entity.RoleName;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interned Spring Security authorities and role-name lists keyed by {@link RoleName}.
+ *
+ * <p>Every role combination is encoded as a bitmask of {@link RoleName#bit()} values (the same
+ * encoding persisted in {@code users.role_mask}) and its authority/role-name lists are precomputed once, so request-path code (JWT filter, user
+ * details loading, token issuance) can resolve authorities without allocating.
+ */
+public final class RoleAuthorities {
+
+    private static final RoleName[] ROLE_NAMES = RoleName.values();
+    private static final int COMBINATIONS = 1 << ROLE_NAMES.length;
+
+    private static final Map<RoleName, SimpleGrantedAuthority> AUTHORITY_BY_ROLE = new EnumMap<>(RoleName.class);
+    private static final Map<String, RoleName> ROLE_BY_NAME = new HashMap<>();
+    private static final List<List<SimpleGrantedAuthority>> AUTHORITIES_BY_MASK = new ArrayList<>(COMBINATIONS);
+    private static final List<List<String>> ROLE_NAMES_BY_MASK = new ArrayList<>(COMBINATIONS);
+    private static final Map<RoleName, List<Integer>> MASKS_CONTAINING = new EnumMap<>(RoleName.class);
+
+    static {
+        for (RoleName roleName : ROLE_NAMES) {
+            AUTHORITY_BY_ROLE.put(roleName, new SimpleGrantedAuthority(roleName.name()));
+            ROLE_BY_NAME.put(roleName.name(), roleName);
+        }
+        for (int mask = 0; mask < COMBINATIONS; mask++) {
+            List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (RoleName roleName : ROLE_NAMES) {
+                if ((mask & roleName.bit()) != 0) {
+                    authorities.add(AUTHORITY_BY_ROLE.get(roleName));
+                    names.add(roleName.name());
+                }
+            }
+            AUTHORITIES_BY_MASK.add(List.copyOf(authorities));
+            ROLE_NAMES_BY_MASK.add(List.copyOf(names));
+        }
+        for (RoleName roleName : ROLE_NAMES) {
+            List<Integer> masks = new ArrayList<>();
+            for (int mask = 0; mask < COMBINATIONS; mask++) {
+                if ((mask & roleName.bit()) != 0) {
+                    masks.add(mask);
+                }
+            }
+            MASKS_CONTAINING.put(roleName, List.copyOf(masks));
+        }
+    }
+    /**
+     * Prevents instantiation.
+     */
+
+    private RoleAuthorities() {
+    }
+
+    /**
+     * Returns every role-combination mask that includes the given role. Used to express
+     * "has role" as an index-friendly {@code role_mask IN (...)} predicate.
+     */
+    public static List<Integer> masksContaining(RoleName roleName) {
+        return MASKS_CONTAINING.get(roleName);
+    }
+
+    /** Returns the shared authority instance for a role. */
+    public static SimpleGrantedAuthority authorityOf(RoleName roleName) {
+        return AUTHORITY_BY_ROLE.get(roleName);
+    }
+
+    /** Returns the immutable, precomputed authority list for a role-combination mask. */
+    public static List<SimpleGrantedAuthority> authoritiesOf(int mask) {
+        return AUTHORITIES_BY_MASK.get(mask & (COMBINATIONS - 1));
+    }
+
+    /** Returns the immutable, precomputed role-name list for a role-combination mask. */
+    public static List<String> roleNamesOf(int mask) {
+        return ROLE_NAMES_BY_MASK.get(mask & (COMBINATIONS - 1));
+    }
+
+    /**
+     * Resolves authorities from role-name strings (e.g. JWT claims). Known role names map to
+     * the shared precomputed list; unknown names are preserved as ad-hoc authorities.
+     */
+    public static List<SimpleGrantedAuthority> authoritiesFromNames(List<String> roleNames) {
+        if (roleNames == null || roleNames.isEmpty()) {
+            return authoritiesOf(0);
+        }
+        int mask = 0;
+        for (String name : roleNames) {
+            RoleName roleName = ROLE_BY_NAME.get(name);
+            if (roleName == null) {
+                return roleNames.stream()
+                        .map(RoleAuthorities::resolveAuthority)
+                        .toList();
+            }
+            mask |= roleName.bit();
+        }
+        return authoritiesOf(mask);
+    }
+    /**
+     * Resolves authority.
+     */
+
+    private static SimpleGrantedAuthority resolveAuthority(String name) {
+        RoleName roleName = ROLE_BY_NAME.get(name);
+        return roleName != null ? AUTHORITY_BY_ROLE.get(roleName) : new SimpleGrantedAuthority(name);
+    }
+}
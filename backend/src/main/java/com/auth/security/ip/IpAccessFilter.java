@@ -0,0 +1,62 @@
+package com.auth.security.ip;
+
+import com.auth.dto.response.ApiResponse;
+import com.auth.security.ClientIpResolver;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Refuses clients outside the IP allow list, or on the deny list, with {@code 403 Forbidden}
+ * before any other work is done. The lists are read per request, so reloads apply at once.
+ */
+public class IpAccessFilter extends OncePerRequestFilter {
+
+    private static final String REJECTION_MESSAGE = "Access from your network is not allowed.";
+
+    private final ClientIpResolver clientIpResolver;
+    private final byte[] rejectionBody;
+
+    public IpAccessFilter(ClientIpResolver clientIpResolver, ObjectMapper objectMapper) {
+        this.clientIpResolver = clientIpResolver;
+        try {
+            this.rejectionBody = objectMapper.writeValueAsBytes(ApiResponse.error(REJECTION_MESSAGE));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Cannot encode rejection body", exception);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        IpAccessRules rules = clientIpResolver.getRules();
+        if (!rules.allow().isEmpty() || !rules.deny().isEmpty()) {
+            if (!rules.permits(clientIpResolver.resolve(request))) {
+                reject(response);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Writes the 403 response.
+     */
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectionBody.length);
+        response.getOutputStream().write(rejectionBody);
+    }
+}
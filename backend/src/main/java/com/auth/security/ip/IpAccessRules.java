@@ -0,0 +1,43 @@
+package com.auth.security.ip;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One consistent set of client-IP rules, compiled once and swapped as a whole on reload.
+ *
+ * @param trustedProxies peers whose {@code X-Forwarded-For} / {@code X-Real-IP} headers are believed
+ * @param allow          when non-empty, only these clients are admitted
+ * @param deny           clients that are always refused, even inside an allowed range
+ */
+public record IpAccessRules(IpPrefixTree trustedProxies, IpPrefixTree allow, IpPrefixTree deny) {
+
+    /**
+     * Loopback, private, link-local and carrier-grade NAT ranges, the same defaults as
+     * Tomcat's {@code RemoteIpValve}: a reverse proxy on the same host or network is trusted
+     * out of the box, a client on the internet is not.
+     */
+    public static final List<String> DEFAULT_TRUSTED_PROXIES = List.of(
+            "127.0.0.0/8", "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "169.254.0.0/16", "100.64.0.0/10",
+            "::1/128", "fc00::/7", "fe80::/10");
+
+    public static final IpAccessRules DEFAULT = of(DEFAULT_TRUSTED_PROXIES, List.of(), List.of());
+
+    /**
+     * Compiles the three lists.
+     *
+     * @throws IllegalArgumentException if an entry is not a valid CIDR block
+     */
+    public static IpAccessRules of(Collection<String> trustedProxies, Collection<String> allow,
+                                   Collection<String> deny) {
+        return new IpAccessRules(IpPrefixTree.of(trustedProxies), IpPrefixTree.of(allow), IpPrefixTree.of(deny));
+    }
+
+    /** Returns whether a client may use the application. */
+    public boolean permits(String clientIp) {
+        if (deny.contains(clientIp)) {
+            return false;
+        }
+        return allow.isEmpty() || allow.contains(clientIp);
+    }
+}
@@ -0,0 +1,375 @@
+package com.auth.security.ip;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of IPv4 and IPv6 CIDR blocks, compiled into a binary radix tree so a lookup
+ * costs at most one step per prefix bit, however many blocks there are.
+ *
+ * <p>IPv4 addresses are keyed as IPv4-mapped IPv6 addresses ({@code ::ffff:a.b.c.d}), so one
+ * tree serves both families and {@code ::ffff:10.0.0.1} matches {@code 10.0.0.0/8}. Lookups
+ * parse the address in place (no splitting, no {@link java.net.InetAddress}, no allocation);
+ * text that is not an IP literal never matches. The same parsers are exposed for callers that
+ * need an address's bits, e.g. to derive its network.
+ */
+public final class IpPrefixTree {
+
+    public static final IpPrefixTree EMPTY = of(List.of());
+
+    private static final long IPV4_MAPPED_LOW = 0xffff_0000_0000L;
+    private static final int IPV4_MAPPED_PREFIX = 96;
+    private static final int ADDRESS_BITS = 128;
+    private static final int NO_CHILD = 0;
+
+    /** Parse modes of {@link #ipv6}. */
+    private static final int VALIDATE = 0;
+    private static final int HIGH = 1;
+    private static final int LOW = 2;
+
+    private final int[] zeroChild;
+    private final int[] oneChild;
+    private final boolean[] terminal;
+    private final List<String> blocks;
+
+    private IpPrefixTree(int[] zeroChild, int[] oneChild, boolean[] terminal, List<String> blocks) {
+        this.zeroChild = zeroChild;
+        this.oneChild = oneChild;
+        this.terminal = terminal;
+        this.blocks = blocks;
+    }
+
+    /**
+     * Compiles CIDR blocks ({@code 10.0.0.0/8}, {@code 2001:db8::/32}); a bare address is a
+     * single-host block. Blank entries are skipped.
+     *
+     * @throws IllegalArgumentException if an entry is not a valid block
+     */
+    public static IpPrefixTree of(Collection<String> cidrs) {
+        Builder builder = new Builder();
+        for (String cidr : cidrs) {
+            String block = cidr == null ? "" : cidr.trim();
+            if (!block.isEmpty()) {
+                builder.insert(block);
+            }
+        }
+        return builder.build();
+    }
+
+    /** Returns whether {@code address} is an IP literal inside one of the blocks. */
+    public boolean contains(CharSequence address) {
+        return contains(address, 0, address.length());
+    }
+
+    /** Returns whether {@code text[from, to)} is an IP literal inside one of the blocks. */
+    public boolean contains(CharSequence text, int from, int to) {
+        long ipv4 = ipv4(text, from, to);
+        if (ipv4 >= 0) {
+            return contains(0L, IPV4_MAPPED_LOW | ipv4);
+        }
+        int end = zoneStart(text, from, to);
+        if (ipv6(text, from, end, VALIDATE) == 0) {
+            return false;
+        }
+        return contains(ipv6(text, from, end, HIGH), ipv6(text, from, end, LOW));
+    }
+
+    /** Parses a dotted-quad IPv4 literal into its 32-bit value in place, or returns -1. */
+    public static long parseIpv4(CharSequence address) {
+        return ipv4(address, 0, address.length());
+    }
+
+    /** Returns whether {@code address} is an IPv6 literal, with or without a zone ID. */
+    public static boolean isIpv6(CharSequence address) {
+        return ipv6(address, 0, zoneStart(address, 0, address.length()), VALIDATE) != 0;
+    }
+
+    /**
+     * Returns the upper 64 bits (the routing prefix) of an IPv6 literal, parsed in place. Only
+     * meaningful when {@link #isIpv6} holds.
+     */
+    public static long ipv6High(CharSequence address) {
+        return ipv6(address, 0, zoneStart(address, 0, address.length()), HIGH);
+    }
+
+    /** Returns the lower 64 bits of an IPv6 literal; only meaningful when {@link #isIpv6} holds. */
+    public static long ipv6Low(CharSequence address) {
+        return ipv6(address, 0, zoneStart(address, 0, address.length()), LOW);
+    }
+
+    /** Returns the IPv4 address an IPv6 address maps ({@code ::ffff:a.b.c.d}), or -1. */
+    public static long mappedIpv4(long high, long low) {
+        return high == 0 && (low & ~0xffff_ffffL) == IPV4_MAPPED_LOW ? low & 0xffff_ffffL : -1;
+    }
+
+    public boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+
+    /** Returns the blocks as configured. */
+    public List<String> blocks() {
+        return blocks;
+    }
+
+    @Override
+    public String toString() {
+        return blocks.toString();
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Walks the tree along the address bits, stopping at the first block that covers it.
+     */
+
+    private boolean contains(long high, long low) {
+        int node = 0;
+        for (int depth = 0; ; depth++) {
+            if (terminal[node]) {
+                return true;
+            }
+            if (depth == ADDRESS_BITS) {
+                return false;
+            }
+            node = bit(high, low, depth) == 0 ? zeroChild[node] : oneChild[node];
+            if (node == NO_CHILD) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns bit {@code depth} of a 128-bit address, most significant first.
+     */
+
+    private static int bit(long high, long low, int depth) {
+        long word = depth < 64 ? high : low;
+        return (int) (word >>> (63 - (depth & 63))) & 1;
+    }
+
+    /**
+     * Returns the end of the address part, dropping an IPv6 zone ID ({@code fe80::1%eth0}).
+     */
+
+    private static int zoneStart(CharSequence text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == '%') {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Parses a dotted-quad IPv4 literal into its 32-bit value, or returns -1.
+     */
+
+    private static long ipv4(CharSequence text, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int i = from;
+        while (i < to) {
+            int value = 0;
+            int digits = 0;
+            char c;
+            while (i < to && (c = text.charAt(i)) >= '0' && c <= '9' && digits < 3) {
+                value = value * 10 + (c - '0');
+                digits++;
+                i++;
+            }
+            if (digits == 0 || value > 255) {
+                return -1;
+            }
+            address = (address << 8) | value;
+            octets++;
+            if (i == to) {
+                break;
+            }
+            if (text.charAt(i) != '.' || octets == 4 || ++i == to) {
+                return -1;
+            }
+        }
+        return octets == 4 ? address : -1;
+    }
+
+    /**
+     * Parses an IPv6 literal (with optional {@code ::} and embedded IPv4 tail). Returns the
+     * requested 64-bit half for {@link #HIGH}/{@link #LOW}, and 1 or 0 for {@link #VALIDATE};
+     * the halves are only meaningful once the text validated.
+     */
+
+    private static long ipv6(CharSequence text, int from, int to, int mode) {
+        long headHigh = 0;
+        long headLow = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int headGroups = 0;
+        int groups = 0;
+        boolean compressed = false;
+
+        int i = from;
+        if (to - from >= 2 && text.charAt(i) == ':' && text.charAt(i + 1) == ':') {
+            compressed = true;
+            i += 2;
+        }
+        while (i < to) {
+            int start = i;
+            long value = 0;
+            int digits = 0;
+            int hex;
+            while (i < to && digits < 4 && (hex = hexDigit(text.charAt(i))) >= 0) {
+                value = (value << 4) | hex;
+                digits++;
+                i++;
+            }
+            int bits = 16;
+            if (i < to && text.charAt(i) == '.') {
+                value = ipv4(text, start, to);
+                if (value < 0) {
+                    return 0;
+                }
+                bits = 32;
+                i = to;
+            } else if (digits == 0) {
+                return 0;
+            }
+            groups += bits / 16;
+            if (groups > 8) {
+                return 0;
+            }
+            if (compressed) {
+                tailHigh = (tailHigh << bits) | (tailLow >>> (64 - bits));
+                tailLow = (tailLow << bits) | value;
+            } else {
+                headHigh = (headHigh << bits) | (headLow >>> (64 - bits));
+                headLow = (headLow << bits) | value;
+                headGroups = groups;
+            }
+            if (i == to) {
+                break;
+            }
+            if (text.charAt(i) != ':' || ++i == to) {
+                return 0;
+            }
+            if (text.charAt(i) == ':') {
+                if (compressed) {
+                    return 0;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+        if (compressed ? groups > 7 : groups != 8) {
+            return 0;
+        }
+        if (mode == VALIDATE) {
+            return 1;
+        }
+        // Left-align the groups before "::"; the groups after it are already right-aligned.
+        int shift = compressed ? 16 * (8 - headGroups) : 0;
+        if (shift >= ADDRESS_BITS) {
+            headHigh = 0;
+            headLow = 0;
+        } else if (shift >= 64) {
+            headHigh = headLow << (shift - 64);
+            headLow = 0;
+        } else if (shift > 0) {
+            headHigh = (headHigh << shift) | (headLow >>> (64 - shift));
+            headLow <<= shift;
+        }
+        return mode == HIGH ? headHigh | tailHigh : headLow | tailLow;
+    }
+
+    /**
+     * Returns the value of an ASCII hex digit, or -1.
+     */
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    /** Grows the node arrays while blocks are inserted. */
+    private static final class Builder {
+
+        private int[] zeroChild = new int[64];
+        private int[] oneChild = new int[64];
+        private boolean[] terminal = new boolean[64];
+        private int size = 1;
+        private final List<String> blocks = new ArrayList<>();
+
+        private void insert(String block) {
+            int slash = block.indexOf('/');
+            int end = slash >= 0 ? slash : block.length();
+            long high;
+            long low;
+            int maxPrefix;
+            long ipv4 = ipv4(block, 0, end);
+            if (ipv4 >= 0) {
+                high = 0L;
+                low = IPV4_MAPPED_LOW | ipv4;
+                maxPrefix = 32;
+            } else if (ipv6(block, 0, end, VALIDATE) != 0) {
+                high = ipv6(block, 0, end, HIGH);
+                low = ipv6(block, 0, end, LOW);
+                maxPrefix = ADDRESS_BITS;
+            } else {
+                throw new IllegalArgumentException("Invalid CIDR block: " + block);
+            }
+            int prefix = slash >= 0 ? prefixLength(block, slash + 1, maxPrefix) : maxPrefix;
+            if (maxPrefix == 32) {
+                prefix += IPV4_MAPPED_PREFIX;
+            }
+
+            int node = 0;
+            for (int depth = 0; depth < prefix && !terminal[node]; depth++) {
+                boolean zero = bit(high, low, depth) == 0;
+                int child = zero ? zeroChild[node] : oneChild[node];
+                if (child == NO_CHILD) {
+                    // Grow before picking the array to write to.
+                    child = newNode();
+                    (zero ? zeroChild : oneChild)[node] = child;
+                }
+                node = child;
+            }
+            terminal[node] = true;
+            blocks.add(block);
+        }
+
+        private int prefixLength(String block, int from, int maxPrefix) {
+            int length = 0;
+            if (from == block.length() || block.length() - from > 3) {
+                throw new IllegalArgumentException("Invalid CIDR block: " + block);
+            }
+            for (int i = from; i < block.length(); i++) {
+                char c = block.charAt(i);
+                if (c < '0' || c > '9') {
+                    throw new IllegalArgumentException("Invalid CIDR block: " + block);
+                }
+                length = length * 10 + (c - '0');
+            }
+            if (length > maxPrefix) {
+                throw new IllegalArgumentException("Invalid CIDR block: " + block);
+            }
+            return length;
+        }
+
+        private int newNode() {
+            if (size == terminal.length) {
+                zeroChild = Arrays.copyOf(zeroChild, size * 2);
+                oneChild = Arrays.copyOf(oneChild, size * 2);
+                terminal = Arrays.copyOf(terminal, size * 2);
+            }
+            return size++;
+        }
+
+        private IpPrefixTree build() {
+            return new IpPrefixTree(Arrays.copyOf(zeroChild, size), Arrays.copyOf(oneChild, size),
+                    Arrays.copyOf(terminal, size), List.copyOf(blocks));
+        }
+    }
+}
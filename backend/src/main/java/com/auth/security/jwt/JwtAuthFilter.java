@@ -1,5 +1,7 @@
 package com.auth.security.jwt;
 
+import com.auth.metrics.AuthMetrics;
+import com.auth.security.RoleAuthorities;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +25,9 @@ import java.util.List;
  * on every request, then populates {@link SecurityContextHolder} with the
  * authenticated principal so that downstream security checks work without a
  * server-side session.
+ *
+ * <p>Verification is timed as {@link AuthMetrics.Stage#JWT} ({@code verify}) and recorded
+ * after the request completes, so it carries the endpoint the request was mapped to.
  */
 @Component
 @RequiredArgsConstructor
@@ -30,6 +35,7 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final AuthMetrics authMetrics;
 
     /**
      * Validates the incoming Bearer token and sets the authenticated user context
@@ -38,16 +44,34 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
+        String jwt = extractBearerToken(request);
+        if (jwt == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = authMetrics.start();
+        String outcome = AuthMetrics.OUTCOME_ERROR;
         try {
-            String jwt = extractBearerToken(request);
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
+            if (jwtUtil.validateToken(jwt)) {
                 authenticateRequest(request, jwt);
+                outcome = AuthMetrics.OUTCOME_SUCCESS;
+            } else {
+                outcome = "invalid";
             }
         } catch (Exception ex) {
             log.error("Cannot set user authentication: {}", ex.getMessage(), ex);
         }
+        long verifyNanos = authMetrics.isEnabled() ? System.nanoTime() - start : 0;
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (authMetrics.isEnabled()) {
+                authMetrics.recordDuration(AuthMetrics.Stage.JWT, "verify", outcome, verifyNanos,
+                        AuthMetrics.endpoint(request));
+            }
+        }
     }
 
     /**
@@ -70,9 +94,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String email = jwtUtil.getEmailFromToken(jwt);
         List<String> roles = jwtUtil.getRolesFromToken(jwt);
 
-        List<SimpleGrantedAuthority> authorities = roles.stream()
-                .map(SimpleGrantedAuthority::new)
-                .toList();
+        List<SimpleGrantedAuthority> authorities = RoleAuthorities.authoritiesFromNames(roles);
 
         User principal = new User(email, "", authorities);
 
@@ -1,10 +1,12 @@
 package com.auth.security.jwt;
 
+import com.auth.metrics.AuthMetrics;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -14,11 +16,15 @@ import java.util.Date;
 import java.util.List;
 
 /**
- * Utility class for JWT token generation and validation.
+ * Utility class for JWT token generation and validation. Signing is timed as
+ * {@link AuthMetrics.Stage#JWT} ({@code sign}).
  */
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    private final AuthMetrics authMetrics;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -38,14 +44,22 @@ public class JwtUtil {
      * Generates an access token from an email address and role list.
      */
     public String generateTokenFromEmailAndRoles(String email, List<String> roles) {
-        return Jwts.builder()
-                .subject(email)
-                .issuedAt(new Date())
-                .claim("tokenType", "access")
-                .claim("roles", roles)
-                .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
-                .signWith(getSigningKey())
-                .compact();
+        long start = authMetrics.start();
+        String outcome = AuthMetrics.OUTCOME_ERROR;
+        try {
+            String token = Jwts.builder()
+                    .subject(email)
+                    .issuedAt(new Date())
+                    .claim("tokenType", "access")
+                    .claim("roles", roles)
+                    .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
+                    .signWith(getSigningKey())
+                    .compact();
+            outcome = AuthMetrics.OUTCOME_SUCCESS;
+            return token;
+        } finally {
+            authMetrics.record(AuthMetrics.Stage.JWT, "sign", outcome, start);
+        }
     }
 
     /**
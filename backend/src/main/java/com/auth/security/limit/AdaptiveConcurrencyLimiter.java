@@ -0,0 +1,208 @@
+package com.auth.security.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency-driven concurrency limit: admits a request only while fewer than {@link #getLimit()}
+ * are in flight, and adjusts that limit from observed latency.
+ *
+ * <p>Latencies are averaged per window (at least {@code window} long and
+ * {@link #MIN_WINDOW_SAMPLES} samples). Each window's average is compared with a slowly moving
+ * baseline: while it stays within {@code tolerance} of the baseline the limit grows by about
+ * its square root, and once it exceeds it the limit shrinks in proportion (by at most half).
+ * A window with failed requests cuts the limit by {@link #DROP_BACKOFF}. Windows in which
+ * fewer than half the permits were used leave the limit alone, so an idle service does not
+ * inflate it. All of this runs without locks, so admission never blocks a (virtual) thread.
+ */
+public final class AdaptiveConcurrencyLimiter implements AdaptiveConcurrencyLimiterMXBean {
+
+    static final int MIN_WINDOW_SAMPLES = 10;
+    static final double DROP_BACKOFF = 0.9;
+    /** Weight of each window in the baseline; ~20 windows to follow a lasting change. */
+    private static final double BASELINE_WEIGHT = 0.05;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile double limit;
+    /** Written only by the thread that closes a window. */
+    private volatile double baselineNanos;
+
+    private final AtomicLong windowStart;
+    private final LongAdder windowLatencySum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicBoolean windowDropped = new AtomicBoolean();
+
+    /**
+     * @param tolerance how much slower than the baseline a window may be before the limit
+     *                  shrinks (e.g. 1.5)
+     * @param smoothing fraction of each computed change that is applied (0–1]
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double smoothing, Duration window) {
+        this(name, initialLimit, minLimit, maxLimit, tolerance, smoothing, window, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                               double tolerance, double smoothing, Duration window, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds for " + name + ": " + minLimit + ".." + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.limit = clamp(initialLimit);
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Admits a request if the limit allows it. Every admitted request must be finished with
+     * {@link #onSuccess}, {@link #onDropped} or {@link #onIgnore}.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+        accepted.increment();
+        return true;
+    }
+
+    /** Counts a request turned away before {@link #tryAcquire}, e.g. for exceeding its client's share. */
+    public void onRejected() {
+        rejected.increment();
+    }
+
+    /** Finishes a request that completed normally after {@code latencyNanos}. */
+    public void onSuccess(long latencyNanos) {
+        inFlight.decrementAndGet();
+        windowLatencySum.add(latencyNanos);
+        windowSamples.increment();
+        maybeCloseWindow();
+    }
+
+    /** Finishes a request that failed in a way that suggests overload. */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        dropped.increment();
+        windowDropped.set(true);
+        maybeCloseWindow();
+    }
+
+    /** Finishes a request whose latency says nothing about load (e.g. a long-lived stream). */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    /** Returns the name this limiter was created with. */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public double getBaselineLatencyMs() {
+        return baselineNanos / 1_000_000.0;
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Closes the current window once it is long and full enough; one thread wins the update.
+     */
+
+    private void maybeCloseWindow() {
+        long start = windowStart.get();
+        long now = nanoClock.getAsLong();
+        boolean dropSeen = windowDropped.get();
+        if (now - start < windowNanos || (!dropSeen && windowSamples.sum() < MIN_WINDOW_SAMPLES)) {
+            return;
+        }
+        if (!windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        long samples = windowSamples.sumThenReset();
+        long latencySum = windowLatencySum.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        boolean windowHadDrop = windowDropped.getAndSet(false);
+        if (windowHadDrop) {
+            limit = clamp(limit * DROP_BACKOFF);
+        } else if (samples > 0) {
+            adjust((double) latencySum / samples, maxInFlight);
+        }
+    }
+
+    /**
+     * Moves the limit towards what the window's average latency suggests.
+     */
+
+    private void adjust(double windowLatency, int maxInFlight) {
+        double baseline = baselineNanos == 0 ? windowLatency
+                : baselineNanos + (windowLatency - baselineNanos) * BASELINE_WEIGHT;
+        // After latency improves for good, pull the baseline down faster than the average would.
+        if (baseline / windowLatency > 2) {
+            baseline *= 0.95;
+        }
+        baselineNanos = baseline;
+
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baseline / windowLatency));
+        double target = current * gradient + Math.sqrt(current);
+        limit = clamp(current + (target - current) * smoothing);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,25 @@
+package com.auth.security.limit;
+
+/**
+ * JMX view of an {@link AdaptiveConcurrencyLimiter}.
+ */
+public interface AdaptiveConcurrencyLimiterMXBean {
+
+    /** Current concurrency limit. */
+    int getLimit();
+
+    /** Requests currently admitted and not yet finished. */
+    int getInFlight();
+
+    /** Requests admitted since startup. */
+    long getAccepted();
+
+    /** Requests rejected because the limit, or the client's share of it, was reached. */
+    long getRejected();
+
+    /** Admitted requests that failed or returned a server error. */
+    long getDropped();
+
+    /** Smoothed long-term latency, in milliseconds, that recent latency is compared against. */
+    double getBaselineLatencyMs();
+}
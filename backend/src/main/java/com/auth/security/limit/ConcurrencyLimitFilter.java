@@ -0,0 +1,208 @@
+package com.auth.security.limit;
+
+import com.auth.dto.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Admits requests through an {@link AdaptiveConcurrencyLimiter} and sheds the excess at once
+ * with {@code 503 Service Unavailable} and {@code Retry-After}, instead of letting them queue
+ * in Tomcat.
+ *
+ * <p>Requests ending in a server error or an exception count as drops. Requests that go
+ * async (streamed exports and bulk actions) are released as soon as the handler returns,
+ * without a latency sample, since their duration says nothing about load. CORS preflights
+ * pass without a permit.
+ *
+ * <p>With a client key, one client (e.g. one network) may hold at most {@code maxClientShare}
+ * of the limit, so a flood from one source cannot take every permit before per-client fairness
+ * further in (the password-hashing queue) applies. Time a request reports through
+ * {@link #excludeFromLatency} — waiting in that queue — is left out of its latency sample:
+ * it measures the flooding client's backlog, not server load, and would shrink the limit.
+ *
+ * <p>The filter runs ahead of the CORS filter, so it adds the CORS headers to its own 503 for
+ * allowed origins; without them a browser reports the rejection as a network error and the
+ * client cannot read {@code Retry-After}.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+    private static final String REJECTION_MESSAGE = "Server is busy. Please retry shortly.";
+    /** Request attribute accumulating nanoseconds to leave out of the latency sample. */
+    private static final String EXCLUDED_NANOS_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".excludedNanos";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final Function<HttpServletRequest, String> clientKey;
+    private final double maxClientShare;
+    /** In-flight requests per client key; keys are removed when their count reaches zero. */
+    private final ConcurrentHashMap<String, Integer> inFlightByClient = new ConcurrentHashMap<>();
+    private final byte[] rejectionBody;
+
+    /**
+     * @param corsConfigurationSource the application's CORS rules, applied to shed responses;
+     *                                may be {@code null} when there are none
+     */
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper,
+                                  CorsConfigurationSource corsConfigurationSource) {
+        this(limiter, objectMapper, corsConfigurationSource, null, 1.0);
+    }
+
+    /**
+     * @param clientKey      groups requests by client; {@code null} disables per-client shares
+     * @param maxClientShare fraction of the current limit one client may hold (at least one permit)
+     */
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper,
+                                  CorsConfigurationSource corsConfigurationSource,
+                                  Function<HttpServletRequest, String> clientKey, double maxClientShare) {
+        this.limiter = limiter;
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.clientKey = clientKey;
+        this.maxClientShare = maxClientShare;
+        try {
+            this.rejectionBody = objectMapper.writeValueAsBytes(ApiResponse.error(REJECTION_MESSAGE));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Cannot encode rejection body", exception);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (CorsUtils.isPreFlightRequest(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String client = clientKey != null ? clientKey.apply(request) : null;
+        if (client != null && !enterClientShare(client)) {
+            limiter.onRejected();
+            reject(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            leaveClientShare(client);
+            reject(request, response);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            leaveClientShare(client);
+            if (request.isAsyncStarted()) {
+                limiter.onIgnore();
+            } else if (failed) {
+                limiter.onDropped();
+            } else {
+                limiter.onSuccess(Math.max(0, System.nanoTime() - startedAt - excludedNanos(request)));
+            }
+        }
+    }
+
+    /**
+     * Leaves {@code nanos} of the current request's time out of its latency sample; a no-op
+     * outside a request.
+     */
+    public static void excludeFromLatency(long nanos) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || nanos <= 0) {
+            return;
+        }
+        Object excluded = attributes.getAttribute(EXCLUDED_NANOS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        long total = (excluded instanceof Long previous ? previous : 0L) + nanos;
+        attributes.setAttribute(EXCLUDED_NANOS_ATTRIBUTE, total, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Writes the shed response.
+     */
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        addCorsHeaders(request, response);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectionBody.length);
+        response.getOutputStream().write(rejectionBody);
+    }
+
+    /**
+     * Counts a request against its client's share, unless the share is already used up.
+     */
+
+    private boolean enterClientShare(String client) {
+        int share = Math.max(1, (int) (limiter.getLimit() * maxClientShare));
+        if (inFlightByClient.merge(client, 1, Integer::sum) <= share) {
+            return true;
+        }
+        leaveClientShare(client);
+        return false;
+    }
+
+    /**
+     * Returns a request's place in its client's share.
+     */
+
+    private void leaveClientShare(String client) {
+        if (client != null) {
+            inFlightByClient.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Returns the time the request asked to leave out of its latency sample.
+     */
+
+    private static long excludedNanos(HttpServletRequest request) {
+        return request.getAttribute(EXCLUDED_NANOS_ATTRIBUTE) instanceof Long excluded ? excluded : 0L;
+    }
+
+    /**
+     * Adds the headers the CORS filter would have added to a response for an allowed origin.
+     */
+
+    private void addCorsHeaders(HttpServletRequest request, HttpServletResponse response) {
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        CorsConfiguration cors = origin != null && corsConfigurationSource != null
+                ? corsConfigurationSource.getCorsConfiguration(request)
+                : null;
+        if (cors == null) {
+            return;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        String allowedOrigin = cors.checkOrigin(origin);
+        if (allowedOrigin == null) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowedOrigin);
+        if (Boolean.TRUE.equals(cors.getAllowCredentials())) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+        List<String> exposedHeaders = cors.getExposedHeaders();
+        if (exposedHeaders != null && !exposedHeaders.isEmpty()) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, String.join(", ", exposedHeaders));
+        }
+    }
+}
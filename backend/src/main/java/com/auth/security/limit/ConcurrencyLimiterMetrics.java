@@ -0,0 +1,55 @@
+package com.auth.security.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code concurrency.*} meters for an {@link AdaptiveConcurrencyLimiter}, tagged with its name:
+ * the current limit and in-flight count, the latency baseline the limit follows, and counters
+ * of accepted, rejected (shed with 503) and dropped (failed) requests.
+ */
+public class ConcurrencyLimiterMetrics implements MeterBinder {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Tags tags;
+
+    public ConcurrencyLimiterMetrics(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+        this.tags = Tags.of("limiter", limiter.getName());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tags(tags)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tags(tags)
+                .description("Requests admitted and not yet finished")
+                .register(registry);
+        TimeGauge.builder("concurrency.baseline.latency", limiter, TimeUnit.MILLISECONDS,
+                        AdaptiveConcurrencyLimiter::getBaselineLatencyMs)
+                .tags(tags)
+                .description("Long-term latency the limit is adjusted against")
+                .register(registry);
+        FunctionCounter.builder("concurrency.accepted", limiter, AdaptiveConcurrencyLimiter::getAccepted)
+                .tags(tags)
+                .description("Requests admitted")
+                .register(registry);
+        FunctionCounter.builder("concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .tags(tags)
+                .description("Requests shed with 503 because the limit was reached")
+                .register(registry);
+        FunctionCounter.builder("concurrency.dropped", limiter, AdaptiveConcurrencyLimiter::getDropped)
+                .tags(tags)
+                .description("Admitted requests that failed or returned a server error")
+                .register(registry);
+    }
+}
@@ -0,0 +1,253 @@
+package com.auth.security.limit;
+
+import com.auth.exception.RateLimitExceededException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs expensive work (password hashing) on a fixed number of slots, handing free slots to
+ * waiting clients in round-robin order.
+ *
+ * <p>Each client key has its own FIFO queue. When a slot frees up it goes to the head of the
+ * next client's queue in turn, so a client with a hundred queued requests gets the same share
+ * as one with a single request. A client may have at most {@code maxQueuedPerClient} requests
+ * waiting, and a request that waits longer than {@code maxWait} gives up; both are rejected
+ * with a {@link RateLimitExceededException}. Waiters park on a {@link ReentrantLock} condition,
+ * so virtual threads are not pinned while queued. How long each admitted request waited is
+ * reported to a listener, e.g. so a concurrency limiter can leave queueing out of its latency,
+ * and added to running totals that {@link FairAdmissionQueueMetrics} publishes.
+ */
+public class FairAdmissionQueue {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final int slots;
+    private final int maxQueuedPerClient;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final LongConsumer waitListener;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Clients with waiting requests, in the order they will next be served. */
+    private final LinkedHashMap<String, ArrayDeque<Waiter>> queues = new LinkedHashMap<>();
+    private int freeSlots;
+    private int queued;
+    private long admitted;
+    private long rejected;
+    private long totalWaitNanos;
+
+    public FairAdmissionQueue(int slots, int maxQueuedPerClient, int maxQueued, Duration maxWait) {
+        this(slots, maxQueuedPerClient, maxQueued, maxWait, waitedNanos -> {
+        });
+    }
+
+    /**
+     * @param waitListener called with the nanoseconds each admitted request waited for its slot
+     *                     (0 when one was free), on the request's thread
+     */
+    public FairAdmissionQueue(int slots, int maxQueuedPerClient, int maxQueued, Duration maxWait,
+                              LongConsumer waitListener) {
+        this.slots = Math.max(1, slots);
+        this.maxQueuedPerClient = Math.max(1, maxQueuedPerClient);
+        this.maxQueued = Math.max(this.maxQueuedPerClient, maxQueued);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.waitListener = waitListener;
+        this.freeSlots = this.slots;
+    }
+
+    /** Runs {@code work} once a slot is granted to {@code clientKey}. */
+    public <T> T run(String clientKey, Supplier<T> work) {
+        waitListener.accept(acquire(clientKey));
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    /** Returns the number of slots. */
+    public int getSlots() {
+        return slots;
+    }
+
+    /** Returns the number of requests currently waiting. */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns how many requests have been granted a slot. */
+    public long getAdmitted() {
+        lock.lock();
+        try {
+            return admitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns how many requests were turned away: queue full, waited too long, or interrupted. */
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the total time admitted requests spent waiting for a slot, in nanoseconds. */
+    public long getTotalWaitNanos() {
+        lock.lock();
+        try {
+            return totalWaitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Takes a free slot, or queues behind the client's earlier requests until one is handed
+     * over; returns how long that took.
+     */
+
+    private long acquire(String clientKey) {
+        lock.lock();
+        try {
+            if (freeSlots > 0 && queues.isEmpty()) {
+                freeSlots--;
+                admitted++;
+                return 0;
+            }
+            ArrayDeque<Waiter> queue = queues.get(clientKey);
+            if ((queue != null && queue.size() >= maxQueuedPerClient) || queued >= maxQueued) {
+                throw reject();
+            }
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(clientKey, queue);
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            queue.addLast(waiter);
+            queued++;
+            long queuedAt = System.nanoTime();
+            await(clientKey, waiter);
+            long waitedNanos = System.nanoTime() - queuedAt;
+            admitted++;
+            totalWaitNanos += waitedNanos;
+            return waitedNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits (holding the lock between wake-ups) until the waiter is granted a slot or times out.
+     */
+
+    private void await(String clientKey, Waiter waiter) {
+        long remaining = maxWaitNanos;
+        try {
+            while (!waiter.granted) {
+                if (remaining <= 0) {
+                    withdraw(clientKey, waiter);
+                    throw reject();
+                }
+                remaining = waiter.condition.awaitNanos(remaining);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            if (waiter.granted) {
+                handOver();
+            } else {
+                withdraw(clientKey, waiter);
+            }
+            throw reject();
+        }
+    }
+
+    /**
+     * Returns a slot, handing it straight to the next waiting client if there is one.
+     */
+
+    private void release() {
+        lock.lock();
+        try {
+            handOver();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grants the freed slot to the head of the next client's queue; that client then moves to
+     * the back of the rotation.
+     */
+
+    private void handOver() {
+        Iterator<Map.Entry<String, ArrayDeque<Waiter>>> rotation = queues.entrySet().iterator();
+        if (!rotation.hasNext()) {
+            freeSlots++;
+            return;
+        }
+        Map.Entry<String, ArrayDeque<Waiter>> next = rotation.next();
+        ArrayDeque<Waiter> queue = next.getValue();
+        Waiter waiter = queue.pollFirst();
+        rotation.remove();
+        if (!queue.isEmpty()) {
+            queues.put(next.getKey(), queue);
+        }
+        queued--;
+        waiter.granted = true;
+        waiter.condition.signal();
+    }
+
+    /**
+     * Removes a waiter that gave up.
+     */
+
+    private void withdraw(String clientKey, Waiter waiter) {
+        ArrayDeque<Waiter> queue = queues.get(clientKey);
+        if (queue != null && queue.remove(waiter)) {
+            queued--;
+            if (queue.isEmpty()) {
+                queues.remove(clientKey);
+            }
+        }
+    }
+
+    /**
+     * Counts a rejection (the caller holds the lock) and builds the exception to throw.
+     */
+
+    private RateLimitExceededException reject() {
+        rejected++;
+        return new RateLimitExceededException(
+                "Too many concurrent sign-in attempts from your network. Please retry shortly.", RETRY_AFTER_SECONDS);
+    }
+
+    /** A queued request; {@code granted} is guarded by the queue's lock. */
+    private static final class Waiter {
+
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.auth.security.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code fair.queue.*} meters for a {@link FairAdmissionQueue}, tagged with the given name:
+ * slots and current depth, the time admitted requests waited for a slot, and requests
+ * turned away.
+ */
+public class FairAdmissionQueueMetrics implements MeterBinder {
+
+    private final FairAdmissionQueue queue;
+    private final Tags tags;
+
+    public FairAdmissionQueueMetrics(FairAdmissionQueue queue, String name) {
+        this.queue = queue;
+        this.tags = Tags.of("queue", name);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("fair.queue.slots", queue, FairAdmissionQueue::getSlots)
+                .tags(tags)
+                .description("Requests that can run at once")
+                .register(registry);
+        Gauge.builder("fair.queue.depth", queue, FairAdmissionQueue::getQueued)
+                .tags(tags)
+                .description("Requests waiting for a slot")
+                .register(registry);
+        FunctionTimer.builder("fair.queue.wait", queue, FairAdmissionQueue::getAdmitted,
+                        FairAdmissionQueue::getTotalWaitNanos, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("Time admitted requests waited for a slot")
+                .register(registry);
+        FunctionCounter.builder("fair.queue.rejected", queue, FairAdmissionQueue::getRejected)
+                .tags(tags)
+                .description("Requests turned away because the queue was full or the wait too long")
+                .register(registry);
+    }
+}
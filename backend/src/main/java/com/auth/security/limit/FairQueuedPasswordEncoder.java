@@ -0,0 +1,57 @@
+package com.auth.security.limit;
+
+import com.auth.security.ClientIpResolver;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link PasswordEncoder} that runs hashing and verification for HTTP requests through a
+ * {@link FairAdmissionQueue} keyed by the client's network, so no single source can take more
+ * than its share of hashing CPU. Calls made outside a request (bulk import workers, startup
+ * seeding) go straight to the delegate.
+ */
+public class FairQueuedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final FairAdmissionQueue queue;
+    private final ClientIpResolver clientIpResolver;
+
+    public FairQueuedPasswordEncoder(PasswordEncoder delegate, FairAdmissionQueue queue,
+                                     ClientIpResolver clientIpResolver) {
+        this.delegate = delegate;
+        this.queue = queue;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return admit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return admit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /** Returns the queue hashing is admitted through. */
+    public FairAdmissionQueue getQueue() {
+        return queue;
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Queues the work under the current request's client network, if there is one.
+     */
+
+    private <T> T admit(Supplier<T> work) {
+        String subnet = clientIpResolver.resolveSubnet();
+        return subnet != null ? queue.run(subnet, work) : work.get();
+    }
+}
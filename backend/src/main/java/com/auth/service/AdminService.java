@@ -1,17 +1,35 @@
 package com.auth.service;
 
+import com.auth.dto.request.BulkUserActionRequest;
 import com.auth.dto.response.AdminDashboardDto;
+import com.auth.dto.response.BulkUserActionProgressDto;
+import com.auth.dto.response.CredentialStuffingReportDto;
+import com.auth.dto.response.CursorPageDto;
 import com.auth.dto.response.UserDto;
+import com.auth.service.support.UserFileFormat;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
 /**
- * Business logic contract for admin dashboard and user management views.
+ * Business logic contract for admin dashboard, user management views, and bulk actions.
  */
 public interface AdminService {
 
     /** Builds admin dashboard metrics payload for the authenticated admin email. */
     AdminDashboardDto getDashboard(String adminEmail);
 
+    /**
+     * Returns the version of the user collection, which advances whenever any listed user or
+     * the user counts change; null when it cannot be determined.
+     */
+    Long getUsersVersion();
+
+    /** Returns the top suspected credential-stuffing sources (at most {@code limit} per list). */
+    CredentialStuffingReportDto getCredentialStuffingReport(int limit);
+
     /** Returns paginated/filterable/sortable users for admin listing screens. */
     Page<UserDto> getUsers(
             int page,
@@ -21,4 +39,41 @@ public interface AdminService {
             String role,
             String sortBy,
             String sortDir);
+
+    /**
+     * Returns a keyset-paginated window of users ordered by (sortBy, id).
+     * A blank cursor starts from the beginning; totals are computed only when requested.
+     */
+    CursorPageDto<UserDto> getUsersByCursor(
+            String cursor,
+            int size,
+            String search,
+            Boolean enabled,
+            String role,
+            String sortBy,
+            String sortDir,
+            boolean includeTotal);
+
+    /**
+     * Streams every user matching the filters to {@code outputStream} in constant memory.
+     *
+     * @return number of exported rows
+     */
+    long exportUsers(
+            UserFileFormat format,
+            String search,
+            Boolean enabled,
+            String role,
+            OutputStream outputStream) throws IOException;
+
+    /**
+     * Applies an enable/disable/assign-role/revoke-sessions action to every targeted user in
+     * fixed-size chunks, each committed on its own. {@code progressListener} is called after
+     * every chunk and once more with the final totals ({@code done=true}).
+     *
+     * @return the final totals
+     */
+    BulkUserActionProgressDto applyBulkAction(
+            BulkUserActionRequest request,
+            Consumer<BulkUserActionProgressDto> progressListener);
 }
@@ -24,4 +24,10 @@ public interface RoleService {
      * @return Optional Role
      */
     Optional<Role> findByName(RoleName roleName);
+
+    /**
+     * Reload the in-memory role cache from the database.
+     * Call after roles are changed outside this service.
+     */
+    void reloadRoles();
 }
@@ -0,0 +1,27 @@
+package com.auth.service;
+
+import com.auth.dto.response.UserImportResultDto;
+import com.auth.service.support.UserFileFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk user onboarding from uploaded files.
+ */
+public interface UserImportService {
+
+    /**
+     * Imports local, pre-verified users from an NDJSON or CSV upload.
+     * Rows are validated individually; invalid rows and already-registered emails are reported
+     * in the result instead of failing the whole upload.
+     *
+     * @param format           upload format
+     * @param inputStream      upload contents (UTF-8)
+     * @param sendWelcomeEmail whether to queue a welcome email for each imported user
+     * @return per-upload counts and the first rejected rows
+     * @throws IOException if the upload cannot be read
+     */
+    UserImportResultDto importUsers(UserFileFormat format, InputStream inputStream, boolean sendWelcomeEmail)
+            throws IOException;
+}
@@ -1,5 +1,6 @@
 package com.auth.service;
 
+import com.auth.dto.response.UserBootstrapDto;
 import com.auth.dto.response.UserDashboardDto;
 import com.auth.dto.response.UserDto;
 
@@ -13,4 +14,13 @@ public interface UserPortalService {
 
     /** Returns profile payload for the provided authenticated email. */
     UserDto getProfile(String email);
+
+    /** Returns the version of the user's row, which changes whenever profile data may have. */
+    long getProfileVersion(String email);
+
+    /**
+     * Builds the session-start payload (profile, dashboard and, for admins, the admin
+     * dashboard), fetching independent parts in parallel.
+     */
+    UserBootstrapDto getBootstrap(String email, boolean includeAdminDashboard);
 }
@@ -1,7 +1,9 @@
 package com.auth.service;
 
 import com.auth.entity.User;
+import com.auth.repository.FailedLoginResult;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -33,7 +35,8 @@ public interface UserService {
     boolean existsByEmail(String email);
 
     /**
-     * Save user entity.
+     * Save user entity. Writes every column; prefer the targeted updates below for
+     * existing users.
      *
      * @param user User to save
      * @return Saved user
@@ -64,4 +67,104 @@ public interface UserService {
      * @return Optional User
      */
     Optional<User> findByAuthProviderAndAuthProviderUserId(String authProvider, String authProviderUserId);
+
+    // ── Targeted single-statement updates ────────────────────────────────────
+
+    /**
+     * Atomically counts a failed login, locking the account once the threshold is reached.
+     * Commits independently of the caller's transaction so failures always count.
+     *
+     * @param email       canonical email
+     * @param maxAttempts attempts that trigger a lockout
+     * @param lockedUntil lockout end applied when the threshold is reached
+     * @return updated state, or empty when no user has that email
+     */
+    Optional<FailedLoginResult> recordFailedLogin(String email, int maxAttempts, LocalDateTime lockedUntil);
+
+    /**
+     * Clears login failure counters and any lockout.
+     *
+     * @param userId User id
+     */
+    void resetLoginFailures(Long userId);
+
+    /**
+     * Atomically counts a failed OTP attempt, locking OTP verification once the threshold is
+     * reached. Commits independently of the caller's transaction so failures always count.
+     *
+     * @param userId      User id
+     * @param maxAttempts attempts that trigger a lockout
+     * @param lockedUntil lockout end applied when the threshold is reached
+     */
+    void recordFailedOtp(Long userId, int maxAttempts, LocalDateTime lockedUntil);
+
+    /**
+     * Marks the user's email verified and clears the OTP and its failure state.
+     *
+     * @param user User to verify
+     * @return true if this call verified the user, false if it was already verified
+     */
+    boolean markEmailVerified(User user);
+
+    /**
+     * Stores a verification OTP hash.
+     *
+     * @param userId  User id
+     * @param otpHash Hashed OTP
+     * @param expiry  OTP expiry
+     */
+    void updateVerificationOtp(Long userId, String otpHash, LocalDateTime expiry);
+
+    /**
+     * Stores a password-reset token hash.
+     *
+     * @param userId    User id
+     * @param tokenHash Hashed reset token
+     * @param expiry    Token expiry
+     */
+    void updateResetToken(Long userId, String tokenHash, LocalDateTime expiry);
+
+    /**
+     * Sets a new password if {@code tokenHash} is still the user's reset token, clearing it.
+     *
+     * @param userId       User id
+     * @param tokenHash    Hashed reset token presented by the client
+     * @param passwordHash Encoded new password
+     * @return true if the token was consumed, false if it was already used or replaced
+     */
+    boolean consumeResetToken(Long userId, String tokenHash, String passwordHash);
+
+    /**
+     * Replaces the user's password hash.
+     *
+     * @param userId       User id
+     * @param passwordHash Encoded new password
+     */
+    void updatePassword(Long userId, String passwordHash);
+
+    /**
+     * Stores a newly issued refresh token hash.
+     *
+     * @param userId    User id
+     * @param tokenHash Hashed refresh token
+     * @param expiry    Token expiry
+     */
+    void updateRefreshToken(Long userId, String tokenHash, LocalDateTime expiry);
+
+    /**
+     * Replaces a refresh token only if {@code currentHash} is still stored.
+     *
+     * @param currentHash Hash of the token being redeemed
+     * @param newHash     Hash of the replacement token
+     * @param expiry      Replacement token expiry
+     * @return true if rotated, false if the token was already rotated or revoked
+     */
+    boolean rotateRefreshToken(String currentHash, String newHash, LocalDateTime expiry);
+
+    /**
+     * Clears the refresh token with the given hash, if any user holds it.
+     *
+     * @param tokenHash Hashed refresh token
+     */
+    void clearRefreshToken(String tokenHash);
 }
@@ -2,20 +2,19 @@ package com.auth.service.auth;
 
 import com.auth.entity.User;
 import com.auth.exception.AccountLockedException;
+import com.auth.exception.ChallengeRequiredException;
 import com.auth.exception.RateLimitExceededException;
+import com.auth.repository.FailedLoginResult;
+import com.auth.security.ClientIpResolver;
 import com.auth.service.UserService;
 import com.auth.service.support.DateTimeProvider;
 import com.auth.service.support.EmailService;
 import com.auth.service.support.RateLimitService;
 import com.auth.util.EmailNormalizer;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -23,7 +22,8 @@ import java.time.LocalDateTime;
 /**
  * Coordinates Redis-based rate limiting and per-user brute-force lockouts for
  * all authentication endpoints (login, OTP verification, resend-OTP, and
- * password reset).
+ * password reset), plus sketch-based credential-stuffing detection for login
+ * (see {@link CredentialStuffingDetector}).
  *
  * <p>Protection can be disabled globally via {@code auth.protection.enabled=false}
  * for local development environments.
@@ -37,6 +37,9 @@ public class AuthAbuseProtectionService {
     private final UserService userService;
     private final EmailService emailService;
     private final DateTimeProvider dateTimeProvider;
+    private final ClientIpResolver clientIpResolver;
+    private final ProofOfWorkService proofOfWorkService;
+    private final CredentialStuffingDetector credentialStuffingDetector;
 
     @Value("${auth.protection.enabled:true}")
     private boolean protectionEnabled;
@@ -87,6 +90,30 @@ public class AuthAbuseProtectionService {
     @Value("${auth.rate-limit.reset-password.ip.window-seconds:1800}")
     private long resetPasswordIpWindowSeconds;
 
+    // ── Proof-of-work challenge config ───────────────────────────────────────
+
+    @Value("${auth.challenge.enabled:false}")
+    private boolean challengeEnabled;
+    @Value("${auth.challenge.login.ip.soft-limit:3}")
+    private long loginIpSoftLimit;
+    @Value("${auth.challenge.login.email.soft-limit:5}")
+    private long loginEmailSoftLimit;
+    @Value("${auth.challenge.register.ip.soft-limit:3}")
+    private long registerIpSoftLimit;
+    @Value("${auth.challenge.register.ip.window-seconds:3600}")
+    private long registerIpWindowSeconds;
+
+    // ── Credential-stuffing detection config ─────────────────────────────────
+
+    @Value("${auth.stuffing.enabled:false}")
+    private boolean stuffingDetectionEnabled;
+    @Value("${auth.stuffing.ip.max-distinct-emails:20}")
+    private long maxDistinctEmailsPerIp;
+    @Value("${auth.stuffing.email.max-distinct-ips:10}")
+    private long maxDistinctIpsPerEmail;
+    @Value("${auth.stuffing.subnet.max-failures:100}")
+    private long maxFailuresPerSubnet;
+
     // ── Brute-force lockout config ────────────────────────────────────────────
 
     @Value("${auth.bruteforce.login.max-attempts:10}")
@@ -101,25 +128,65 @@ public class AuthAbuseProtectionService {
 
     // ── Public guard methods ──────────────────────────────────────────────────
 
-    /** Checks login endpoint rate limits and the account's active lockout state. */
-    public void guardLoginAttempt(String email) {
+    /**
+     * Checks login endpoint rate limits, the credential-stuffing signals, and the account's
+     * active lockout state. In challenge mode, an IP or email past its soft limit must also
+     * present a solved proof-of-work.
+     */
+    public void guardLoginAttempt(String email, String challenge, String challengeSolution) {
         if (!protectionEnabled) return;
 
         String normalized = normalizeEmail(email);
-        String clientIp = resolveClientIp();
+        String clientIp = clientIpResolver.resolve();
 
-        enforce("auth:login:ip:" + clientIp, loginIpLimit, loginIpWindowSeconds,
-                "Too many login attempts from this IP. Please retry later.");
-        enforce("auth:login:email:" + normalized, loginEmailLimit, loginEmailWindowSeconds,
+        RateLimitService.RateLimitDecision ipDecision = enforce("auth:login:ip:" + clientIp, loginIpLimit,
+                loginIpWindowSeconds, "Too many login attempts from this IP. Please retry later.");
+        RateLimitService.RateLimitDecision emailDecision = enforce("auth:login:email:" + normalized,
+                loginEmailLimit, loginEmailWindowSeconds,
                 "Too many login attempts for this account. Please retry later.");
+        if (ipDecision.exceeds(loginIpSoftLimit)) {
+            requireChallenge("login", normalized, challenge, challengeSolution, ipDecision.count(), loginIpSoftLimit);
+        } else if (emailDecision.exceeds(loginEmailSoftLimit)) {
+            requireChallenge("login", normalized, challenge, challengeSolution, emailDecision.count(),
+                    loginEmailSoftLimit);
+        }
+        guardCredentialStuffing(clientIp, normalized, challenge, challengeSolution);
 
         userService.findByEmail(normalized).ifPresent(this::assertLoginNotLocked);
     }
 
-    /** Records a failed login attempt and applies a lockout when the threshold is reached. */
+    /**
+     * In challenge mode, counts registrations per IP and requires a solved proof-of-work once
+     * the IP is past its soft limit. Registration has no hard limit.
+     */
+    public void guardRegistration(String email, String challenge, String challengeSolution) {
+        if (!protectionEnabled || !challengeEnabled) return;
+
+        RateLimitService.RateLimitDecision decision = rateLimitService.consume(
+                "auth:register:ip:" + clientIpResolver.resolve(), Long.MAX_VALUE,
+                Duration.ofSeconds(registerIpWindowSeconds));
+        if (decision.exceeds(registerIpSoftLimit)) {
+            requireChallenge("register", normalizeEmail(email), challenge, challengeSolution, decision.count(),
+                    registerIpSoftLimit);
+        }
+    }
+
+    /**
+     * Records a failed login attempt and applies a lockout when the threshold is reached.
+     * The counter is incremented in a single atomic UPDATE, so concurrent failures all count.
+     */
     public void recordFailedLogin(String email) {
         if (!protectionEnabled) return;
-        userService.findByEmail(normalizeEmail(email)).ifPresent(this::applyFailedLoginAttempt);
+
+        String normalized = normalizeEmail(email);
+        if (stuffingDetectionEnabled) {
+            String clientIp = clientIpResolver.resolve();
+            credentialStuffingDetector.recordFailure(clientIp, ClientIpResolver.subnetKey(clientIp), normalized);
+        }
+        LocalDateTime lockedUntil = dateTimeProvider.now().plusMinutes(loginLockMinutes);
+        userService.recordFailedLogin(normalized, loginMaxAttempts, lockedUntil)
+                .filter(FailedLoginResult::isLocked)
+                .ifPresent(result -> sendAccountLockEmailSafely(normalized, result.getName(), lockedUntil));
     }
 
     /** Clears login brute-force counters after a successful authentication. */
@@ -127,9 +194,7 @@ public class AuthAbuseProtectionService {
         if (!protectionEnabled || user == null) return;
         if (user.getFailedLoginAttempts() == 0 && user.getAccountLockedUntil() == null) return;
 
-        user.setFailedLoginAttempts(0);
-        user.setAccountLockedUntil(null);
-        userService.save(user);
+        userService.resetLoginFailures(user.getId());
     }
 
     /** Checks OTP verification rate limits and the account's OTP-specific lockout state. */
@@ -137,7 +202,7 @@ public class AuthAbuseProtectionService {
         if (!protectionEnabled) return;
 
         String normalized = normalizeEmail(email);
-        String clientIp = resolveClientIp();
+        String clientIp = clientIpResolver.resolve();
 
         enforce("auth:otp-verify:ip:" + clientIp, otpVerifyIpLimit, otpVerifyIpWindowSeconds,
                 "Too many OTP verification attempts from this IP. Please retry later.");
@@ -147,28 +212,15 @@ public class AuthAbuseProtectionService {
         userService.findByEmail(normalized).ifPresent(this::assertOtpNotLocked);
     }
 
-    /** Increments the OTP failure counter and applies a temporary OTP lockout when reached. */
+    /**
+     * Increments the OTP failure counter and applies a temporary OTP lockout when reached.
+     * Counted atomically and committed even when the surrounding verification rolls back.
+     * Successful verification clears the counter together with the OTP itself.
+     */
     public void recordFailedOtp(User user) {
         if (!protectionEnabled || user == null) return;
 
-        int nextAttempts = user.getFailedOtpAttempts() + 1;
-        if (nextAttempts >= otpMaxAttempts) {
-            user.setFailedOtpAttempts(0);
-            user.setOtpLockedUntil(dateTimeProvider.now().plusMinutes(otpLockMinutes));
-        } else {
-            user.setFailedOtpAttempts(nextAttempts);
-        }
-        userService.save(user);
-    }
-
-    /** Clears OTP brute-force counters after a successful OTP verification. */
-    public void clearOtpFailures(User user) {
-        if (!protectionEnabled || user == null) return;
-        if (user.getFailedOtpAttempts() == 0 && user.getOtpLockedUntil() == null) return;
-
-        user.setFailedOtpAttempts(0);
-        user.setOtpLockedUntil(null);
-        userService.save(user);
+        userService.recordFailedOtp(user.getId(), otpMaxAttempts, dateTimeProvider.now().plusMinutes(otpLockMinutes));
     }
 
     /** Applies resend-OTP endpoint limits: per-email cooldown, windowed limit, and IP limit. */
@@ -176,7 +228,7 @@ public class AuthAbuseProtectionService {
         if (!protectionEnabled) return;
 
         String normalized = normalizeEmail(email);
-        String clientIp = resolveClientIp();
+        String clientIp = clientIpResolver.resolve();
 
         enforce("auth:resend-otp:email-cooldown:" + normalized, 1, resendOtpCooldownSeconds,
                 "Please wait before requesting another OTP.");
@@ -191,7 +243,7 @@ public class AuthAbuseProtectionService {
         if (!protectionEnabled) return;
 
         String normalized = normalizeEmail(email);
-        String clientIp = resolveClientIp();
+        String clientIp = clientIpResolver.resolve();
 
         enforce("auth:reset-password:email:" + normalized, resetPasswordEmailLimit,
                 resetPasswordEmailWindowSeconds,
@@ -206,12 +258,48 @@ public class AuthAbuseProtectionService {
      * Enforces this operation.
      */
 
-    private void enforce(String key, long limit, long windowSeconds, String message) {
+    private RateLimitService.RateLimitDecision enforce(String key, long limit, long windowSeconds, String message) {
         RateLimitService.RateLimitDecision decision =
                 rateLimitService.consume(key, limit, Duration.ofSeconds(windowSeconds));
         if (!decision.allowed()) {
             throw new RateLimitExceededException(message, Math.max(1, decision.retryAfterSeconds()));
         }
+        return decision;
+    }
+    /**
+     * Applies the sketch-based policy to earlier failures: a source that failed on many
+     * accounts, a network with many failures, or an account failed from many IPs must solve
+     * a challenge. Nothing is refused outright, so outside challenge mode the signals only
+     * feed the admin report.
+     */
+
+    private void guardCredentialStuffing(String clientIp, String email, String challenge, String challengeSolution) {
+        if (!stuffingDetectionEnabled) return;
+
+        CredentialStuffingDetector.Assessment assessment = credentialStuffingDetector.assess(
+                clientIp, ClientIpResolver.subnetKey(clientIp), email);
+        if (assessment.distinctEmailsFromIp() > maxDistinctEmailsPerIp) {
+            requireChallenge("login", email, challenge, challengeSolution, assessment.distinctEmailsFromIp(),
+                    maxDistinctEmailsPerIp);
+        } else if (assessment.subnetFailures() > maxFailuresPerSubnet) {
+            requireChallenge("login", email, challenge, challengeSolution, assessment.subnetFailures(),
+                    maxFailuresPerSubnet);
+        } else if (assessment.distinctIpsForEmail() > maxDistinctIpsPerEmail) {
+            requireChallenge("login", email, challenge, challengeSolution, assessment.distinctIpsForEmail(),
+                    maxDistinctIpsPerEmail);
+        }
+    }
+    /**
+     * In challenge mode, rejects the request with a fresh puzzle unless it carries a valid solution.
+     */
+
+    private void requireChallenge(String scope, String subject, String challenge, String challengeSolution,
+                                  long count, long softLimit) {
+        if (!challengeEnabled || proofOfWorkService.verify(scope, subject, challenge, challengeSolution)) {
+            return;
+        }
+        throw new ChallengeRequiredException("Please complete the verification challenge and retry.",
+                proofOfWorkService.issue(scope, subject, count, softLimit));
     }
     /**
      * Asserts login not locked.
@@ -239,58 +327,17 @@ public class AuthAbuseProtectionService {
                     "OTP verification is temporarily locked due to repeated failed attempts.", retryAfter);
         }
     }
-    /**
-     * Executes apply failed login attempt logic.
-     */
-
-    private void applyFailedLoginAttempt(User user) {
-        int nextAttempts = user.getFailedLoginAttempts() + 1;
-        if (nextAttempts >= loginMaxAttempts) {
-            user.setFailedLoginAttempts(0);
-            user.setAccountLockedUntil(dateTimeProvider.now().plusMinutes(loginLockMinutes));
-            userService.save(user);
-            sendAccountLockEmailSafely(user);
-        } else {
-            user.setFailedLoginAttempts(nextAttempts);
-            userService.save(user);
-        }
-    }
     /**
      * Sends account lock email safely.
      */
 
-    private void sendAccountLockEmailSafely(User user) {
+    private void sendAccountLockEmailSafely(String email, String name, LocalDateTime lockedUntil) {
         try {
-            emailService.sendAccountLockedAlertEmail(user.getEmail(), user.getName(), user.getAccountLockedUntil());
+            emailService.sendAccountLockedAlertEmail(email, name, lockedUntil);
         } catch (RuntimeException ex) {
-            log.warn("Failed to send account-lock alert email for {}", user.getEmail(), ex);
+            log.warn("Failed to send account-lock alert email for {}", email, ex);
         }
     }
-    /**
-     * Resolves client ip.
-     */
-
-    private String resolveClientIp() {
-        ServletRequestAttributes attributes =
-                (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attributes == null) {
-            return "unknown";
-        }
-
-        HttpServletRequest request = attributes.getRequest();
-
-        String forwarded = trimToNull(request.getHeader("X-Forwarded-For"));
-        if (forwarded != null) {
-            String firstIp = trimToNull(forwarded.split(",")[0]);
-            if (firstIp != null) return firstIp;
-        }
-
-        String realIp = trimToNull(request.getHeader("X-Real-IP"));
-        if (realIp != null) return realIp;
-
-        String remote = trimToNull(request.getRemoteAddr());
-        return remote != null ? remote : "unknown";
-    }
     /**
      * Normalizes email.
      */
@@ -298,13 +345,4 @@ public class AuthAbuseProtectionService {
     private String normalizeEmail(String email) {
         return EmailNormalizer.normalizeOr(email, "unknown-email");
     }
-    /**
-     * Trims to null.
-     */
-
-    private String trimToNull(String value) {
-        if (!StringUtils.hasText(value)) return null;
-        String trimmed = value.trim();
-        return trimmed.isEmpty() ? null : trimmed;
-    }
 }
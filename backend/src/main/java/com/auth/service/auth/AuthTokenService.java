@@ -2,9 +2,10 @@ package com.auth.service.auth;
 
 import com.auth.dto.response.AuthResponse;
 import com.auth.dto.response.AuthTokens;
-import com.auth.entity.Role;
 import com.auth.entity.User;
 import com.auth.exception.TokenValidationException;
+import com.auth.security.LockingSecureRandom;
+import com.auth.security.RoleAuthorities;
 import com.auth.security.jwt.JwtUtil;
 import com.auth.service.UserService;
 import com.auth.service.support.DateTimeProvider;
@@ -31,7 +32,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AuthTokenService {
 
-    private final SecureRandom secureRandom = new SecureRandom();
+    private final SecureRandom secureRandom = new LockingSecureRandom();
 
     private final JwtUtil jwtUtil;
     private final UserService userService;
@@ -47,16 +48,9 @@ public class AuthTokenService {
      */
     @Transactional
     public AuthTokens issueTokens(User user) {
-        LocalDateTime now = dateTimeProvider.now();
-        List<String> roles = resolveRoleNames(user);
-        String accessToken = jwtUtil.generateTokenFromEmailAndRoles(user.getEmail(), roles);
         String refreshToken = generateRefreshToken();
-
-        user.setRefreshToken(tokenHashService.hash(refreshToken));
-        user.setRefreshTokenExpiry(now.plusSeconds(refreshTokenExpirationMs / 1000L));
-        userService.save(user);
-
-        return new AuthTokens(buildAuthResponse(user, accessToken), refreshToken);
+        userService.updateRefreshToken(user.getId(), tokenHashService.hash(refreshToken), refreshTokenExpiry());
+        return buildTokens(user, refreshToken);
     }
 
     /**
@@ -76,11 +70,17 @@ public class AuthTokenService {
                 .orElseThrow(() -> new TokenValidationException("Invalid refresh token."));
 
         if (isRefreshTokenExpired(user.getRefreshTokenExpiry())) {
-            clearStoredRefreshToken(user);
+            userService.clearRefreshToken(tokenHash);
             throw new TokenValidationException("Refresh token has expired. Please login again.");
         }
 
-        return issueTokens(user);
+        // Compare-and-set on the presented hash: of two concurrent refreshes with the same
+        // token, only one rotates it and the other is rejected.
+        String newRefreshToken = generateRefreshToken();
+        if (!userService.rotateRefreshToken(tokenHash, tokenHashService.hash(newRefreshToken), refreshTokenExpiry())) {
+            throw new TokenValidationException("Invalid refresh token.");
+        }
+        return buildTokens(user, newRefreshToken);
     }
 
     /**
@@ -92,15 +92,24 @@ public class AuthTokenService {
         if (!StringUtils.hasText(refreshToken)) {
             return;
         }
-        String tokenHash = tokenHashService.hash(refreshToken);
-        userService.findByRefreshToken(tokenHash).ifPresent(this::clearStoredRefreshToken);
+        userService.clearRefreshToken(tokenHashService.hash(refreshToken));
+    }
+
+    /**
+     * Issues an access token for the user and pairs it with the given refresh token.
+     */
+
+    private AuthTokens buildTokens(User user, String refreshToken) {
+        List<String> roles = resolveRoleNames(user);
+        String accessToken = jwtUtil.generateTokenFromEmailAndRoles(user.getEmail(), roles);
+        return new AuthTokens(buildAuthResponse(user, accessToken, roles), refreshToken);
     }
 
     /**
      * Builds the API auth response payload with token metadata and the current
      * user's profile fields.
      */
-    private AuthResponse buildAuthResponse(User user, String accessToken) {
+    private AuthResponse buildAuthResponse(User user, String accessToken, List<String> roles) {
         return new AuthResponse(
                 HttpStatus.OK.value(),
                 accessToken,
@@ -111,17 +120,11 @@ public class AuthTokenService {
                 user.getName(),
                 user.getEmail(),
                 user.isEnabled(),
-                resolveRoleNames(user));
+                roles);
     }
-    /**
-     * Resolves role names.
-     */
-
+    /** Resolves the shared, precomputed role-name list for the user's role combination. */
     private List<String> resolveRoleNames(User user) {
-        return user.getRoles().stream()
-                .map(Role::getName)
-                .map(Enum::name)
-                .toList();
+        return RoleAuthorities.roleNamesOf(user.getRoleMask());
     }
 
     /** Generates a 64-byte, Base64URL-encoded cryptographically random refresh token. */
@@ -139,12 +142,10 @@ public class AuthTokenService {
         return expiry == null || expiry.isBefore(now);
     }
     /**
-     * Clears stored refresh token.
+     * Returns the expiry for a refresh token issued now.
      */
 
-    private void clearStoredRefreshToken(User user) {
-        user.setRefreshToken(null);
-        user.setRefreshTokenExpiry(null);
-        userService.save(user);
+    private LocalDateTime refreshTokenExpiry() {
+        return dateTimeProvider.now().plusSeconds(refreshTokenExpirationMs / 1000L);
     }
 }
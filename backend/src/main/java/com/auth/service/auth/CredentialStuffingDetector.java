@@ -0,0 +1,273 @@
+package com.auth.service.auth;
+
+import com.auth.dto.response.AbuseOffenderDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Spots credential stuffing that exact per-IP and per-email counters miss, in fixed memory.
+ * Only failed logins are recorded, so many users signing in behind one NAT address are
+ * not mistaken for a source spraying accounts.
+ *
+ * <ul>
+ *   <li>Redis HyperLogLogs count the distinct emails each IP has failed on, about 12 KB per
+ *       key at most. A key expires one window after its first failure, so counts start over
+ *       even while the source keeps trying. At most {@code maxTrackedIps} keys exist: an index
+ *       ordered by last failure evicts the least recently failing IP beyond that.
+ *       IPs past {@code minReportedEmails} are kept in a capped sorted set for the admin report.</li>
+ *   <li>In-process count-min sketches count failed logins per client network, with a small
+ *       top-K table of the heaviest networks, and the distinct IPs each email has failed from:
+ *       a sketch of (email, IP) pairs acts as a filter, and only a pair's first failure counts
+ *       against the email. They cover the current and previous window, so counts age out after
+ *       one to two windows, and they only see this node's traffic.</li>
+ * </ul>
+ * Redis failures fail open, like {@code RateLimitService}.
+ */
+@Service
+@Slf4j
+public class CredentialStuffingDetector {
+
+    static final String IP_EMAILS_KEY_PREFIX = "auth:stuffing:ip-emails:";
+    static final String TRACKED_IPS_KEY = "auth:stuffing:tracked-ips";
+    static final String OFFENDERS_KEY = "auth:stuffing:offenders";
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 4_096;
+    private static final int PAIR_SKETCH_WIDTH = 16_384;
+
+    /**
+     * Records a failure in the IP's HyperLogLog, evicts the least recently failing IPs beyond
+     * the cap, ranks the IP when it has failed on enough distinct emails, and returns its
+     * distinct email count. The TTL is only set on a new key; refreshing it would keep a busy
+     * source's count growing forever.
+     */
+    private static final RedisScript<Long> RECORD_FAILURE = RedisScript.of("""
+            redis.call('PFADD', KEYS[1], ARGV[1])
+            if redis.call('TTL', KEYS[1]) == -1 then redis.call('EXPIRE', KEYS[1], ARGV[3]) end
+            redis.call('ZADD', KEYS[2], ARGV[6], ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', tonumber(ARGV[6]) - tonumber(ARGV[3]) * 1000)
+            local excess = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[7])
+            if excess > 0 then
+                for _, evicted in ipairs(redis.call('ZRANGE', KEYS[2], 0, excess - 1)) do
+                    redis.call('DEL', ARGV[8] .. evicted)
+                end
+                redis.call('ZREMRANGEBYRANK', KEYS[2], 0, excess - 1)
+            end
+            redis.call('EXPIRE', KEYS[2], ARGV[3])
+            local emails = redis.call('PFCOUNT', KEYS[1])
+            if emails >= tonumber(ARGV[4]) then
+                local ranked = tonumber(redis.call('ZSCORE', KEYS[3], ARGV[2]) or '0')
+                if emails > ranked then redis.call('ZADD', KEYS[3], emails, ARGV[2]) end
+                redis.call('ZREMRANGEBYRANK', KEYS[3], 0, -(tonumber(ARGV[5]) + 1))
+                redis.call('EXPIRE', KEYS[3], ARGV[3])
+            end
+            return emails
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LongSupplier clock;
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private volatile Window current;
+    private volatile Window previous;
+
+    @Value("${auth.stuffing.window-seconds:3600}")
+    private long windowSeconds;
+
+    @Value("${auth.stuffing.ip.max-tracked:10000}")
+    private long maxTrackedIps;
+
+    @Value("${auth.stuffing.min-reported-emails:5}")
+    private long minReportedEmails;
+
+    @Value("${auth.stuffing.top-offenders:50}")
+    private int topOffenders;
+
+    @Autowired
+    public CredentialStuffingDetector(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, System::currentTimeMillis);
+    }
+
+    CredentialStuffingDetector(StringRedisTemplate redisTemplate, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.current = new Window(clock.getAsLong());
+        this.previous = new Window(clock.getAsLong());
+    }
+
+    /** What is known about a login attempt's source and target, from earlier failures. */
+    public record Assessment(long distinctEmailsFromIp, long distinctIpsForEmail, long subnetFailures) {
+    }
+
+    /** Assesses a login attempt from {@code ip} (network {@code subnet}) for {@code email} without recording it. */
+    public Assessment assess(String ip, String subnet, String email) {
+        long subnetFailures = subnetFailures(subnet);
+        long distinctIpsForEmail = distinctIpsForEmail(email);
+        try {
+            Long distinctEmails = redisTemplate.opsForHyperLogLog().size(IP_EMAILS_KEY_PREFIX + ip);
+            return new Assessment(distinctEmails != null ? distinctEmails : 0, distinctIpsForEmail, subnetFailures);
+        } catch (Exception exception) {
+            log.warn("Credential-stuffing detection unavailable for ip={}", ip, exception);
+            return new Assessment(0, distinctIpsForEmail, subnetFailures);
+        }
+    }
+
+    /** Records a failed login from {@code ip} (network {@code subnet}) for {@code email}. */
+    public void recordFailure(String ip, String subnet, String email) {
+        Window window = currentWindow();
+        window.record(subnet, window.sketch.add(subnet), topOffenders);
+        String pair = email + "|" + ip;
+        if (window.pairs.add(pair) == 1 && previous.pairs.estimate(pair) == 0) {
+            window.emailIps.add(email);
+        }
+        try {
+            redisTemplate.execute(RECORD_FAILURE, List.of(IP_EMAILS_KEY_PREFIX + ip, TRACKED_IPS_KEY, OFFENDERS_KEY),
+                    email, ip, String.valueOf(windowSeconds), String.valueOf(minReportedEmails),
+                    String.valueOf(topOffenders), String.valueOf(clock.getAsLong()),
+                    String.valueOf(Math.max(1, maxTrackedIps)), IP_EMAILS_KEY_PREFIX);
+        } catch (Exception exception) {
+            log.warn("Credential-stuffing detection unavailable for ip={}", ip, exception);
+        }
+    }
+
+    /** Returns the IPs that tried the most distinct emails, highest first. */
+    public List<AbuseOffenderDto> topIpsByDistinctEmails(int limit) {
+        try {
+            Set<ZSetOperations.TypedTuple<String>> ranked =
+                    redisTemplate.opsForZSet().reverseRangeWithScores(OFFENDERS_KEY, 0, limit - 1);
+            if (ranked == null) {
+                return List.of();
+            }
+            List<AbuseOffenderDto> offenders = new ArrayList<>(ranked.size());
+            for (ZSetOperations.TypedTuple<String> entry : ranked) {
+                offenders.add(new AbuseOffenderDto(entry.getValue(),
+                        entry.getScore() != null ? entry.getScore().longValue() : 0));
+            }
+            return offenders;
+        } catch (Exception exception) {
+            log.warn("Credential-stuffing offender ranking unavailable", exception);
+            return List.of();
+        }
+    }
+
+    /** Returns the client networks with the most failed logins on this node, highest first. */
+    public List<AbuseOffenderDto> topSubnetsByFailures(int limit) {
+        Window window = currentWindow();
+        Map<String, Long> candidates = new HashMap<>(window.snapshotHeavyHitters());
+        previous.snapshotHeavyHitters().keySet().forEach(subnet -> candidates.putIfAbsent(subnet, 0L));
+        return candidates.keySet().stream()
+                .map(subnet -> new AbuseOffenderDto(subnet, subnetFailures(subnet)))
+                .sorted(Comparator.comparingLong(AbuseOffenderDto::getScore).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /** Returns the window length, in seconds. */
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Estimated failed logins from a network over the current and previous window.
+     */
+
+    private long subnetFailures(String subnet) {
+        return currentWindow().sketch.estimate(subnet) + previous.sketch.estimate(subnet);
+    }
+
+    /**
+     * Estimated distinct IPs an email failed from over the current and previous window.
+     */
+
+    private long distinctIpsForEmail(String email) {
+        return currentWindow().emailIps.estimate(email) + previous.emailIps.estimate(email);
+    }
+
+    /**
+     * Returns the current window, rotating it once it is older than the window length. After
+     * an idle gap of two windows or more the old window is not kept as the previous one.
+     */
+
+    private Window currentWindow() {
+        Window window = current;
+        long now = clock.getAsLong();
+        long windowMillis = windowSeconds * 1_000;
+        if (now - window.startedAt < windowMillis) {
+            return window;
+        }
+        windowLock.lock();
+        try {
+            if (current == window) {
+                previous = now - window.startedAt < 2 * windowMillis ? window : new Window(now);
+                current = new Window(now);
+            }
+            return current;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    /** One window's sketches and its heaviest networks. */
+    private static final class Window {
+
+        private final long startedAt;
+        private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        private final CountMinSketch pairs = new CountMinSketch(SKETCH_DEPTH, PAIR_SKETCH_WIDTH);
+        private final CountMinSketch emailIps = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        private final ReentrantLock heavyHittersLock = new ReentrantLock();
+        private final Map<String, Long> heavyHitters = new HashMap<>();
+
+        private Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * Keeps {@code subnet} among the heaviest networks if its estimate earns it a place.
+         */
+
+        private void record(String subnet, long estimate, int capacity) {
+            heavyHittersLock.lock();
+            try {
+                if (heavyHitters.containsKey(subnet) || heavyHitters.size() < capacity) {
+                    heavyHitters.put(subnet, estimate);
+                    return;
+                }
+                Map.Entry<String, Long> lightest = null;
+                for (Map.Entry<String, Long> entry : heavyHitters.entrySet()) {
+                    if (lightest == null || entry.getValue() < lightest.getValue()) {
+                        lightest = entry;
+                    }
+                }
+                if (lightest != null && lightest.getValue() < estimate) {
+                    heavyHitters.remove(lightest.getKey());
+                    heavyHitters.put(subnet, estimate);
+                }
+            } finally {
+                heavyHittersLock.unlock();
+            }
+        }
+
+        private Map<String, Long> snapshotHeavyHitters() {
+            heavyHittersLock.lock();
+            try {
+                return new HashMap<>(heavyHitters);
+            } finally {
+                heavyHittersLock.unlock();
+            }
+        }
+    }
+}
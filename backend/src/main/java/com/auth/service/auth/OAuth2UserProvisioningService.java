@@ -5,6 +5,7 @@ import com.auth.entity.RoleName;
 import com.auth.entity.User;
 import com.auth.service.RoleService;
 import com.auth.service.UserService;
+import com.auth.service.support.UserStatsService;
 import com.auth.util.EmailNormalizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -37,6 +38,8 @@ public class OAuth2UserProvisioningService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final UserStatsService userStatsService;
+
     /** Loads an existing OAuth user or creates a local enabled user profile when first seen. */
     public User loadOrCreateUser(OAuth2AuthenticationToken authenticationToken, OAuth2User oauth2User) {
         String provider = normalizeProvider(authenticationToken.getAuthorizedClientRegistrationId());
@@ -86,6 +89,7 @@ public class OAuth2UserProvisioningService {
 
         if (!user.isEnabled()) {
             user.setEnabled(true);
+            userStatsService.recordUserEnabled();
             changed = true;
         }
 
@@ -0,0 +1,208 @@
+package com.auth.service.auth;
+
+import com.auth.dto.response.ProofOfWorkChallengeDto;
+import com.auth.service.support.DateTimeProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Issues and verifies stateless, HMAC-signed hashcash puzzles.
+ *
+ * <p>A challenge is {@code base64url(scope|expiresAt|difficulty|nonce).base64url(mac)}, where
+ * the MAC also covers the subject (the normalized email), so a solution only unlocks attempts
+ * for the account it was issued for and cannot be moved to another. Verifying costs one HMAC
+ * and one SHA-256, while solving costs the client about {@code 2^difficulty} hashes. Nothing
+ * is stored: a solved challenge may be reused until it expires, which the hard per-email
+ * rate limit still bounds.
+ *
+ * <p>The MAC key is an HKDF-SHA256 sub-key of {@code auth.challenge.secret} (or of
+ * {@code jwt.secret} when unset), so puzzle MACs never use the token signing key directly.
+ * Difficulty is capped at what a slow client, hashing {@code client-hashes-per-second}, can
+ * expect to solve within a quarter of the TTL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProofOfWorkService {
+
+    public static final String ALGORITHM = "SHA-256";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAX_SOLUTION_LENGTH = 64;
+    private static final byte[] KEY_LABEL = "auth-challenge-mac-v1".getBytes(StandardCharsets.UTF_8);
+    private static final int SOLVE_TIME_SAFETY_FACTOR = 4;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final DateTimeProvider dateTimeProvider;
+
+    @Value("${auth.challenge.secret:${jwt.secret}}")
+    private String secret;
+
+    @Value("${auth.challenge.ttl-seconds:120}")
+    private long ttlSeconds;
+
+    @Value("${auth.challenge.base-difficulty-bits:16}")
+    private int baseDifficulty;
+
+    @Value("${auth.challenge.max-difficulty-bits:20}")
+    private int maxDifficulty;
+
+    @Value("${auth.challenge.client-hashes-per-second:100000}")
+    private long clientHashesPerSecond;
+
+    private SecretKeySpec macKey;
+    private int difficultyCap;
+
+    /**
+     * Derives the MAC key and caps the difficulty at what clients can solve before expiry.
+     */
+    @PostConstruct
+    void init() {
+        macKey = new SecretKeySpec(deriveKey(secret.getBytes(StandardCharsets.UTF_8)), MAC_ALGORITHM);
+        long expectedBudget = Math.max(1, clientHashesPerSecond * ttlSeconds / SOLVE_TIME_SAFETY_FACTOR);
+        int solvableBits = 63 - Long.numberOfLeadingZeros(expectedBudget);
+        difficultyCap = Math.min(maxDifficulty, solvableBits);
+        if (difficultyCap < maxDifficulty) {
+            log.warn("auth.challenge.max-difficulty-bits={} exceeds what clients solve within {}s; capped at {}",
+                    maxDifficulty, ttlSeconds, difficultyCap);
+        }
+    }
+
+    /**
+     * Issues a challenge for {@code subject}, one bit harder for every doubling of
+     * {@code count} past {@code softLimit}.
+     */
+    public ProofOfWorkChallengeDto issue(String scope, String subject, long count, long softLimit) {
+        int difficulty = difficultyFor(count, softLimit);
+        long expiresAt = nowEpochSeconds() + ttlSeconds;
+        String payload = scope + "|" + expiresAt + "|" + difficulty + "|"
+                + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        String challenge = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + ENCODER.encodeToString(mac(payload, subject));
+        return new ProofOfWorkChallengeDto(challenge, ALGORITHM, difficulty, ttlSeconds);
+    }
+
+    /** Returns whether {@code solution} solves an unexpired {@code challenge} issued for this scope and subject. */
+    public boolean verify(String scope, String subject, String challenge, String solution) {
+        if (challenge == null || solution == null || solution.isEmpty() || solution.length() > MAX_SOLUTION_LENGTH) {
+            return false;
+        }
+        int separator = challenge.indexOf('.');
+        if (separator <= 0) {
+            return false;
+        }
+        String payload;
+        byte[] presentedMac;
+        try {
+            payload = new String(DECODER.decode(challenge.substring(0, separator)), StandardCharsets.UTF_8);
+            presentedMac = DECODER.decode(challenge.substring(separator + 1));
+        } catch (IllegalArgumentException malformed) {
+            return false;
+        }
+        if (!MessageDigest.isEqual(mac(payload, subject), presentedMac)) {
+            return false;
+        }
+        String[] fields = payload.split("\\|");
+        if (fields.length != 4 || !fields[0].equals(scope)) {
+            return false;
+        }
+        long expiresAt = Long.parseLong(fields[1]);
+        int difficulty = Integer.parseInt(fields[2]);
+        if (expiresAt < nowEpochSeconds()) {
+            return false;
+        }
+        return leadingZeroBits(sha256(challenge + ":" + solution)) >= difficulty;
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Scales difficulty with how far the counter is past the soft limit.
+     */
+
+    private int difficultyFor(long count, long softLimit) {
+        long overshoot = softLimit > 0 ? Math.max(1, count / softLimit) : 1;
+        int extraBits = 63 - Long.numberOfLeadingZeros(overshoot);
+        return Math.min(difficultyCap, baseDifficulty + extraBits);
+    }
+
+    /**
+     * Signs a challenge payload together with the subject it is bound to.
+     */
+
+    private byte[] mac(String payload, String subject) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(macKey);
+            return mac.doFinal((payload + "|" + subject).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available.", ex);
+        }
+    }
+
+    /**
+     * Derives a 32-byte sub-key with HKDF-SHA256 (RFC 5869): extract with an all-zero salt,
+     * then one expand block labelled {@link #KEY_LABEL}.
+     */
+
+    private static byte[] deriveKey(byte[] inputKey) {
+        try {
+            Mac extract = Mac.getInstance(MAC_ALGORITHM);
+            extract.init(new SecretKeySpec(new byte[32], MAC_ALGORITHM));
+            byte[] pseudoRandomKey = extract.doFinal(inputKey);
+
+            Mac expand = Mac.getInstance(MAC_ALGORITHM);
+            expand.init(new SecretKeySpec(pseudoRandomKey, MAC_ALGORITHM));
+            expand.update(KEY_LABEL);
+            expand.update((byte) 1);
+            return expand.doFinal();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available.", ex);
+        }
+    }
+
+    /**
+     * Executes sha256 logic.
+     */
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance(ALGORITHM).digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 algorithm is not available.", ex);
+        }
+    }
+
+    /**
+     * Counts the zero bits at the start of a digest.
+     */
+
+    private static int leadingZeroBits(byte[] digest) {
+        int bits = 0;
+        for (byte value : digest) {
+            if (value == 0) {
+                bits += 8;
+                continue;
+            }
+            return bits + Integer.numberOfLeadingZeros(value & 0xff) - 24;
+        }
+        return bits;
+    }
+
+    private long nowEpochSeconds() {
+        return dateTimeProvider.now().toEpochSecond(ZoneOffset.UTC);
+    }
+}
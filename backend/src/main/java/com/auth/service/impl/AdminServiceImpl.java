@@ -1,57 +1,148 @@
 package com.auth.service.impl;
 
-import com.auth.config.CacheNames;
+import com.auth.dto.request.BulkUserActionRequest;
 import com.auth.dto.response.AdminDashboardDto;
+import com.auth.dto.response.BulkUserActionProgressDto;
+import com.auth.dto.response.CredentialStuffingReportDto;
+import com.auth.dto.response.CursorPageDto;
 import com.auth.dto.response.UserDto;
 import com.auth.entity.RoleName;
 import com.auth.entity.User;
 import com.auth.mapper.UserMapper;
 import com.auth.repository.UserRepository;
+import com.auth.security.RoleAuthorities;
 import com.auth.service.AdminService;
+import com.auth.service.RoleService;
+import com.auth.service.auth.CredentialStuffingDetector;
+import com.auth.service.support.UserFileFormat;
+import com.auth.service.support.UserListVersion;
+import com.auth.service.support.UserExportWriter;
+import com.auth.service.support.UserProfileCacheEvictor;
+import com.auth.service.support.UserStatsService;
 import com.auth.util.DateTimeUtil;
+import com.auth.util.KeysetCursorCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
- * Admin-specific business logic for dashboard metrics and filtered user listings.
+ * Admin-specific business logic for dashboard metrics, filtered user listings, and bulk actions.
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class AdminServiceImpl implements AdminService {
 
     /** Columns that callers are permitted to sort by. */
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("id", "name", "email", "enabled", "createdAt");
+    private static final String RELEVANCE_SORT = "relevance";
+    /** Shortest term matched as a substring; shorter terms only match as a prefix. */
+    private static final int MIN_SUBSTRING_SEARCH_LENGTH = 3;
+    private static final char LIKE_ESCAPE = '\\';
+    /** Rows fetched per cursor round trip during exports. */
+    private static final int EXPORT_FETCH_SIZE = 1_000;
+    /** Users updated per bulk-action transaction. */
+    private static final int BULK_CHUNK_SIZE = 1_000;
+
+    // Bulk statements only touch rows whose state actually changes and return their emails,
+    // which drive counter updates and cache eviction.
+    private static final String BULK_ENABLE_SQL = """
+            UPDATE users
+            SET enabled = TRUE, verification_otp = NULL, otp_expiry = NULL,
+                failed_otp_attempts = 0, otp_locked_until = NULL, updated_at = ?
+            WHERE id = ANY(?) AND enabled = FALSE
+            RETURNING email
+            """;
+    private static final String BULK_DISABLE_SQL = """
+            UPDATE users
+            SET enabled = FALSE, updated_at = ?
+            WHERE id = ANY(?) AND enabled = TRUE
+            RETURNING email
+            """;
+    private static final String BULK_REVOKE_SESSIONS_SQL = """
+            UPDATE users
+            SET refresh_token = NULL, refresh_token_expiry = NULL, updated_at = ?
+            WHERE id = ANY(?) AND refresh_token IS NOT NULL
+            RETURNING email
+            """;
+    private static final String BULK_INSERT_USER_ROLES_SQL = """
+            INSERT INTO user_roles (user_id, role_id)
+            SELECT id, ? FROM users WHERE id = ANY(?)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String BULK_ADD_ROLE_MASK_SQL = """
+            UPDATE users
+            SET role_mask = role_mask | ?, updated_at = ?
+            WHERE id = ANY(?) AND (role_mask & ?) = 0
+            RETURNING email
+            """;
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserStatsService userStatsService;
+    private final ObjectMapper objectMapper;
+    private final RoleService roleService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserProfileCacheEvictor userProfileCacheEvictor;
+    private final UserListVersion userListVersion;
+    private final CredentialStuffingDetector credentialStuffingDetector;
 
-    @Override
-    @Cacheable(cacheNames = CacheNames.ADMIN_DASHBOARD,
-            key = "#adminEmail == null ? 'unknown' : #adminEmail.toLowerCase()")
     /**
-     * Returns dashboard.
+     * Returns dashboard. Counts come from shared incrementally maintained counters, so the
+     * payload costs the same regardless of table size or which admin is viewing.
      */
+    @Override
     public AdminDashboardDto getDashboard(String adminEmail) {
+        UserStatsService.UserCounts counts = userStatsService.currentCounts();
         return new AdminDashboardDto(
                 "Welcome to Admin Dashboard!",
                 adminEmail,
-                userRepository.count(),
-                userRepository.countByEnabledTrue(),
+                counts.totalUsers(),
+                counts.enabledUsers(),
                 DateTimeUtil.nowInIst12HourFormat());
     }
 
+    @Override
+    public Long getUsersVersion() {
+        return userListVersion.current();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CredentialStuffingReportDto getCredentialStuffingReport(int limit) {
+        return new CredentialStuffingReportDto(
+                credentialStuffingDetector.topIpsByDistinctEmails(limit),
+                credentialStuffingDetector.topSubnetsByFailures(limit),
+                credentialStuffingDetector.getWindowSeconds());
+    }
+
     @Override
     public Page<UserDto> getUsers(
             int page,
@@ -63,16 +154,262 @@ public class AdminServiceImpl implements AdminService {
             String sortDir) {
 
         int normalizedPage = Math.max(page, 0);
-        int normalizedSize = Math.min(Math.max(size, 1), 100);
+        int normalizedSize = normalizeSize(size);
+
+        Specification<User> spec = buildSpecification(search, enabled, role);
+        if (RELEVANCE_SORT.equalsIgnoreCase(sortBy) && StringUtils.hasText(search)) {
+            // Ordering comes from the specification; an unsorted pageable keeps it intact.
+            Pageable pageable = PageRequest.of(normalizedPage, normalizedSize);
+            return userRepository.findAll(and(spec, relevanceOrdering(search)), pageable)
+                    .map(userMapper::toDto);
+        }
 
         Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
-        String safeField = ALLOWED_SORT_FIELDS.contains(sortBy) ? sortBy : "createdAt";
+        String safeField = resolveSortField(sortBy);
         Pageable pageable = PageRequest.of(normalizedPage, normalizedSize, Sort.by(direction, safeField));
 
-        return userRepository.findAll(buildSpecification(search, enabled, role), pageable)
+        return userRepository.findAll(spec, pageable)
                 .map(userMapper::toDto);
     }
 
+    /**
+     * Keyset pagination over (sortField, id): each window seeks past the last row of the
+     * previous one, so latency does not grow with depth and no count query is issued.
+     */
+    @Override
+    public CursorPageDto<UserDto> getUsersByCursor(
+            String cursor,
+            int size,
+            String search,
+            Boolean enabled,
+            String role,
+            String sortBy,
+            String sortDir,
+            boolean includeTotal) {
+
+        int normalizedSize = normalizeSize(size);
+        boolean ascending = "asc".equalsIgnoreCase(sortDir);
+        String safeField = resolveSortField(sortBy);
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = "id".equals(safeField)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, safeField).and(Sort.by(direction, "id"));
+
+        Specification<User> filter = buildSpecification(search, enabled, role);
+        Specification<User> seek = buildSeekSpecification(cursor, safeField, ascending);
+        Specification<User> spec = seek == null ? filter : and(filter, seek);
+        if (spec == null) {
+            spec = Specification.unrestricted();
+        }
+
+        // One extra row tells us whether another window exists without a count query.
+        List<User> rows = userRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(normalizedSize + 1)
+                .all());
+        boolean hasNext = rows.size() > normalizedSize;
+        List<User> windowRows = hasNext ? rows.subList(0, normalizedSize) : rows;
+
+        List<UserDto> content = windowRows.stream()
+                .map(userMapper::toDto)
+                .toList();
+        String nextCursor = hasNext
+                ? encodeCursor(windowRows.get(windowRows.size() - 1), safeField, ascending)
+                : null;
+
+        Long totalElements = null;
+        boolean totalEstimated = false;
+        if (includeTotal) {
+            if (filter == null) {
+                long estimate = userRepository.estimateTotalUsers();
+                totalEstimated = estimate > 0;
+                totalElements = totalEstimated ? estimate : userRepository.count();
+            } else {
+                totalElements = userRepository.count(filter);
+            }
+        }
+
+        return new CursorPageDto<>(content, content.size(), hasNext, nextCursor, totalElements, totalEstimated);
+    }
+
+    /**
+     * Streams matching users through a forward-only cursor, mapping and writing one row at a
+     * time. Each entity is detached as it is read, so heap use does not grow with row count.
+     */
+    @Override
+    public long exportUsers(
+            UserFileFormat format,
+            String search,
+            Boolean enabled,
+            String role,
+            OutputStream outputStream) throws IOException {
+
+        Specification<User> spec = buildSpecification(search, enabled, role);
+        try (Stream<User> users = userRepository.streamAll(spec, EXPORT_FETCH_SIZE);
+             UserExportWriter writer = UserExportWriter.open(format, outputStream, objectMapper)) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                writer.write(userMapper.toDto(iterator.next()));
+            }
+            return writer.getRowCount();
+        }
+    }
+
+    /**
+     * Walks the targeted users in id windows of {@value #BULK_CHUNK_SIZE}. Each window costs
+     * one index-backed id query plus one or two set-based statements in a short transaction,
+     * so a sweep over the whole table never loads entities or holds long row locks.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkUserActionProgressDto applyBulkAction(
+            BulkUserActionRequest request,
+            Consumer<BulkUserActionProgressDto> progressListener) {
+
+        BulkUserActionRequest.Action action = request.getAction();
+        Specification<User> selection = buildBulkSelection(request);
+        RoleName assignRole = action == BulkUserActionRequest.Action.ASSIGN_ROLE
+                ? parseRoleName(request.getAssignRole())
+                : null;
+        Long assignRoleId = assignRole != null ? roleService.findOrCreateRole(assignRole).getId() : null;
+
+        long matched = 0;
+        long affected = 0;
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = userRepository.findIdsAfter(selection, lastId, BULK_CHUNK_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+            Long[] window = ids.toArray(Long[]::new);
+            List<String> changed = transactionTemplate.execute(status ->
+                    applyBulkWindow(action, assignRole, assignRoleId, window));
+            matched += ids.size();
+            affected += changed.size();
+            progressListener.accept(new BulkUserActionProgressDto(action, matched, affected, false));
+        } while (ids.size() == BULK_CHUNK_SIZE);
+
+        log.info("Bulk user action {} finished: matched={}, affected={}", action, matched, affected);
+        BulkUserActionProgressDto result = new BulkUserActionProgressDto(action, matched, affected, true);
+        progressListener.accept(result);
+        return result;
+    }
+
+    // ── Paging helpers ────────────────────────────────────────────────────────
+
+    /** Clamps page size to the supported 1-100 range. */
+    private int normalizeSize(int size) {
+        return Math.min(Math.max(size, 1), 100);
+    }
+
+    /** Falls back to {@code createdAt} for unsupported sort fields. */
+    private String resolveSortField(String sortBy) {
+        return ALLOWED_SORT_FIELDS.contains(sortBy) ? sortBy : "createdAt";
+    }
+
+    /**
+     * Builds the seek predicate for a continuation cursor, rejecting cursors issued for a
+     * different ordering. Emitted as {@code f <= v AND (f < v OR id < lastId)} (mirrored for
+     * ascending) rather than the plain OR expansion, so PostgreSQL can use the leading bound
+     * as an index condition instead of filtering every preceding row.
+     */
+    private Specification<User> buildSeekSpecification(String cursor, String safeField, boolean ascending) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        KeysetCursorCodec.Position position = KeysetCursorCodec.decode(cursor);
+        if (!position.sortField().equals(safeField) || position.ascending() != ascending) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order.");
+        }
+        Long lastId = (Long) position.keys().get("id");
+        if ("id".equals(safeField)) {
+            return (root, query, cb) -> ascending
+                    ? cb.greaterThan(root.get("id"), lastId)
+                    : cb.lessThan(root.get("id"), lastId);
+        }
+        return seekPast(safeField, (Comparable<?>) position.keys().get(safeField), lastId, ascending);
+    }
+    /**
+     * Builds seek predicate for a comparable sort value.
+     */
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<User> seekPast(String field, Comparable value, Long lastId, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<Comparable> path = root.get(field);
+            return ascending
+                    ? cb.and(cb.greaterThanOrEqualTo(path, value),
+                            cb.or(cb.greaterThan(path, value), cb.greaterThan(root.get("id"), lastId)))
+                    : cb.and(cb.lessThanOrEqualTo(path, value),
+                            cb.or(cb.lessThan(path, value), cb.lessThan(root.get("id"), lastId)));
+        };
+    }
+
+    /** Encodes the continuation cursor from the last row of a window. */
+    private String encodeCursor(User last, String safeField, boolean ascending) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        switch (safeField) {
+            case "createdAt" -> keys.put(safeField, last.getCreatedAt());
+            case "name" -> keys.put(safeField, last.getName());
+            case "email" -> keys.put(safeField, last.getEmail());
+            case "enabled" -> keys.put(safeField, last.isEnabled());
+            default -> {
+            }
+        }
+        keys.put("id", last.getId());
+        return KeysetCursorCodec.encode(safeField, ascending, keys);
+    }
+
+    // ── Bulk action helpers ───────────────────────────────────────────────────
+
+    /** Applies the action to one id window and returns the emails of users that changed. */
+    private List<String> applyBulkWindow(
+            BulkUserActionRequest.Action action,
+            RoleName assignRole,
+            Long assignRoleId,
+            Long[] ids) {
+
+        Timestamp now = Timestamp.valueOf(DateTimeUtil.nowInIst());
+        List<String> changed = switch (action) {
+            case ENABLE -> jdbcTemplate.queryForList(BULK_ENABLE_SQL, String.class, now, ids);
+            case DISABLE -> jdbcTemplate.queryForList(BULK_DISABLE_SQL, String.class, now, ids);
+            case REVOKE_SESSIONS -> jdbcTemplate.queryForList(BULK_REVOKE_SESSIONS_SQL, String.class, now, ids);
+            case ASSIGN_ROLE -> {
+                int bit = assignRole.bit();
+                jdbcTemplate.update(BULK_INSERT_USER_ROLES_SQL, assignRoleId, ids);
+                yield jdbcTemplate.queryForList(BULK_ADD_ROLE_MASK_SQL, String.class, bit, now, ids, bit);
+            }
+        };
+
+        switch (action) {
+            case ENABLE -> userStatsService.recordEnabledChange(changed.size());
+            case DISABLE -> userStatsService.recordEnabledChange(-changed.size());
+            default -> {
+            }
+        }
+        // Refresh tokens are not part of the cached profile, so revocation needs no eviction.
+        if (action != BulkUserActionRequest.Action.REVOKE_SESSIONS) {
+            userProfileCacheEvictor.evictAfterCommit(changed);
+        }
+        return changed;
+    }
+
+    /** Combines the explicit id list (if any) with the list filters. */
+    private Specification<User> buildBulkSelection(BulkUserActionRequest request) {
+        Specification<User> spec = buildSpecification(request.getSearch(), request.getEnabled(), request.getRole());
+        List<Long> userIds = request.getUserIds();
+        if (userIds != null && !userIds.isEmpty()) {
+            List<Long> targetIds = List.copyOf(userIds);
+            spec = and(spec, (root, query, cb) -> root.get("id").in(targetIds));
+        }
+        if (spec == null) {
+            throw new IllegalArgumentException("Provide userIds or at least one filter (search, enabled, role)");
+        }
+        return spec;
+    }
+
     // ── Specification builders ────────────────────────────────────────────────
 
     /** Composes optional filter predicates for search text, account status, and role. */
@@ -87,23 +424,49 @@ public class AdminServiceImpl implements AdminService {
         }
         if (StringUtils.hasText(role)) {
             RoleName roleName = parseRoleName(role);
-            spec = and(spec, (root, query, cb) -> {
-                query.distinct(true);
-                return cb.equal(root.join("roles").get("name"), roleName);
-            });
+            spec = and(spec, (root, query, cb) ->
+                    root.get("roleMask").in(RoleAuthorities.masksContaining(roleName)));
         }
 
         return spec;
     }
     /**
-     * Executes search specification logic.
+     * Matches name or email. Terms of three or more characters match anywhere (served by the
+     * pg_trgm GIN indexes from V5); shorter terms match as a prefix, since trigram lookups
+     * cannot narrow a one- or two-character substring.
      */
-
     private Specification<User> searchSpecification(String search) {
-        String pattern = "%" + search.trim().toLowerCase(Locale.ROOT) + "%";
+        String term = search.trim().toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(term);
+        String pattern = term.length() < MIN_SUBSTRING_SEARCH_LENGTH ? escaped + "%" : "%" + escaped + "%";
+        // Emails are stored canonical (lower-case), so the column is compared as-is.
         return (root, query, cb) -> cb.or(
-                cb.like(cb.lower(root.get("name")), pattern),
-                cb.like(cb.lower(root.get("email")), pattern));
+                cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE),
+                cb.like(root.get("email"), pattern, LIKE_ESCAPE));
+    }
+
+    /**
+     * Orders search hits by match quality: exact name/email first, then prefix matches, then
+     * other substring matches, with name and id as stable tie-breakers. Adds no predicate.
+     */
+    private Specification<User> relevanceOrdering(String search) {
+        String term = search.trim().toLowerCase(Locale.ROOT);
+        String prefix = escapeLike(term) + "%";
+        return (root, query, cb) -> {
+            Expression<String> name = cb.lower(root.get("name"));
+            Expression<String> email = root.get("email");
+            Expression<Integer> rank = cb.<Integer>selectCase()
+                    .when(cb.or(cb.equal(email, term), cb.equal(name, term)), 0)
+                    .when(cb.or(cb.like(email, prefix, LIKE_ESCAPE), cb.like(name, prefix, LIKE_ESCAPE)), 1)
+                    .otherwise(2);
+            query.orderBy(cb.asc(rank), cb.asc(name), cb.asc(root.get("id")));
+            return null;
+        };
+    }
+
+    /** Escapes LIKE wildcards so user input is matched literally. */
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
     /**
      * Executes and logic.
@@ -24,6 +24,7 @@ import com.auth.service.support.EmailService;
 import com.auth.service.support.OtpService;
 import com.auth.service.support.PasswordPolicyService;
 import com.auth.service.support.TokenHashService;
+import com.auth.service.support.UserStatsService;
 import com.auth.util.EmailNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +42,11 @@ import java.util.Set;
 /**
  * Core authentication service — handles registration, OTP verification, login,
  * password reset, and password change flows.
+ *
+ * <p>Flows that hash a password (registration, password reset and change) are not
+ * transactional as a whole: hashing may wait in the fair admission queue, and that wait must
+ * not hold a pooled connection. Their writes run in {@link UserService}'s own short
+ * transactions, after the hash is ready.
  */
 @Service
 @Slf4j
@@ -59,6 +65,7 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordPolicyService passwordPolicyService;
     private final AuthAbuseProtectionService authAbuseProtectionService;
     private final DateTimeProvider dateTimeProvider;
+    private final UserStatsService userStatsService;
 
     @Value("${otp.expiration.minutes:5}")
     private int otpExpirationMinutes;
@@ -75,9 +82,9 @@ public class AuthServiceImpl implements AuthService {
      * @throws UserAlreadyExistsException if the email is already registered
      */
     @Override
-    @Transactional
     public MessageResponse register(RegisterRequest request) {
         String email = normalizeEmail(request.getEmail());
+        authAbuseProtectionService.guardRegistration(email, request.getChallenge(), request.getChallengeSolution());
         if (userService.existsByEmail(email)) {
             throw new UserAlreadyExistsException("Email already registered!");
         }
@@ -117,13 +124,12 @@ public class AuthServiceImpl implements AuthService {
         verifyOtpMatch(user, request.getOtp());
         requireTokenNotExpired(user.getOtpExpiry(), "OTP has expired! Please request a new one.");
 
-        user.setEnabled(true);
-        user.setVerificationOtp(null);
-        user.setOtpExpiry(null);
-        authAbuseProtectionService.clearOtpFailures(user);
-        userService.save(user);
+        // Guarded on enabled = false, so a concurrent verification is counted and welcomed only once.
+        if (userService.markEmailVerified(user)) {
+            userStatsService.recordUserEnabled();
+            sendWelcomeEmailSafely(user);
+        }
 
-        sendWelcomeEmailSafely(user);
         return new MessageResponse("Email verified successfully! You can now login.", true);
     }
 
@@ -138,7 +144,7 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public AuthTokens login(LoginRequest request) {
         String email = normalizeEmail(request.getEmail());
-        authAbuseProtectionService.guardLoginAttempt(email);
+        authAbuseProtectionService.guardLoginAttempt(email, request.getChallenge(), request.getChallengeSolution());
 
         User user = userService.findByEmail(email).orElseGet(() -> {
             authAbuseProtectionService.recordFailedLogin(email);
@@ -165,8 +171,9 @@ public class AuthServiceImpl implements AuthService {
                 "If an account exists with this email, a reset link will be sent.", true);
 
         userService.findByEmail(email).ifPresent(user -> {
-            String resetToken = storeResetToken(user);
-            userService.save(user);
+            String resetToken = otpService.generateResetToken();
+            userService.updateResetToken(user.getId(), tokenHashService.hash(resetToken),
+                    dateTimeProvider.now().plusMinutes(resetTokenExpirationMinutes));
             sendResetEmailSafely(user, resetToken);
         });
 
@@ -179,7 +186,6 @@ public class AuthServiceImpl implements AuthService {
      * @throws TokenValidationException if the token is invalid or expired
      */
     @Override
-    @Transactional
     public MessageResponse updatePassword(UpdatePasswordRequest request) {
         String tokenHash = tokenHashService.hash(request.getToken());
         User user = userService.findByResetToken(tokenHash)
@@ -188,9 +194,11 @@ public class AuthServiceImpl implements AuthService {
         requireTokenNotExpired(user.getResetTokenExpiry(), "Reset token has expired! Please request a new one.");
 
         passwordPolicyService.validate(request.getNewPassword(), user.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        clearResetToken(user);
-        userService.save(user);
+        // Consumes the token only if it is still the stored one, so it works exactly once.
+        String passwordHash = passwordEncoder.encode(request.getNewPassword());
+        if (!userService.consumeResetToken(user.getId(), tokenHash, passwordHash)) {
+            throw new TokenValidationException("Invalid or expired reset token!");
+        }
 
         sendPasswordChangedEmailSafely(user, "reset-token update");
         return new MessageResponse("Password updated successfully! You can now login.", true);
@@ -211,8 +219,8 @@ public class AuthServiceImpl implements AuthService {
         User user = requireUserByEmail(normalized);
         requireEmailNotVerified(user);
 
-        String otp = storeVerificationOtp(user);
-        userService.save(user);
+        String otp = otpService.generateOtp();
+        userService.updateVerificationOtp(user.getId(), tokenHashService.hash(otp), otpExpiry());
         sendOtpEmailSafely(user, otp, "resend");
 
         return new MessageResponse("OTP sent successfully! Please check your email.", true);
@@ -225,7 +233,6 @@ public class AuthServiceImpl implements AuthService {
      * @throws BadCredentialsException   if the current password is incorrect
      */
     @Override
-    @Transactional
     public MessageResponse changePassword(String email, ChangePasswordRequest request) {
         User user = requireUserByEmail(email);
 
@@ -234,8 +241,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         passwordPolicyService.validate(request.getNewPassword(), user.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userService.save(user);
+        userService.updatePassword(user.getId(), passwordEncoder.encode(request.getNewPassword()));
 
         sendPasswordChangedEmailSafely(user, "authenticated password change");
         return new MessageResponse("Password changed successfully!", true);
@@ -286,26 +292,15 @@ public class AuthServiceImpl implements AuthService {
     private String storeVerificationOtp(User user) {
         String otp = otpService.generateOtp();
         user.setVerificationOtp(tokenHashService.hash(otp));
-        user.setOtpExpiry(dateTimeProvider.now().plusMinutes(otpExpirationMinutes));
+        user.setOtpExpiry(otpExpiry());
         return otp;
     }
     /**
-     * Executes store reset token logic.
-     */
-
-    private String storeResetToken(User user) {
-        String resetToken = otpService.generateResetToken();
-        user.setResetToken(tokenHashService.hash(resetToken));
-        user.setResetTokenExpiry(dateTimeProvider.now().plusMinutes(resetTokenExpirationMinutes));
-        return resetToken;
-    }
-    /**
-     * Clears reset token.
+     * Returns the expiry for a verification OTP issued now.
      */
 
-    private void clearResetToken(User user) {
-        user.setResetToken(null);
-        user.setResetTokenExpiry(null);
+    private LocalDateTime otpExpiry() {
+        return dateTimeProvider.now().plusMinutes(otpExpirationMinutes);
     }
     /**
      * Executes authenticate credentials logic.
@@ -4,36 +4,79 @@ import com.auth.entity.Role;
 import com.auth.entity.RoleName;
 import com.auth.repository.RoleRepository;
 import com.auth.service.RoleService;
+import com.auth.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Implementation of RoleService.
+ *
+ * <p>Roles are a tiny, effectively static table, so lookups are served from an immutable
+ * {@link EnumMap} snapshot. The snapshot is loaded at startup and replaced only after a
+ * transaction that created a role through this service commits, or when {@link #reloadRoles()}
+ * is called.
  */
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
 
+    private volatile Map<RoleName, Role> roleCache = Collections.emptyMap();
+
     /** Returns an existing role or persists a new one when missing. */
     @Override
     @Transactional
     public Role findOrCreateRole(RoleName roleName) {
+        Role cachedRole = roleCache.get(roleName);
+        if (cachedRole != null) {
+            return cachedRole;
+        }
         Optional<Role> existingRoleOpt = roleRepository.findByName(roleName);
         Role role = existingRoleOpt.orElseGet(() -> createRole(roleName));
+        TransactionCallbacks.afterCommit(this::reloadRoles);
         return role;
     }
 
     /** Returns a role lookup result for the provided enum role name. */
     @Override
     public Optional<Role> findByName(RoleName roleName) {
+        Role cachedRole = roleCache.get(roleName);
+        if (cachedRole != null) {
+            return Optional.of(cachedRole);
+        }
         Optional<Role> roleOpt = roleRepository.findByName(roleName);
         return roleOpt;
     }
+
+    /** Replaces the in-memory role snapshot with the current database contents. */
+    @Override
+    public void reloadRoles() {
+        Map<RoleName, Role> snapshot = new EnumMap<>(RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            if (role.getName() != null) {
+                snapshot.put(role.getName(), role);
+            }
+        }
+        roleCache = Collections.unmodifiableMap(snapshot);
+        log.debug("Role cache loaded with {} role(s)", snapshot.size());
+    }
+
+    /** Loads the role snapshot once startup seeding has completed. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRolesOnStartup() {
+        reloadRoles();
+    }
     /**
      * Creates role.
      */
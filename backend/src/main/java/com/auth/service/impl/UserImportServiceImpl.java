@@ -0,0 +1,330 @@
+package com.auth.service.impl;
+
+import com.auth.dto.request.RegisterRequest;
+import com.auth.dto.response.UserImportErrorDto;
+import com.auth.dto.response.UserImportResultDto;
+import com.auth.entity.RoleName;
+import com.auth.repository.UserRepository;
+import com.auth.service.RoleService;
+import com.auth.service.UserImportService;
+import com.auth.service.support.EmailService;
+import com.auth.service.support.PasswordPolicyService;
+import com.auth.service.support.UserFileFormat;
+import com.auth.service.support.UserImportReader;
+import com.auth.service.support.UserStatsService;
+import com.auth.util.DateTimeUtil;
+import com.auth.util.EmailNormalizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk user import that keeps per-row cost low for large uploads.
+ *
+ * <p>The upload is streamed and processed in fixed-size chunks: rows are validated, emails
+ * already registered are filtered with one {@code IN} query (so they never pay for BCrypt),
+ * remaining passwords are hashed in parallel, and each chunk is written with two JDBC batches
+ * inside its own transaction. {@code ON CONFLICT DO NOTHING} turns races with concurrent
+ * registrations into reported duplicates instead of failing the chunk. Welcome emails are
+ * queued after commit and never block the import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    // Update counts distinguish inserted (1) from duplicate (0) rows, so the pgjdbc
+    // reWriteBatchedInserts option (which reports SUCCESS_NO_INFO) must stay disabled.
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO users (created_at, updated_at, name, email, password, enabled,
+                               failed_login_attempts, failed_otp_attempts, auth_provider, role_mask)
+            VALUES (?, ?, ?, ?, ?, TRUE, 0, 0, 'local', ?)
+            ON CONFLICT DO NOTHING
+            """;
+    private static final String INSERT_USER_ROLE_SQL = """
+            INSERT INTO user_roles (user_id, role_id)
+            SELECT id, ? FROM users WHERE email = ?
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final RoleService roleService;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordPolicyService passwordPolicyService;
+    private final EmailService emailService;
+    private final UserStatsService userStatsService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+
+    /** BCrypt worker threads; 0 uses half the available processors so logins keep headroom. */
+    @Value("${app.import.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${app.import.welcome-email-queue-capacity:10000}")
+    private int welcomeEmailQueueCapacity;
+
+    private ExecutorService hashExecutor;
+    private ThreadPoolExecutor welcomeEmailExecutor;
+
+    /**
+     * Starts the private hashing and email pools. They are not exposed as beans so Boot's
+     * default application task executor stays in place.
+     */
+    @PostConstruct
+    void startExecutors() {
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        hashExecutor = Executors.newFixedThreadPool(threads, namedThreads("user-import-hash-"));
+        welcomeEmailExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, welcomeEmailQueueCapacity)), namedThreads("user-import-email-"));
+    }
+
+    /** Stops the pools; queued welcome emails are dropped on shutdown. */
+    @PreDestroy
+    void stopExecutors() {
+        hashExecutor.shutdownNow();
+        welcomeEmailExecutor.shutdownNow();
+    }
+
+    @Override
+    public UserImportResultDto importUsers(UserFileFormat format, InputStream inputStream, boolean sendWelcomeEmail)
+            throws IOException {
+        ImportTally tally = new ImportTally();
+        Long userRoleId = roleService.findOrCreateRole(RoleName.ROLE_USER).getId();
+        int chunkSize = Math.max(1, batchSize);
+
+        try (UserImportReader reader = UserImportReader.open(format, inputStream, objectMapper)) {
+            List<Candidate> chunk = new ArrayList<>(chunkSize);
+            while (reader.hasNext()) {
+                UserImportReader.Row row = reader.next();
+                tally.received++;
+                Candidate candidate = toCandidate(row, tally);
+                if (candidate == null) {
+                    continue;
+                }
+                chunk.add(candidate);
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, userRoleId, sendWelcomeEmail, tally);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, userRoleId, sendWelcomeEmail, tally);
+            }
+        }
+
+        log.info("User import finished: received={}, imported={}, duplicates={}, rejected={}",
+                tally.received, tally.imported, tally.duplicates, tally.rejected);
+        return tally.toDto();
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /** Validates a parsed row, recording a rejection and returning null when it is unusable. */
+    private Candidate toCandidate(UserImportReader.Row row, ImportTally tally) {
+        if (row.error() != null) {
+            tally.reject(row.lineNumber(), null, row.error());
+            return null;
+        }
+        RegisterRequest request = row.request();
+        String email = EmailNormalizer.normalizeOrNull(request.getEmail());
+        request.setEmail(email);
+        request.setName(request.getName() == null ? null : request.getName().trim());
+
+        String violation = firstViolation(request);
+        if (violation == null && email.length() > MAX_COLUMN_LENGTH) {
+            violation = "Email must be at most " + MAX_COLUMN_LENGTH + " characters";
+        }
+        if (violation == null && request.getName().length() > MAX_COLUMN_LENGTH) {
+            violation = "Name must be at most " + MAX_COLUMN_LENGTH + " characters";
+        }
+        if (violation == null) {
+            try {
+                passwordPolicyService.validate(request.getPassword(), email);
+            } catch (IllegalArgumentException ex) {
+                violation = ex.getMessage();
+            }
+        }
+        if (violation != null) {
+            tally.reject(row.lineNumber(), email, violation);
+            return null;
+        }
+        return new Candidate(row.lineNumber(), request.getName(), email, request.getPassword());
+    }
+
+    /** Returns the first bean-validation message for a request, or null when it is valid. */
+    private String firstViolation(RegisterRequest request) {
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    /** Deduplicates, hashes, and persists one chunk of valid rows. */
+    private void importChunk(List<Candidate> chunk, Long userRoleId, boolean sendWelcomeEmail, ImportTally tally) {
+        // Repeats across chunks need no tracking: earlier chunks are committed, so the
+        // existing-email check below reports them.
+        Map<String, Candidate> byEmail = new LinkedHashMap<>();
+        for (Candidate candidate : chunk) {
+            if (byEmail.putIfAbsent(candidate.email(), candidate) != null) {
+                tally.duplicate(candidate, "Duplicate email in upload");
+            }
+        }
+        for (String existing : userRepository.findExistingEmails(List.copyOf(byEmail.keySet()))) {
+            tally.duplicate(byEmail.remove(existing), "Email already registered");
+        }
+        if (byEmail.isEmpty()) {
+            return;
+        }
+
+        List<Candidate> pending = new ArrayList<>(byEmail.values());
+        List<String> hashes = hashPasswords(pending);
+        List<Candidate> inserted = transactionTemplate.execute(status -> insertChunk(pending, hashes, userRoleId, tally));
+
+        tally.imported += inserted.size();
+        if (sendWelcomeEmail) {
+            inserted.forEach(this::queueWelcomeEmail);
+        }
+    }
+
+    /** Hashes passwords on the import pool, preserving input order. */
+    private List<String> hashPasswords(List<Candidate> candidates) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            futures.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(candidate.password()), hashExecutor));
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        for (CompletableFuture<String> future : futures) {
+            hashes.add(future.join());
+        }
+        return hashes;
+    }
+
+    /** Writes users and their ROLE_USER links as two batches; returns the rows actually inserted. */
+    private List<Candidate> insertChunk(List<Candidate> pending, List<String> hashes, Long userRoleId,
+            ImportTally tally) {
+        // Same clock as BaseEntity's lifecycle callbacks.
+        Timestamp now = Timestamp.valueOf(DateTimeUtil.nowInIst());
+        int roleMask = RoleName.ROLE_USER.bit();
+        List<Object[]> userRows = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            Candidate candidate = pending.get(i);
+            userRows.add(new Object[] { now, now, candidate.name(), candidate.email(), hashes.get(i), roleMask });
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_USER_SQL, userRows);
+
+        List<Candidate> inserted = new ArrayList<>(pending.size());
+        List<Object[]> roleRows = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            Candidate candidate = pending.get(i);
+            if (counts[i] == 0) {
+                // Registered concurrently between the pre-check and the insert.
+                tally.duplicate(candidate, "Email already registered");
+                continue;
+            }
+            inserted.add(candidate);
+            roleRows.add(new Object[] { userRoleId, candidate.email() });
+        }
+        if (!roleRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, roleRows);
+        }
+        userStatsService.recordUsersCreated(inserted.size(), true);
+        return inserted;
+    }
+
+    /** Queues a best-effort welcome email; drops it when the queue is full. */
+    private void queueWelcomeEmail(Candidate candidate) {
+        try {
+            welcomeEmailExecutor.execute(() -> {
+                try {
+                    emailService.sendWelcomeEmail(candidate.email(), candidate.name());
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to send welcome email for {}", candidate.email(), ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Welcome email queue full, skipping {}", candidate.email());
+        }
+    }
+
+    /** Creates daemon threads with a readable name prefix. */
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** Validated row awaiting insert. */
+    private record Candidate(long lineNumber, String name, String email, String password) {
+    }
+
+    /** Mutable per-upload counters and the capped error list. */
+    private static final class ImportTally {
+        private final List<UserImportErrorDto> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long duplicates;
+        private long rejected;
+        private boolean errorsTruncated;
+
+        private void reject(long line, String email, String message) {
+            rejected++;
+            addError(line, email, message);
+        }
+
+        private void duplicate(Candidate candidate, String message) {
+            duplicates++;
+            addError(candidate.lineNumber(), candidate.email(), message);
+        }
+
+        private void addError(long line, String email, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new UserImportErrorDto(line, email, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private UserImportResultDto toDto() {
+            // Parse errors are recorded before their chunk's duplicates; report in file order.
+            errors.sort(Comparator.comparingLong(UserImportErrorDto::getLine));
+            return new UserImportResultDto(received, imported, duplicates, rejected, List.copyOf(errors), errorsTruncated);
+        }
+    }
+}
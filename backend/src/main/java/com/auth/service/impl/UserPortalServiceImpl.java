@@ -1,50 +1,98 @@
 package com.auth.service.impl;
 
-import com.auth.config.CacheNames;
+import com.auth.dto.response.AdminDashboardDto;
+import com.auth.dto.response.UserBootstrapDto;
 import com.auth.dto.response.UserDashboardDto;
 import com.auth.dto.response.UserDto;
-import com.auth.entity.User;
 import com.auth.mapper.UserMapper;
+import com.auth.service.AdminService;
 import com.auth.service.UserPortalService;
-import com.auth.service.UserService;
+import com.auth.service.support.UserProfileCache;
 import com.auth.util.DateTimeUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
- * Composes user-facing dashboard and profile payloads.
+ * Composes user-facing dashboard and profile payloads from the cached profile.
  */
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class UserPortalServiceImpl implements UserPortalService {
 
-    private final UserService userService;
+    private final UserProfileCache userProfileCache;
     private final UserMapper userMapper;
+    private final AdminService adminService;
+    /** Spring Boot's shared task executor; resolved by name among the context's executors. */
+    private final Executor applicationTaskExecutor;
     /**
-     * Returns dashboard.
+     * Returns dashboard. Only the greeting and timestamp are computed per request.
      */
 
     @Override
     public UserDashboardDto getDashboard(String email) {
-        User user = userService.getUserByEmail(email);
-        UserDashboardDto dashboard = userMapper.toUserDashboardDto(user);
-        String displayName = user.getName() != null && !user.getName().isBlank() ? user.getName() : "User";
-        dashboard.setMessage("Welcome back, " + displayName + "!");
-        dashboard.setTimestamp(DateTimeUtil.nowInIst12HourFormat());
-        return dashboard;
+        return toDashboard(userProfileCache.get(email));
     }
 
     @Override
-    @Cacheable(cacheNames = CacheNames.USER_PROFILE,
-            key = "#email == null ? 'unknown' : #email.toLowerCase()")
     /**
      * Returns profile.
      */
     public UserDto getProfile(String email) {
-        User user = userService.getUserByEmail(email);
-        return userMapper.toDto(user);
+        return userProfileCache.get(email);
+    }
+
+    /**
+     * Returns profile version from the cached profile, which is evicted on every user update.
+     */
+    @Override
+    public long getProfileVersion(String email) {
+        return userProfileCache.get(email).getVersion();
+    }
+
+    /**
+     * Returns bootstrap payload. The admin counters (Redis) are fetched on the task executor
+     * while the profile (cache or database) is resolved on the calling thread; profile and
+     * dashboard share one profile lookup.
+     */
+    @Override
+    public UserBootstrapDto getBootstrap(String email, boolean includeAdminDashboard) {
+        CompletableFuture<AdminDashboardDto> adminDashboard = includeAdminDashboard
+                ? CompletableFuture.supplyAsync(() -> adminService.getDashboard(email), applicationTaskExecutor)
+                : CompletableFuture.completedFuture(null);
+        UserDto profile = userProfileCache.get(email);
+        return new UserBootstrapDto(profile, toDashboard(profile), join(adminDashboard));
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Builds the dashboard from a profile, adding the per-request greeting and timestamp.
+     */
+
+    private UserDashboardDto toDashboard(UserDto profile) {
+        UserDashboardDto dashboard = userMapper.toUserDashboardDto(profile);
+        String displayName = profile.getName() != null && !profile.getName().isBlank() ? profile.getName() : "User";
+        dashboard.setMessage("Welcome back, " + displayName + "!");
+        dashboard.setTimestamp(DateTimeUtil.nowInIst12HourFormat());
+        return dashboard;
+    }
+
+    /**
+     * Waits for a fan-out result, rethrowing its original unchecked failure.
+     */
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
     }
 }
@@ -2,14 +2,21 @@ package com.auth.service.impl;
 
 import com.auth.entity.User;
 import com.auth.exception.ResourceNotFoundException;
+import com.auth.repository.FailedLoginResult;
 import com.auth.repository.UserRepository;
 import com.auth.service.UserService;
+import com.auth.service.support.UserProfileCacheEvictor;
+import com.auth.service.support.UserStatsService;
+import com.auth.util.DateTimeUtil;
 import com.auth.util.EmailNormalizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,12 +27,14 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final UserProfileCacheEvictor userProfileCacheEvictor;
 
     /** Retrieves a user by email or throws a domain-level not-found exception. */
     @Override
     public User getUserByEmail(String email) {
         String normalizedEmail = normalizeEmail(email);
-        Optional<User> userOpt = userRepository.findByEmailIgnoreCase(normalizedEmail);
+        Optional<User> userOpt = userRepository.findByEmail(normalizedEmail);
         User user = userOpt
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
         return user;
@@ -44,7 +53,7 @@ public class UserServiceImpl implements UserService {
         if (!StringUtils.hasText(normalizedEmail)) {
             return Optional.empty();
         }
-        Optional<User> userOpt = userRepository.findByEmailIgnoreCase(normalizedEmail);
+        Optional<User> userOpt = userRepository.findByEmail(normalizedEmail);
         return userOpt;
     }
 
@@ -60,7 +69,7 @@ public class UserServiceImpl implements UserService {
         if (!StringUtils.hasText(normalizedEmail)) {
             return false;
         }
-        boolean userExists = userRepository.existsByEmailIgnoreCase(normalizedEmail);
+        boolean userExists = userRepository.existsByEmail(normalizedEmail);
         return userExists;
     }
 
@@ -77,7 +86,13 @@ public class UserServiceImpl implements UserService {
         if (user != null && StringUtils.hasText(user.getEmail())) {
             user.setEmail(normalizeEmail(user.getEmail()));
         }
+        boolean isNew = user != null && user.getId() == null;
         User savedUser = userRepository.save(user);
+        if (isNew) {
+            userStatsService.recordUserCreated(savedUser.isEnabled());
+        } else {
+            userProfileCacheEvictor.evictAfterCommit(List.of(savedUser.getEmail()));
+        }
         return savedUser;
     }
 
@@ -106,6 +121,88 @@ public class UserServiceImpl implements UserService {
         Optional<User> userOpt = userRepository.findByAuthProviderAndAuthProviderUserId(authProvider, authProviderUserId);
         return userOpt;
     }
+    // ── Targeted single-statement updates ────────────────────────────────────
+    // Each method issues one UPDATE without loading the entity. Timestamps use the same
+    // clock as BaseEntity's lifecycle callbacks, which these statements bypass.
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<FailedLoginResult> recordFailedLogin(String email, int maxAttempts, LocalDateTime lockedUntil) {
+        String normalizedEmail = normalizeEmail(email);
+        if (!StringUtils.hasText(normalizedEmail)) {
+            return Optional.empty();
+        }
+        return userRepository.recordFailedLogin(normalizedEmail, maxAttempts, lockedUntil, now());
+    }
+
+    @Override
+    @Transactional
+    public void resetLoginFailures(Long userId) {
+        userRepository.resetLoginFailures(userId, now());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordFailedOtp(Long userId, int maxAttempts, LocalDateTime lockedUntil) {
+        userRepository.recordFailedOtp(userId, maxAttempts, lockedUntil, now());
+    }
+
+    @Override
+    @Transactional
+    public boolean markEmailVerified(User user) {
+        boolean verified = userRepository.markEmailVerified(user.getId(), now()) > 0;
+        if (verified) {
+            userProfileCacheEvictor.evictAfterCommit(List.of(user.getEmail()));
+        }
+        return verified;
+    }
+
+    @Override
+    @Transactional
+    public void updateVerificationOtp(Long userId, String otpHash, LocalDateTime expiry) {
+        userRepository.updateVerificationOtp(userId, otpHash, expiry, now());
+    }
+
+    @Override
+    @Transactional
+    public void updateResetToken(Long userId, String tokenHash, LocalDateTime expiry) {
+        userRepository.updateResetToken(userId, tokenHash, expiry, now());
+    }
+
+    @Override
+    @Transactional
+    public boolean consumeResetToken(Long userId, String tokenHash, String passwordHash) {
+        return userRepository.consumeResetToken(userId, tokenHash, passwordHash, now()) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void updatePassword(Long userId, String passwordHash) {
+        userRepository.updatePassword(userId, passwordHash, now());
+    }
+
+    @Override
+    @Transactional
+    public void updateRefreshToken(Long userId, String tokenHash, LocalDateTime expiry) {
+        userRepository.updateRefreshToken(userId, tokenHash, expiry, now());
+    }
+
+    @Override
+    @Transactional
+    public boolean rotateRefreshToken(String currentHash, String newHash, LocalDateTime expiry) {
+        return userRepository.rotateRefreshToken(currentHash, newHash, expiry, now()) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void clearRefreshToken(String tokenHash) {
+        userRepository.clearRefreshToken(tokenHash, now());
+    }
+
+    /** Returns the timestamp used for {@code updatedAt}. */
+    private LocalDateTime now() {
+        return DateTimeUtil.nowInIst();
+    }
     /**
      * Normalizes email.
      */
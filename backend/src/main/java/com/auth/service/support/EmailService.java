@@ -2,6 +2,7 @@ package com.auth.service.support;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import com.auth.metrics.AuthMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -20,7 +21,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
 /**
- * Service for sending emails (OTP verification, password reset).
+ * Service for sending emails (OTP verification, password reset). Template rendering and
+ * delivery are timed separately as {@link AuthMetrics.Stage#EMAIL} ({@code render} / {@code send}).
  */
 @Service
 @RequiredArgsConstructor
@@ -31,6 +33,7 @@ public class EmailService {
 
     private final JavaMailSender mailSender;
     private final SpringTemplateEngine templateEngine;
+    private final AuthMetrics authMetrics;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -155,7 +158,7 @@ public class EmailService {
         context.setVariable("otp", otp);
         context.setVariable("otpExpirationMinutes", otpExpirationMinutes);
         context.setVariable("year", Year.now().getValue());
-        return templateEngine.process("emails/otp-verification", context);
+        return render("emails/otp-verification", context);
     }
     /**
      * Builds password reset plain text body.
@@ -180,7 +183,7 @@ public class EmailService {
         context.setVariable("resetLink", resetLink);
         context.setVariable("resetTokenExpirationMinutes", resetTokenExpirationMinutes);
         context.setVariable("year", Year.now().getValue());
-        return templateEngine.process("emails/password-reset-request", context);
+        return render("emails/password-reset-request", context);
     }
     /**
      * Builds welcome plain text body.
@@ -203,7 +206,7 @@ public class EmailService {
         context.setVariable("recipientName", recipientName);
         context.setVariable("loginUrl", loginUrl);
         context.setVariable("year", Year.now().getValue());
-        return templateEngine.process("emails/welcome-account", context);
+        return render("emails/welcome-account", context);
     }
 
     private String buildPasswordChangedPlainTextBody(
@@ -230,7 +233,7 @@ public class EmailService {
         context.setVariable("loginUrl", loginUrl);
         context.setVariable("forgotPasswordUrl", forgotPasswordUrl);
         context.setVariable("year", Year.now().getValue());
-        return templateEngine.process("emails/password-changed-confirmation", context);
+        return render("emails/password-changed-confirmation", context);
     }
 
     private String buildAccountLockedPlainTextBody(
@@ -260,7 +263,7 @@ public class EmailService {
         context.setVariable("unlockAtText", unlockAtText);
         context.setVariable("forgotPasswordUrl", forgotPasswordUrl);
         context.setVariable("year", Year.now().getValue());
-        return templateEngine.process("emails/account-locked-alert", context);
+        return render("emails/account-locked-alert", context);
     }
 
     private void sendHtmlEmail(
@@ -279,7 +282,29 @@ public class EmailService {
         } catch (MessagingException exception) {
             throw new IllegalStateException("Failed to build " + contextLabel + " message.", exception);
         }
-        mailSender.send(mimeMessage);
+        long start = authMetrics.start();
+        String outcome = AuthMetrics.OUTCOME_ERROR;
+        try {
+            mailSender.send(mimeMessage);
+            outcome = AuthMetrics.OUTCOME_SUCCESS;
+        } finally {
+            authMetrics.record(AuthMetrics.Stage.EMAIL, "send", outcome, start);
+        }
+    }
+    /**
+     * Renders an HTML email template.
+     */
+
+    private String render(String template, Context context) {
+        long start = authMetrics.start();
+        String outcome = AuthMetrics.OUTCOME_ERROR;
+        try {
+            String html = templateEngine.process(template, context);
+            outcome = AuthMetrics.OUTCOME_SUCCESS;
+            return html;
+        } finally {
+            authMetrics.record(AuthMetrics.Stage.EMAIL, "render", outcome, start);
+        }
     }
     /**
      * Resolves recipient name.
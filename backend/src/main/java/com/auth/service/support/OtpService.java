@@ -1,5 +1,6 @@
 package com.auth.service.support;
 
+import com.auth.security.LockingSecureRandom;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
@@ -11,7 +12,7 @@ import java.util.Base64;
 @Service
 public class OtpService {
 
-    private final SecureRandom secureRandom = new SecureRandom();
+    private final SecureRandom secureRandom = new LockingSecureRandom();
 
     /**
      * Generates a 6-digit numeric OTP code.
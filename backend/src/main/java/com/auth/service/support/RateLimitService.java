@@ -1,5 +1,6 @@
 package com.auth.service.support;
 
+import com.auth.metrics.AuthMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -9,7 +10,9 @@ import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Redis-backed fixed-window rate limiting helper.
+ * Redis-backed fixed-window rate limiting helper. Each call is timed as
+ * {@link AuthMetrics.Stage#RATE_LIMIT}, tagged with its policy (the key without the client
+ * part, e.g. {@code auth:login:ip}) and outcome {@code allowed}, {@code limited} or {@code error}.
  */
 @Service
 @RequiredArgsConstructor
@@ -17,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 public class RateLimitService {
 
     private final StringRedisTemplate redisTemplate;
+    private final AuthMetrics authMetrics;
 
     /** Consumes one request token and returns allowance metadata. */
     public RateLimitDecision consume(String key, long limit, Duration window) {
@@ -25,6 +29,8 @@ public class RateLimitService {
             return allowedDecision;
         }
 
+        long start = authMetrics.start();
+        String outcome = AuthMetrics.OUTCOME_ERROR;
         try {
             Long currentCount = redisTemplate.opsForValue().increment(key);
             if (currentCount == null) {
@@ -40,15 +46,44 @@ public class RateLimitService {
             long retryAfterSeconds = ttl == null || ttl < 0 ? window.getSeconds() : ttl;
             boolean allowed = currentCount <= limit;
             RateLimitDecision decision = new RateLimitDecision(allowed, retryAfterSeconds, currentCount, limit);
+            outcome = allowed ? "allowed" : "limited";
             return decision;
         } catch (Exception exception) {
             // Fail open on Redis outages to avoid full auth downtime.
             log.warn("Rate limiting unavailable for key={}", key, exception);
             RateLimitDecision allowedDecision = new RateLimitDecision(true, -1, 0, limit);
             return allowedDecision;
+        } finally {
+            if (authMetrics.isEnabled()) {
+                authMetrics.record(AuthMetrics.Stage.RATE_LIMIT, policy(key), outcome, start);
+            }
         }
     }
 
     public record RateLimitDecision(boolean allowed, long retryAfterSeconds, long count, long limit) {
+
+        /** Whether the counter is past a soft threshold (below the hard limit); 0 disables it. */
+        public boolean exceeds(long softLimit) {
+            return softLimit > 0 && count > softLimit;
+        }
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Returns the first three segments of a key ({@code auth:<operation>:<dimension>}), which
+     * name the policy without the client-specific part. Shorter keys lose their last segment.
+     */
+
+    private static String policy(String key) {
+        int end = -1;
+        for (int segment = 0; segment < 3; segment++) {
+            int next = key.indexOf(':', end + 1);
+            if (next < 0) {
+                break;
+            }
+            end = next;
+        }
+        return end > 0 ? key.substring(0, end) : "other";
     }
 }
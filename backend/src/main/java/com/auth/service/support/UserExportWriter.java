@@ -0,0 +1,135 @@
+package com.auth.service.support;
+
+import com.auth.dto.response.UserDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Row-at-a-time {@link UserDto} writer for bulk exports.
+ *
+ * <p>Output goes through a fixed-size buffer and is flushed every {@value #FLUSH_INTERVAL_ROWS}
+ * rows, so memory stays constant regardless of export size. Closing flushes but leaves the
+ * underlying stream open for the caller (e.g. the servlet container) to close.
+ */
+public final class UserExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_INTERVAL_ROWS = 1_000;
+    private static final String CSV_HEADER = "id,name,email,loginSource,roles,enabled,createdAt";
+
+    private final UserFileFormat format;
+    private final Writer writer;
+    private final JsonGenerator jsonGenerator;
+    private final ObjectWriter jsonWriter;
+    private long rowCount;
+
+    private UserExportWriter(UserFileFormat format, Writer writer, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = writer;
+        if (format == UserFileFormat.NDJSON) {
+            this.jsonGenerator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.jsonWriter = objectMapper.writerFor(UserDto.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        } else {
+            this.jsonGenerator = null;
+            this.jsonWriter = null;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    /** Opens a writer for the given format over a raw output stream. */
+    public static UserExportWriter open(UserFileFormat format, OutputStream outputStream, ObjectMapper objectMapper)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return new UserExportWriter(format, writer, objectMapper);
+    }
+
+    /** Writes one user row. */
+    public void write(UserDto user) throws IOException {
+        if (format == UserFileFormat.NDJSON) {
+            jsonWriter.writeValue(jsonGenerator, user);
+            jsonGenerator.writeRaw('\n');
+        } else {
+            writeCsvRow(user);
+        }
+        if (++rowCount % FLUSH_INTERVAL_ROWS == 0) {
+            flush();
+        }
+    }
+
+    /** Returns the number of rows written so far. */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /** Flushes buffered output to the underlying stream. */
+    private void flush() throws IOException {
+        if (jsonGenerator != null) {
+            jsonGenerator.flush();
+        }
+        writer.flush();
+    }
+    /**
+     * Writes csv row.
+     */
+
+    private void writeCsvRow(UserDto user) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        writer.write(',');
+        writeCsvCell(user.getName());
+        writer.write(',');
+        writeCsvCell(user.getEmail());
+        writer.write(',');
+        writeCsvCell(user.getLoginSource());
+        writer.write(',');
+        writeCsvCell(user.getRoles() == null ? "" : String.join("|", user.getRoles()));
+        writer.write(',');
+        writer.write(String.valueOf(user.isEnabled()));
+        writer.write(',');
+        writeCsvCell(user.getCreatedAt());
+        writer.write('\n');
+    }
+
+    /**
+     * Writes an RFC 4180 cell. Values that a spreadsheet would evaluate as a formula are
+     * prefixed with a quote so exported user input cannot execute on open.
+     */
+    private void writeCsvCell(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,47 @@
+package com.auth.service.support;
+
+import java.util.Locale;
+
+/**
+ * Supported file formats for bulk user export and import.
+ */
+public enum UserFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    UserFileFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /** Resolves a format from a case-insensitive request value. */
+    public static UserFileFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new IllegalArgumentException("Format must be ndjson or csv.");
+        }
+    }
+
+    /**
+     * Resolves an upload format from an explicit value, falling back to the file extension
+     * ({@code .csv} is CSV, anything else NDJSON) when no value is given.
+     */
+    public static UserFileFormat fromUpload(String value, String fileName) {
+        if (value != null && !value.isBlank()) {
+            return from(value);
+        }
+        return fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith("." + CSV.fileExtension) ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,213 @@
+package com.auth.service.support;
+
+import com.auth.dto.request.RegisterRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily parses a bulk user upload one line at a time.
+ *
+ * <p>CSV input needs a header row naming {@code name}, {@code email}, and {@code password}
+ * columns (any order, extra columns ignored); NDJSON input holds one JSON object per line with
+ * the same fields. Blank lines are skipped. Rows that cannot be parsed are returned with an
+ * error instead of aborting the whole upload.
+ */
+public final class UserImportReader implements Iterator<UserImportReader.Row>, Closeable {
+
+    private final UserFileFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private int nameColumn = -1;
+    private int emailColumn = -1;
+    private int passwordColumn = -1;
+    private long lineNumber;
+    private Row nextRow;
+
+    private UserImportReader(UserFileFormat format, BufferedReader reader, ObjectMapper objectMapper) {
+        this.format = format;
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens a reader over an upload.
+     *
+     * @throws IllegalArgumentException if a CSV upload lacks a usable header row
+     */
+    public static UserImportReader open(UserFileFormat format, InputStream inputStream, ObjectMapper objectMapper)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        UserImportReader importReader = new UserImportReader(format, reader, objectMapper);
+        if (format == UserFileFormat.CSV) {
+            importReader.readCsvHeader();
+        }
+        return importReader;
+    }
+
+    /** Parsed upload row; {@code error} is set when the line could not be parsed. */
+    public record Row(long lineNumber, RegisterRequest request, String error) {
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null) {
+            nextRow = readRow();
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /** Reads the next non-blank line as a row, or returns null at end of input. */
+    private Row readRow() {
+        String line = readNonBlankLine();
+        if (line == null) {
+            return null;
+        }
+        return format == UserFileFormat.CSV ? parseCsvRow(line) : parseJsonRow(line);
+    }
+    /**
+     * Reads csv header.
+     */
+
+    private void readCsvHeader() {
+        String header = readNonBlankLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty.");
+        }
+        List<String> columns = splitCsvLine(stripBom(header));
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> nameColumn = i;
+                case "email" -> emailColumn = i;
+                case "password" -> passwordColumn = i;
+                default -> {
+                }
+            }
+        }
+        if (nameColumn < 0 || emailColumn < 0 || passwordColumn < 0) {
+            throw new IllegalArgumentException("CSV header must include name, email, and password columns.");
+        }
+    }
+    /**
+     * Parses csv row.
+     */
+
+    private Row parseCsvRow(String line) {
+        List<String> cells;
+        try {
+            cells = splitCsvLine(line);
+        } catch (IllegalArgumentException ex) {
+            return new Row(lineNumber, null, ex.getMessage());
+        }
+        RegisterRequest request = new RegisterRequest();
+        request.setName(cell(cells, nameColumn));
+        request.setEmail(cell(cells, emailColumn));
+        request.setPassword(cell(cells, passwordColumn));
+        return new Row(lineNumber, request, null);
+    }
+    /**
+     * Parses json row.
+     */
+
+    private Row parseJsonRow(String line) {
+        try {
+            RegisterRequest request = objectMapper.readValue(stripBom(line), RegisterRequest.class);
+            return new Row(lineNumber, request, null);
+        } catch (JsonProcessingException ex) {
+            return new Row(lineNumber, null, "Malformed JSON.");
+        }
+    }
+    /**
+     * Reads non blank line.
+     */
+
+    private String readNonBlankLine() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    return line;
+                }
+            }
+            return null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    /**
+     * Returns a cell value, or null when the row is short.
+     */
+
+    private static String cell(List<String> cells, int index) {
+        return index < cells.size() ? cells.get(index) : null;
+    }
+    /**
+     * Strips a leading UTF-8 byte order mark.
+     */
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /** Splits one RFC 4180 line, honouring quoted cells and doubled quotes. */
+    private static List<String> splitCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted cell.");
+        }
+        cells.add(current.toString());
+        return cells;
+    }
+}
@@ -0,0 +1,65 @@
+package com.auth.service.support;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Version of the user collection as a whole, used to validate admin list and dashboard
+ * responses without querying them.
+ *
+ * <p>The version is the last-modified time (epoch millis) of any user, kept in Redis and
+ * advanced once a change to a user's representation or to the set of users commits. It only
+ * moves forward, by at least one per change, and a missing key is re-seeded from the clock, so
+ * an older version is never handed out again. A per-column {@code max(updated_at)} would need an
+ * index on a column rewritten on every login.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserListVersion {
+
+    static final String VERSION_KEY = "version:users";
+
+    /** Sets the version to max(now, current + 1). */
+    private static final RedisScript<Long> ADVANCE = RedisScript.of("""
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local candidate = tonumber(ARGV[1])
+            if candidate <= current then candidate = current + 1 end
+            redis.call('SET', KEYS[1], candidate)
+            return candidate
+            """, Long.class);
+
+    /** Returns the version, seeding it with now when missing. */
+    private static final RedisScript<Long> CURRENT = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current then return tonumber(current) end
+            redis.call('SET', KEYS[1], ARGV[1])
+            return tonumber(ARGV[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /** Returns the current version, or null when Redis is unavailable. */
+    public Long current() {
+        try {
+            return redisTemplate.execute(CURRENT, List.of(VERSION_KEY), String.valueOf(System.currentTimeMillis()));
+        } catch (Exception exception) {
+            log.warn("User list version unavailable", exception);
+            return null;
+        }
+    }
+
+    /** Advances the version; call after the change has committed. */
+    public void advance() {
+        try {
+            redisTemplate.execute(ADVANCE, List.of(VERSION_KEY), String.valueOf(System.currentTimeMillis()));
+        } catch (Exception exception) {
+            log.warn("Failed to advance user list version", exception);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.auth.service.support;
+
+import com.auth.config.CacheNames;
+import com.auth.config.EmailKeyGenerator;
+import com.auth.dto.response.UserDto;
+import com.auth.mapper.UserMapper;
+import com.auth.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Cached {@link UserDto} per canonical email, shared by every view built from the profile.
+ *
+ * <p>Kept in its own bean so callers in the portal service go through the caching proxy.
+ * Caching is ordered outside the transaction, so a hit neither opens a transaction nor
+ * borrows a connection. Entries are evicted whenever the user is updated.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserProfileCache {
+
+    private final UserService userService;
+    private final UserMapper userMapper;
+
+    /**
+     * Returns the profile, loading it on a miss; concurrent misses share one load.
+     *
+     * <p>Misses mostly follow the eviction of an update, so the load deliberately runs in a
+     * read-write transaction and is served by the primary: a lagging replica could otherwise
+     * hand back the pre-update row, which would be cached (and used as the ETag version)
+     * for the full TTL.
+     */
+    @Cacheable(cacheNames = CacheNames.USER_PROFILE, keyGenerator = EmailKeyGenerator.BEAN_NAME, sync = true)
+    @Transactional
+    public UserDto get(String email) {
+        return userMapper.toDto(userService.getUserByEmail(email));
+    }
+}
@@ -0,0 +1,69 @@
+package com.auth.service.support;
+
+import com.auth.config.CacheNames;
+import com.auth.config.TwoLevelCache;
+import com.auth.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicts cached user profiles for many users at once.
+ *
+ * <p>Profile entries are keyed by canonical email. For the Redis-backed cache all keys of a
+ * batch are removed with a single {@code DEL} (followed by one L1 invalidation broadcast when
+ * the two-level cache is in use); other cache implementations fall back to one evict per key.
+ * Failures are logged and left to the cache TTL. Every eviction marks a changed user, so it
+ * also advances {@link UserListVersion}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserProfileCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final UserListVersion userListVersion;
+
+    /** Evicts the profiles once the surrounding transaction commits. */
+    public void evictAfterCommit(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        List<String> snapshot = List.copyOf(emails);
+        TransactionCallbacks.afterCommit(() -> evict(snapshot));
+    }
+
+    /** Evicts the profiles now and advances the user list version. */
+    public void evict(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        userListVersion.advance();
+        Cache cache = cacheManager.getCache(CacheNames.USER_PROFILE);
+        if (cache == null) {
+            return;
+        }
+        try {
+            Cache remote = cache instanceof TwoLevelCache twoLevelCache ? twoLevelCache.getRemoteCache() : cache;
+            if (remote instanceof RedisCache redisCache) {
+                String prefix = redisCache.getCacheConfiguration().getKeyPrefixFor(redisCache.getName());
+                redisTemplate.delete(emails.stream().map(email -> prefix + email).toList());
+            } else {
+                emails.forEach(remote::evict);
+            }
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                twoLevelCache.evictLocal(emails);
+            }
+        } catch (Exception exception) {
+            log.warn("Failed to evict {} cached user profiles", emails.size(), exception);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.auth.service.support;
+
+import com.auth.repository.UserRepository;
+import com.auth.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis-backed user counters for the admin dashboard.
+ *
+ * <p>Counters are adjusted incrementally after each committing write (registration,
+ * verification, OAuth provisioning, imports, bulk admin actions) and periodically reconciled
+ * against the database, so dashboard reads never scan the users table. Increments only apply
+ * to counters that already exist; a missing counter is rebuilt from the database on the next
+ * read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsService {
+
+    static final String TOTAL_USERS_KEY = "stats:users:total";
+    static final String ENABLED_USERS_KEY = "stats:users:enabled";
+
+    /** INCRBY that leaves absent keys absent, so a flushed counter is never restarted from zero. */
+    private static final RedisScript<Long> INCREMENT_IF_PRESENT = RedisScript.of(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCRBY', KEYS[1], ARGV[1]) end return nil",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+    private final UserListVersion userListVersion;
+
+    /** Records a newly persisted user once the surrounding transaction commits. */
+    public void recordUserCreated(boolean enabled) {
+        recordUsersCreated(1, enabled);
+    }
+
+    /** Records a batch of newly persisted users once the surrounding transaction commits. */
+    public void recordUsersCreated(long count, boolean enabled) {
+        if (count <= 0) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            increment(TOTAL_USERS_KEY, count);
+            if (enabled) {
+                increment(ENABLED_USERS_KEY, count);
+            }
+            userListVersion.advance();
+        });
+    }
+
+    /** Records a disabled user becoming enabled once the surrounding transaction commits. */
+    public void recordUserEnabled() {
+        recordEnabledChange(1);
+    }
+
+    /**
+     * Records a net change in enabled users (negative when users were disabled) once the
+     * surrounding transaction commits.
+     */
+    public void recordEnabledChange(long delta) {
+        if (delta == 0) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> increment(ENABLED_USERS_KEY, delta));
+    }
+
+    /** Returns current counters, rebuilding them from the database when absent. */
+    public UserCounts currentCounts() {
+        try {
+            UserCounts stored = parseCounts(redisTemplate.opsForValue().multiGet(List.of(TOTAL_USERS_KEY, ENABLED_USERS_KEY)));
+            if (stored != null) {
+                return stored;
+            }
+        } catch (Exception exception) {
+            // Serve exact counts while Redis is unavailable; dashboards are admin-only and rare.
+            log.warn("User counters unavailable, counting from database", exception);
+            return countFromDatabase();
+        }
+        return reconcile();
+    }
+
+    /**
+     * Overwrites the counters with exact database counts. Increments that commit between the
+     * count and the write are lost until the next run, which bounds drift to one interval.
+     * When the counts change, the user list version is advanced so dashboards cached under the
+     * old version are revalidated.
+     */
+    public UserCounts reconcile() {
+        UserCounts counts = countFromDatabase();
+        try {
+            List<String> previous = redisTemplate.opsForValue().multiGet(List.of(TOTAL_USERS_KEY, ENABLED_USERS_KEY));
+            redisTemplate.opsForValue().multiSet(Map.of(
+                    TOTAL_USERS_KEY, String.valueOf(counts.totalUsers()),
+                    ENABLED_USERS_KEY, String.valueOf(counts.enabledUsers())));
+            if (!counts.equals(parseCounts(previous))) {
+                userListVersion.advance();
+            }
+        } catch (Exception exception) {
+            log.warn("Failed to store reconciled user counters", exception);
+        }
+        return counts;
+    }
+
+    /** Periodically corrects drift from crashes, Redis restarts, or out-of-band SQL. */
+    @Scheduled(
+            initialDelayString = "${app.stats.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${app.stats.reconcile-interval-ms:600000}")
+    public void scheduledReconcile() {
+        UserCounts counts = reconcile();
+        log.debug("Reconciled user counters: total={}, enabled={}", counts.totalUsers(), counts.enabledUsers());
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /** Counts users directly in the database. */
+    private UserCounts countFromDatabase() {
+        return new UserCounts(userRepository.count(), userRepository.countByEnabledTrue());
+    }
+    /**
+     * Parses stored counters, or returns null when either is missing.
+     */
+
+    private static UserCounts parseCounts(List<String> values) {
+        if (values == null || values.size() != 2 || values.get(0) == null || values.get(1) == null) {
+            return null;
+        }
+        return new UserCounts(Long.parseLong(values.get(0)), Long.parseLong(values.get(1)));
+    }
+    /**
+     * Increments a counter if it exists.
+     */
+
+    private void increment(String key, long delta) {
+        try {
+            redisTemplate.execute(INCREMENT_IF_PRESENT, List.of(key), String.valueOf(delta));
+        } catch (Exception exception) {
+            log.warn("Failed to update user counter key={}", key, exception);
+        }
+    }
+
+    public record UserCounts(long totalUsers, long enabledUsers) {
+    }
+}
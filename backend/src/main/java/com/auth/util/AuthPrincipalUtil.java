@@ -23,4 +23,12 @@ public final class AuthPrincipalUtil {
         }
         return authentication.getName().trim();
     }
+
+    /**
+     * Returns whether the authentication carries the given authority.
+     */
+    public static boolean hasAuthority(Authentication authentication, String authority) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(granted -> authority.equals(granted.getAuthority()));
+    }
 }
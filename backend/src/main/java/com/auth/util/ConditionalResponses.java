@@ -0,0 +1,70 @@
+package com.auth.util;
+
+import com.auth.dto.response.ApiResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET helpers for private, version-validated API resources.
+ *
+ * <p>The ETag is built from a resource version the caller already knows, and
+ * {@code If-None-Match} is checked before the body supplier runs, so an unchanged resource
+ * answers 304 without loading or serializing its payload.
+ */
+public final class ConditionalResponses {
+
+    /** Browser may store the response but must revalidate it; shared caches must not store it. */
+    public static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+    /**
+     * Prevents instantiation.
+     */
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Builds a strong ETag from a resource kind and its version parts, e.g. {@code "p-7-1736"}.
+     * Returns null when any part is unknown, which disables conditional handling.
+     */
+    public static String etag(String kind, Object... versionParts) {
+        StringBuilder etag = new StringBuilder("\"").append(kind);
+        for (Object part : versionParts) {
+            if (part == null) {
+                return null;
+            }
+            etag.append('-').append(part);
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Returns a short, stable tag for the principal a response was rendered for. Added to the
+     * ETag of per-user bodies whose version is shared between users, so a browser cache used by
+     * a second account never revalidates the first account's copy.
+     */
+    public static String principalTag(String principal) {
+        return Integer.toHexString(principal.hashCode());
+    }
+
+    /**
+     * Answers 304 (returning null, as Spring MVC expects after a successful
+     * {@link WebRequest#checkNotModified(String)}) when the client's copy is current,
+     * otherwise 200 with the supplied body, the ETag, and {@link #PRIVATE_REVALIDATE}.
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> okUnlessNotModified(
+            WebRequest webRequest, String etag, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok().cacheControl(PRIVATE_REVALIDATE).body(ApiResponse.ok(body.get()));
+        }
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(PRIVATE_REVALIDATE)
+                .eTag(etag)
+                .body(ApiResponse.ok(body.get()));
+    }
+}
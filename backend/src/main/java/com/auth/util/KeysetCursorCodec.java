@@ -0,0 +1,101 @@
+package com.auth.util;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes keyset positions (sort field value + id tie-breaker) as opaque, URL-safe cursors.
+ *
+ * <p>The cursor records the sort field and direction it was issued for so a client cannot
+ * replay it against a different ordering, which would silently skip or repeat rows.
+ */
+public final class KeysetCursorCodec {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "\u001f";
+    private static final String ID_FIELD = "id";
+    /**
+     * Prevents instantiation.
+     */
+
+    private KeysetCursorCodec() {
+    }
+
+    /** Decoded keyset position. {@code keys} is ordered: sort field first, then {@code id}. */
+    public record Position(String sortField, boolean ascending, Map<String, Object> keys) {
+    }
+
+    /**
+     * Encodes a keyset position.
+     *
+     * @param keys property values of the last row, keyed by property name
+     */
+    public static String encode(String sortField, boolean ascending, Map<String, ?> keys) {
+        Object id = keys.get(ID_FIELD);
+        Object sortValue = keys.get(sortField);
+        if (id == null || sortValue == null) {
+            throw new IllegalStateException("Keyset position requires non-null '" + sortField + "' and id values.");
+        }
+        String payload = String.join(SEPARATOR,
+                VERSION,
+                sortField,
+                ascending ? "a" : "d",
+                String.valueOf(id),
+                formatValue(sortValue));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor issued by {@link #encode(String, boolean, Map)}.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Position decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            throw new IllegalArgumentException("Cursor must not be blank.");
+        }
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            // Sort value goes last so free-text values may contain the separator.
+            String[] parts = payload.split(SEPARATOR, 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            String sortField = parts[1];
+            boolean ascending = "a".equals(parts[2]);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (!ID_FIELD.equals(sortField)) {
+                keys.put(sortField, parseValue(sortField, parts[4]));
+            }
+            keys.put(ID_FIELD, Long.parseLong(parts[3]));
+            return new Position(sortField, ascending, keys);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+    /**
+     * Formats value.
+     */
+
+    private static String formatValue(Object value) {
+        return value instanceof LocalDateTime dateTime ? dateTime.toString() : String.valueOf(value);
+    }
+    /**
+     * Parses value.
+     */
+
+    private static Object parseValue(String sortField, String raw) {
+        return switch (sortField) {
+            case "createdAt" -> LocalDateTime.parse(raw);
+            case "enabled" -> Boolean.parseBoolean(raw);
+            case "name", "email" -> raw;
+            default -> throw new IllegalArgumentException("Invalid cursor.");
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.auth.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for deferring side effects (counters, cache eviction) until a transaction commits.
+ */
+public final class TransactionCallbacks {
+    /**
+     * Prevents instantiation.
+     */
+
+    private TransactionCallbacks() {
+    }
+
+    /** Runs the action after commit, or immediately when no transaction is active. */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
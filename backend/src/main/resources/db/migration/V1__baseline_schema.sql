@@ -0,0 +1,40 @@
+-- Baseline schema matching the JPA mappings previously managed by ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate)
+-- so this script only runs against an empty schema.
+
+CREATE TABLE IF NOT EXISTS roles (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    name       VARCHAR(20)  NOT NULL,
+    CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at            TIMESTAMP(6) NOT NULL,
+    updated_at            TIMESTAMP(6) NOT NULL,
+    name                  VARCHAR(255) NOT NULL,
+    email                 VARCHAR(255) NOT NULL,
+    password              VARCHAR(255) NOT NULL,
+    enabled               BOOLEAN      NOT NULL DEFAULT FALSE,
+    verification_otp      VARCHAR(255),
+    otp_expiry            TIMESTAMP(6),
+    reset_token           VARCHAR(255),
+    reset_token_expiry    TIMESTAMP(6),
+    refresh_token         VARCHAR(512),
+    refresh_token_expiry  TIMESTAMP(6),
+    failed_login_attempts INTEGER      NOT NULL DEFAULT 0,
+    account_locked_until  TIMESTAMP(6),
+    failed_otp_attempts   INTEGER      NOT NULL DEFAULT 0,
+    otp_locked_until      TIMESTAMP(6),
+    auth_provider         VARCHAR(255),
+    auth_provider_user_id VARCHAR(255),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
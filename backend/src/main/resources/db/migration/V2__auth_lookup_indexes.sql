@@ -0,0 +1,49 @@
+-- Email lookups are exact-match on the canonical (trimmed, lower-cased) address.
+-- Normalize any legacy rows first so the plain unique index on users.email serves
+-- login, registration, guard, and profile queries without lower() on the column.
+--
+-- Accounts whose emails differ only by case or whitespace would collide on
+-- uk_users_email halfway through the UPDATE. Stop before touching anything and name
+-- them instead. To merge: keep one account per address (move anything worth keeping
+-- onto it, then delete or rename the others, e.g. to 'dup-<id>+' || email), and restart;
+-- the failed migration rolled back, so Flyway runs it again.
+DO $$
+DECLARE
+    duplicates text;
+BEGIN
+    SELECT string_agg(format('%s (user ids %s)', canonical, ids), '; ')
+    INTO duplicates
+    FROM (SELECT lower(trim(email)) AS canonical,
+                 string_agg(id::text, ', ' ORDER BY id) AS ids
+          FROM users
+          GROUP BY lower(trim(email))
+          HAVING count(*) > 1) dup;
+
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'V2 cannot canonicalize users.email; these addresses belong to more than one account: %',
+            duplicates
+            USING HINT = 'Merge or rename the duplicate accounts (see the comment at the top of '
+                || 'V2__auth_lookup_indexes.sql), then restart the application.';
+    END IF;
+END $$;
+
+UPDATE users
+SET email = lower(trim(email))
+WHERE email <> lower(trim(email));
+
+-- With every email canonical, uk_users_email is also case-insensitive uniqueness, and
+-- ad-hoc lookups stay index-backed by canonicalizing the parameter instead of the column.
+ALTER TABLE users
+    ADD CONSTRAINT ck_users_email_canonical CHECK (email = lower(trim(email)));
+
+-- Token hash lookups for refresh rotation/revocation and password-reset completion.
+-- Partial indexes skip the (majority) rows with no active token.
+CREATE INDEX IF NOT EXISTS ix_users_refresh_token ON users (refresh_token)
+    WHERE refresh_token IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS ix_users_reset_token ON users (reset_token)
+    WHERE reset_token IS NOT NULL;
+
+-- OAuth sign-in resolves users by (provider, provider user id).
+CREATE INDEX IF NOT EXISTS ix_users_auth_provider_user ON users (auth_provider, auth_provider_user_id)
+    WHERE auth_provider_user_id IS NOT NULL;
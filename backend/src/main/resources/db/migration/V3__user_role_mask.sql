@@ -0,0 +1,22 @@
+-- Compact role bitmask mirrored from user_roles so user reads and admin role filters
+-- avoid the join. Bit values follow RoleName declaration order: ROLE_USER=1, ROLE_ADMIN=2.
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS role_mask INTEGER NOT NULL DEFAULT 0;
+
+UPDATE users u
+SET role_mask = masks.role_mask
+FROM (
+    SELECT ur.user_id,
+           bit_or(CASE r.name
+                      WHEN 'ROLE_USER' THEN 1
+                      WHEN 'ROLE_ADMIN' THEN 2
+                      ELSE 0
+                  END) AS role_mask
+    FROM user_roles ur
+    JOIN roles r ON r.id = ur.role_id
+    GROUP BY ur.user_id
+) masks
+WHERE masks.user_id = u.id;
+
+-- Role filters are expressed as role_mask IN (<masks containing the role>).
+CREATE INDEX IF NOT EXISTS ix_users_role_mask ON users (role_mask);
@@ -0,0 +1,5 @@
+-- Composite (sort key, id) indexes backing keyset pagination on the admin user list.
+-- The default createdAt ordering and name ordering seek directly to the cursor position;
+-- email ordering is already served by the unique index on users.email.
+CREATE INDEX IF NOT EXISTS ix_users_created_at_id ON users (created_at, id);
+CREATE INDEX IF NOT EXISTS ix_users_name_id ON users (name, id);
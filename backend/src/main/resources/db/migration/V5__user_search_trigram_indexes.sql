@@ -0,0 +1,9 @@
+-- Trigram GIN indexes for admin user search. They serve substring (LIKE '%term%') and
+-- prefix (LIKE 'term%') matches on name and email without scanning the table.
+-- pg_trgm is a trusted extension (PostgreSQL 13+), so the schema owner can create it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_users_name_trgm ON users USING gin (lower(name) gin_trgm_ops);
+
+-- Emails are stored canonical (see V2), so the column is indexed without lower().
+CREATE INDEX IF NOT EXISTS ix_users_email_trgm ON users USING gin (email gin_trgm_ops);
@@ -0,0 +1,182 @@
+package com.auth.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one admin user-list page ({@code createdAt desc}, 20 rows) at page 1 and
+ * page 10,000, using the SQL Hibernate emits for each mode of {@code AdminServiceImpl}:
+ *
+ * <ul>
+ *   <li>{@code offset}: {@code getUsers}, i.e. {@code OFFSET} paging plus the {@code count(*)}
+ *       a {@code Page} requires.</li>
+ *   <li>{@code keyset-or}: the plain OR seek that Spring Data's keyset scrolling generates.</li>
+ *   <li>{@code keyset}: {@code getUsersByCursor}'s {@code f <= v AND (f < v OR id < lastId)}
+ *       seek, with no count.</li>
+ * </ul>
+ *
+ * <p>Needs a PostgreSQL database the benchmark may migrate and seed; users are added with
+ * {@code benchmark/seed-admin-users.sql} until the table holds {@code rows}. Run with:
+ * <pre>
+ * mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath -DjdbcUrl=jdbc:postgresql://localhost:5432/auth_bench \
+ *     -DdbUser=auth_user -DdbPassword=secret org.openjdk.jmh.Main AdminUserPagingBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdminUserPagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String OFFSET_PAGE = """
+            SELECT * FROM users u
+            ORDER BY u.created_at DESC
+            OFFSET ? ROWS FETCH FIRST ? ROWS ONLY""";
+    private static final String COUNT = "SELECT count(u.id) FROM users u";
+    private static final String KEYSET_OR_PAGE = """
+            SELECT * FROM users u
+            WHERE u.created_at < ? OR (u.created_at = ? AND u.id < ?)
+            ORDER BY u.created_at DESC, u.id DESC
+            FETCH FIRST ? ROWS ONLY""";
+    private static final String KEYSET_PAGE = """
+            SELECT * FROM users u
+            WHERE u.created_at <= ? AND (u.created_at < ? OR u.id < ?)
+            ORDER BY u.created_at DESC, u.id DESC
+            FETCH FIRST ? ROWS ONLY""";
+    private static final String FIRST_KEYSET_PAGE = """
+            SELECT * FROM users u
+            ORDER BY u.created_at DESC, u.id DESC
+            FETCH FIRST ? ROWS ONLY""";
+
+    @Param({"offset", "keyset-or", "keyset"})
+    public String mode;
+
+    @Param({"1", "10000"})
+    public int page;
+
+    private Connection connection;
+    private PreparedStatement pageQuery;
+    private PreparedStatement countQuery;
+    private boolean counted;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String url = System.getProperty("jdbcUrl", "jdbc:postgresql://localhost:5432/auth_bench");
+        String user = System.getProperty("dbUser", "postgres");
+        String password = System.getProperty("dbPassword", "postgres");
+        int rows = Integer.getInteger("rows", 250_000);
+
+        Flyway.configure().dataSource(url, user, password).load().migrate();
+        connection = DriverManager.getConnection(url, user, password);
+        seed(rows);
+
+        counted = "offset".equals(mode);
+        countQuery = connection.prepareStatement(COUNT);
+        if (counted) {
+            pageQuery = connection.prepareStatement(OFFSET_PAGE);
+            pageQuery.setInt(1, (page - 1) * PAGE_SIZE);
+            pageQuery.setInt(2, PAGE_SIZE);
+        } else if (page == 1) {
+            pageQuery = connection.prepareStatement(FIRST_KEYSET_PAGE);
+            pageQuery.setInt(1, PAGE_SIZE + 1);
+        } else {
+            pageQuery = connection.prepareStatement("keyset".equals(mode) ? KEYSET_PAGE : KEYSET_OR_PAGE);
+            bindCursor((page - 1) * PAGE_SIZE - 1);
+            pageQuery.setInt(4, PAGE_SIZE + 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long fetchPage() throws SQLException {
+        long checksum = 0;
+        try (ResultSet rs = pageQuery.executeQuery()) {
+            while (rs.next()) {
+                checksum += rs.getLong("id");
+            }
+        }
+        if (counted) {
+            try (ResultSet rs = countQuery.executeQuery()) {
+                rs.next();
+                checksum += rs.getLong(1);
+            }
+        }
+        return checksum;
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+    /**
+     * Seeds users until the table holds at least rows.
+     */
+
+    private void seed(int rows) throws SQLException, IOException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery(COUNT)) {
+            rs.next();
+            if (rs.getLong(1) >= rows) {
+                return;
+            }
+        }
+        String script;
+        try (InputStream in = AdminUserPagingBenchmark.class.getResourceAsStream("/benchmark/seed-admin-users.sql")) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace(":rows", Integer.toString(rows));
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute(script);
+        }
+    }
+
+    /**
+     * Binds the (createdAt, id) of the row at offset as the seek position, i.e. the cursor
+     * the previous page would have returned.
+     */
+
+    private void bindCursor(int offset) throws SQLException {
+        try (PreparedStatement st = connection.prepareStatement(
+                "SELECT created_at, id FROM users ORDER BY created_at DESC, id DESC OFFSET ? LIMIT 1")) {
+            st.setInt(1, offset);
+            try (ResultSet rs = st.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Fewer than " + (offset + 1) + " users; raise -Drows");
+                }
+                Timestamp createdAt = rs.getTimestamp(1);
+                pageQuery.setTimestamp(1, createdAt);
+                pageQuery.setTimestamp(2, createdAt);
+                pageQuery.setLong(3, rs.getLong(2));
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.auth.benchmark;
+
+import com.auth.config.CacheValueSerializers;
+import com.auth.dto.response.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares cache value encodings for the cached {@link UserDto} profile.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main CacheValueSerializerBenchmark"
+ * </pre>
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheValueSerializerBenchmark {
+
+    @Param({"json", "smile-typed", "smile-generic"})
+    public String encoding;
+
+    private RedisSerializer<Object> serializer;
+    private UserDto profile;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = switch (encoding) {
+            case "json" -> CacheValueSerializers.generic(CacheValueSerializers.Format.JSON);
+            case "smile-typed" -> CacheValueSerializers.typed(CacheValueSerializers.Format.SMILE, UserDto.class);
+            case "smile-generic" -> CacheValueSerializers.generic(CacheValueSerializers.Format.SMILE);
+            default -> throw new IllegalArgumentException(encoding);
+        };
+        profile = sampleProfile();
+        encoded = serializer.serialize(profile);
+        System.out.printf("%n%s payload: %d bytes%n", encoding, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(profile);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    /** Builds a profile shaped like a typical cached entry. */
+    static UserDto sampleProfile() {
+        UserDto profile = new UserDto();
+        profile.setId(48_213L);
+        profile.setName("Alice Johnson");
+        profile.setEmail("alice.johnson@example.com");
+        profile.setLoginSource("local");
+        profile.setRoles(Set.of("ROLE_USER", "ROLE_ADMIN"));
+        profile.setEnabled(true);
+        profile.setCreatedAt("10-01-2026 09:30:00 AM");
+        return profile;
+    }
+}
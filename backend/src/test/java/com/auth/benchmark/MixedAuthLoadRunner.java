@@ -0,0 +1,205 @@
+package com.auth.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for a running backend, mixing BCrypt-bound logins with
+ * cache-bound profile reads and database-bound admin user listings.
+ *
+ * <p>Used to compare {@code spring.threads.virtual.enabled=true} against platform threads.
+ * Each client is a virtual thread that sends one request at a time. Run against an admin
+ * account with abuse protection disabled:
+ * <pre>
+ * mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath -DbaseUrl=http://localhost:8080 -Demail=admin@example.com \
+ *     -Dpassword=secret -Dclients=200 -Dseconds=30 com.auth.benchmark.MixedAuthLoadRunner"
+ * </pre>
+ * {@code loginShare} (default 0.1) and {@code adminShare} (default 0.3) set the request mix;
+ * the rest are profile reads. Prints throughput and p50/p99 latency per endpoint.
+ */
+public final class MixedAuthLoadRunner {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    private MixedAuthLoadRunner(String baseUrl, String email, String password) {
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = password;
+    }
+
+    public static void main(String[] args) throws Exception {
+        MixedAuthLoadRunner runner = new MixedAuthLoadRunner(
+                System.getProperty("baseUrl", "http://localhost:8080"),
+                System.getProperty("email", "admin@example.com"),
+                System.getProperty("password", "password"));
+        Map<String, String> report = runner.run(
+                Integer.getInteger("clients", 200),
+                Duration.ofSeconds(Integer.getInteger("seconds", 30)),
+                Double.parseDouble(System.getProperty("loginShare", "0.1")),
+                Double.parseDouble(System.getProperty("adminShare", "0.3")));
+        report.values().forEach(System.out::println);
+    }
+
+    /** Runs the mix for {@code duration} and returns one report line per endpoint. */
+    public Map<String, String> run(int clients, Duration duration, double loginShare, double adminShare)
+            throws Exception {
+        String token = login();
+        // Short warm-up, so JIT compilation and cold caches do not skew the first seconds.
+        drive(Math.min(clients, 20), Duration.ofSeconds(3), token, loginShare, adminShare);
+        recorders.clear();
+
+        long startedAt = System.nanoTime();
+        drive(clients, duration, token, loginShare, adminShare);
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        Map<String, String> report = new LinkedHashMap<>();
+        for (String endpoint : List.of("login", "profile", "admin-users")) {
+            Recorder recorder = recorders.get(endpoint);
+            if (recorder != null) {
+                report.put(endpoint, recorder.summary(endpoint, elapsedSeconds));
+            }
+        }
+        return report;
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Runs {@code clients} closed-loop clients until {@code duration} has passed.
+     */
+
+    private void drive(int clients, Duration duration, String token, double loginShare, double adminShare)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        double draw = ThreadLocalRandom.current().nextDouble();
+                        if (draw < loginShare) {
+                            timed("login", this::loginRequest);
+                        } else if (draw < loginShare + adminShare) {
+                            timed("admin-users", () -> get("/api/v1/admin/users?page=0&size=20", token));
+                        } else {
+                            timed("profile", () -> get("/api/v1/user/profile", token));
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Sends one request and records its latency, or an error for a non-2xx status.
+     */
+
+    private void timed(String endpoint, RequestCall call) {
+        Recorder recorder = recorders.computeIfAbsent(endpoint, name -> new Recorder());
+        long startedAt = System.nanoTime();
+        try {
+            int status = call.send();
+            if (status / 100 == 2) {
+                recorder.record(System.nanoTime() - startedAt);
+            } else {
+                recorder.errors.incrementAndGet();
+            }
+        } catch (Exception exception) {
+            recorder.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Logs in once and returns the access token used for the authenticated reads.
+     */
+
+    private String login() throws Exception {
+        HttpResponse<String> response = client.send(loginHttpRequest(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return OBJECT_MAPPER.readTree(response.body()).path("data").path("accessToken").asText();
+    }
+
+    private int loginRequest() throws Exception {
+        return client.send(loginHttpRequest(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest loginHttpRequest() throws Exception {
+        String body = OBJECT_MAPPER.writeValueAsString(Map.of("email", email, "password", password));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private int get(String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @FunctionalInterface
+    private interface RequestCall {
+        int send() throws Exception;
+    }
+
+    /** Collects latencies for one endpoint. */
+    private static final class Recorder {
+
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        private void record(long nanos) {
+            latencies.add(nanos);
+        }
+
+        private String summary(String endpoint, double elapsedSeconds) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return String.format("%-12s %8.1f req/s  p50 %7.1f ms  p99 %7.1f ms  errors %d",
+                    endpoint, sorted.length / elapsedSeconds, percentile(sorted, 0.50),
+                    percentile(sorted, 0.99), errors.get());
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.auth.benchmark;
+
+import com.auth.dto.response.ApiResponse;
+import com.auth.exception.GlobalExceptionHandler;
+import com.auth.exception.RateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejections per second on one core: a rate-limit exception thrown from {@code depth} frames
+ * down (Tomcat, the filter chains and MVC put a real request well over 100 frames deep),
+ * caught, and turned into response bytes.
+ *
+ * <p>{@code legacy} is the previous path (exception with a stack trace, body serialized per
+ * response); {@code stackless} is {@link RateLimitExceededException} with
+ * {@link GlobalExceptionHandler}'s cached body. Run with:
+ * <pre>
+ * mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main RejectionPathBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class RejectionPathBenchmark {
+
+    private static final String MESSAGE = "Too many login attempts from this IP. Please retry later.";
+
+    @Param({"legacy", "stackless"})
+    public String path;
+
+    @Param({"128"})
+    public int depth;
+
+    private ObjectMapper objectMapper;
+    private GlobalExceptionHandler handler;
+    private boolean legacy;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        handler = new GlobalExceptionHandler(objectMapper);
+        legacy = "legacy".equals(path);
+    }
+
+    @Benchmark
+    public byte[] reject() throws Exception {
+        try {
+            throwFrom(depth);
+            throw new AssertionError("not rejected");
+        } catch (LegacyRateLimitExceededException ex) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.retryAfterSeconds)));
+            ResponseEntity<ApiResponse<Void>> response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .headers(headers)
+                    .body(ApiResponse.error(ex.getMessage()));
+            return objectMapper.writeValueAsBytes(response.getBody());
+        } catch (RateLimitExceededException ex) {
+            return handler.handleRateLimitExceededException(ex).getBody();
+        }
+    }
+
+    /** Recurses to simulate the servlet stack, then rejects. */
+    private void throwFrom(int remaining) {
+        if (remaining > 0) {
+            throwFrom(remaining - 1);
+            return;
+        }
+        if (legacy) {
+            throw new LegacyRateLimitExceededException(MESSAGE, 42);
+        }
+        throw new RateLimitExceededException(MESSAGE, 42);
+    }
+
+    /** The exception as it was before: a full stack trace on every rejection. */
+    static final class LegacyRateLimitExceededException extends RuntimeException {
+
+        private final long retryAfterSeconds;
+
+        LegacyRateLimitExceededException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.auth.config;
+
+import com.auth.dto.response.UserDto;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("CacheValueSerializers")
+class CacheValueSerializersTest {
+
+    @Test
+    @DisplayName("typed smile: round-trips profile in fewer bytes than generic JSON")
+    void givenProfile_whenEncodingWithTypedSmile_thenRoundTripsAndIsSmallerThanJson() {
+        // Arrange
+        RedisSerializer<Object> smile = CacheValueSerializers.typed(CacheValueSerializers.Format.SMILE, UserDto.class);
+        RedisSerializer<Object> json = CacheValueSerializers.generic(CacheValueSerializers.Format.JSON);
+        UserDto profile = profile();
+
+        // Act
+        byte[] smileBytes = smile.serialize(profile);
+        byte[] jsonBytes = json.serialize(profile);
+
+        // Assert
+        assertEquals(profile, smile.deserialize(smileBytes));
+        assertTrue(smileBytes.length < jsonBytes.length,
+                () -> "smile=" + smileBytes.length + " json=" + jsonBytes.length);
+    }
+
+    @Test
+    @DisplayName("generic smile: round-trips value with its type")
+    void givenProfile_whenEncodingWithGenericSmile_thenRoundTripsWithType() {
+        // Arrange
+        RedisSerializer<Object> smile = CacheValueSerializers.generic(CacheValueSerializers.Format.SMILE);
+
+        // Act
+        Object decoded = smile.deserialize(smile.serialize(profile()));
+
+        // Assert
+        assertEquals(profile(), decoded);
+    }
+
+    @Test
+    @DisplayName("generic smile: @class outside the cached DTO/collection/time types → rejected as a miss")
+    void givenPayloadNamingUncachedType_whenDecodingWithGenericSmile_thenReturnsNull() throws Exception {
+        // Arrange
+        RedisSerializer<Object> smile = CacheValueSerializers.generic(CacheValueSerializers.Format.SMILE);
+        ObjectMapper unrestricted = new ObjectMapper(new SmileFactory());
+        unrestricted.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        byte[] planted = unrestricted.writeValueAsBytes(new Planted());
+
+        // Act + Assert
+        assertEquals(Planted.class, unrestricted.readValue(planted, Object.class).getClass());
+        assertNull(smile.deserialize(planted));
+    }
+
+    @Test
+    @DisplayName("typed smile: undecodable bytes → treated as a miss")
+    void givenLegacyJsonBytes_whenDecodingWithSmile_thenReturnsNull() {
+        // Arrange
+        RedisSerializer<Object> smile = CacheValueSerializers.typed(CacheValueSerializers.Format.SMILE, UserDto.class);
+        byte[] legacy = "{\"@class\":\"com.auth.dto.response.UserDto\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Act + Assert
+        assertNull(smile.deserialize(legacy));
+    }
+
+    private static UserDto profile() {
+        UserDto profile = new UserDto();
+        profile.setId(7L);
+        profile.setName("Alice");
+        profile.setEmail("alice@example.com");
+        profile.setLoginSource("local");
+        profile.setRoles(Set.of("ROLE_USER"));
+        profile.setEnabled(true);
+        profile.setCreatedAt("10-01-2026 09:30:00 AM");
+        return profile;
+    }
+
+    /** Stand-in for a class an attacker with Redis write access would want instantiated. */
+    static class Planted {
+        public String command = "calc";
+    }
+}
@@ -0,0 +1,88 @@
+package com.auth.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ConnectionLimitingDataSource")
+class ConnectionLimitingDataSourceTest {
+
+    private EmbeddedDatabase database;
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        dataSource = new ConnectionLimitingDataSource(database, 1, Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("getConnection: limit reached on another thread → times out")
+    void givenPermitHeldElsewhere_whenGettingConnection_thenTimesOut() throws Exception {
+        // Arrange
+        try (Connection held = dataSource.getConnection()) {
+
+            // Act
+            CompletableFuture<Void> other = CompletableFuture.runAsync(() ->
+                    assertThrows(SQLTransientConnectionException.class, dataSource::getConnection));
+
+            // Assert
+            other.get(5, TimeUnit.SECONDS);
+            assertEquals(0, dataSource.availablePermits());
+        }
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("getConnection: nested on the permit-holding thread → no second permit needed")
+    void givenPermitHeldBySameThread_whenGettingNestedConnection_thenSucceeds() throws Exception {
+        // Arrange
+        try (Connection outer = dataSource.getConnection()) {
+
+            // Act
+            try (Connection nested = dataSource.getConnection()) {
+
+                // Assert
+                assertTrue(nested.isValid(1));
+            }
+            assertEquals(0, dataSource.availablePermits());
+        }
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("close: called twice → permit released once")
+    void givenConnection_whenClosedTwice_thenReleasesPermitOnce() throws Exception {
+        // Arrange
+        Connection connection = dataSource.getConnection();
+
+        // Act
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(1, dataSource.availablePermits());
+    }
+}
@@ -0,0 +1,68 @@
+package com.auth.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.boot.jdbc.metadata.HikariDataSourcePoolMetadata;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ReadReplicaConfig")
+class ReadReplicaConfigTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ReadReplicaConfig.class)
+            .withBean(MeterRegistry.class, () -> registry)
+            .withBean(DataSourcePoolMetadataProvider.class, () -> dataSource ->
+                    dataSource instanceof HikariDataSource hikari ? new HikariDataSourcePoolMetadata(hikari) : null)
+            .withBean(DataSourceProperties.class, () -> {
+                DataSourceProperties properties = new DataSourceProperties();
+                properties.setUrl("jdbc:h2:mem:primary-" + System.nanoTime());
+                properties.setUsername("sa");
+                return properties;
+            })
+            .withPropertyValues(
+                    "app.datasource.replica.urls=jdbc:h2:mem:replica-" + System.nanoTime(),
+                    "app.datasource.replica.username=sa");
+
+    @Test
+    @DisplayName("replica pools: pool and rotation meters and health while running, closed with the context")
+    void givenReplicaUrls_whenContextRunsAndCloses_thenReplicaPoolsAreManaged() {
+        // Act
+        contextRunner.run(context -> {
+            Health health = context.getBean("readReplicasHealthIndicator", HealthIndicator.class).health();
+            context.getBean("readReplicaMetrics", MeterBinder.class).bindTo(registry);
+
+            // Assert
+            assertNotNull(replicaPoolGauge());
+            assertEquals(10.0, registry.get("jdbc.connections.max").tag("name", "replica-1").gauge().value());
+            // H2 cannot answer the PostgreSQL lag probe, so the replica is out of rotation.
+            assertEquals(0.0, registry.get("db.replica.healthy").tag("pool", "replica-1").gauge().value());
+            assertNotNull(registry.find("db.replica.lag").tag("pool", "replica-1").timeGauge());
+            assertEquals(Status.UP, health.getStatus());
+            assertTrue(health.getDetails().containsKey("primary"));
+            assertTrue(health.getDetails().containsKey("replica-1"));
+        });
+
+        // Assert: a closed Hikari pool removes its meters.
+        assertNull(replicaPoolGauge());
+    }
+
+    private Object replicaPoolGauge() {
+        return registry.find("hikaricp.connections.active").tag("pool", "replica-1").gauge();
+    }
+}
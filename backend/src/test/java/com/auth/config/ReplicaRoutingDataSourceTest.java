@@ -0,0 +1,164 @@
+package com.auth.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ReplicaRoutingDataSource")
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private final AtomicReference<Duration> replicaLag = new AtomicReference<>(Duration.ZERO);
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), connection -> {
+            Duration lag = replicaLag.get();
+            if (lag == null) {
+                throw new SQLException("replica unreachable");
+            }
+            return lag;
+        }, MAX_LAG);
+        routing.refreshReplicaHealth();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    @DisplayName("read-only transaction: replica caught up → served by replica")
+    void givenHealthyReplica_whenReadingInReadOnlyTransaction_thenUsesReplica() {
+        // Act + Assert
+        assertEquals("replica", readOnly.execute(status -> origin()));
+    }
+
+    @Test
+    @DisplayName("read-write transaction or no transaction → served by primary")
+    void givenHealthyReplica_whenReadingOutsideReadOnlyTransaction_thenUsesPrimary() {
+        // Act + Assert
+        assertEquals("primary", readWrite.execute(status -> origin()));
+        assertEquals("primary", origin());
+    }
+
+    @Test
+    @DisplayName("read-only transaction: replica lag above threshold → falls back to primary until caught up")
+    void givenLaggingReplica_whenReadingInReadOnlyTransaction_thenFallsBackToPrimaryUntilCaughtUp() {
+        // Arrange
+        replicaLag.set(MAX_LAG.plusSeconds(1));
+        routing.refreshReplicaHealth();
+
+        // Act + Assert
+        assertFalse(routing.hasHealthyReplica());
+        assertEquals("primary", readOnly.execute(status -> origin()));
+
+        replicaLag.set(Duration.ofMillis(200));
+        routing.refreshReplicaHealth();
+        assertTrue(routing.hasHealthyReplica());
+        assertEquals("replica", readOnly.execute(status -> origin()));
+    }
+
+    @Test
+    @DisplayName("read-only transaction: lag probe fails → falls back to primary")
+    void givenUnreachableReplica_whenReadingInReadOnlyTransaction_thenFallsBackToPrimary() {
+        // Arrange
+        replicaLag.set(null);
+        routing.refreshReplicaHealth();
+
+        // Act + Assert
+        assertEquals("primary", readOnly.execute(status -> origin()));
+    }
+
+    @Test
+    @DisplayName("getConnection(username, password): routed like getConnection() → replica, then primary")
+    void givenExplicitCredentials_whenGettingConnection_thenRoutesLikePooledConnections() throws SQLException {
+        // Act + Assert
+        assertEquals("replica", originOf(routing.getConnection("sa", "")));
+
+        replicaLag.set(null);
+        routing.refreshReplicaHealth();
+        assertEquals("primary", originOf(routing.getConnection("sa", "")));
+    }
+
+    @Test
+    @DisplayName("poolStats: reports primary and replica health and lag")
+    void givenLaggingReplica_whenReadingPoolStats_thenReportsPerPoolHealth() {
+        // Arrange
+        replicaLag.set(Duration.ofSeconds(9));
+        routing.refreshReplicaHealth();
+
+        // Act
+        List<ReplicaRoutingDataSource.PoolStats> stats = routing.poolStats();
+
+        // Assert
+        assertEquals(2, stats.size());
+        assertEquals("primary", stats.get(0).name());
+        assertTrue(stats.get(0).healthy());
+        assertEquals("replica-1", stats.get(1).name());
+        assertFalse(stats.get(1).healthy());
+        assertEquals(9_000, stats.get(1).lagMillis());
+    }
+
+    private String origin() {
+        return jdbcTemplate.queryForObject("SELECT origin FROM marker", String.class);
+    }
+
+    private static String originOf(Connection connection) throws SQLException {
+        try (connection; Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT origin FROM marker")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static EmbeddedDatabase database(String origin) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        new JdbcTemplate(database).execute("CREATE TABLE marker (origin VARCHAR(16))");
+        new JdbcTemplate(database).update("INSERT INTO marker VALUES (?)", origin);
+        return database;
+    }
+}
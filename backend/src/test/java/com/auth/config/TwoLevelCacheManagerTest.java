@@ -0,0 +1,211 @@
+package com.auth.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoLevelCacheManager")
+class TwoLevelCacheManagerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager(CacheNames.USER_PROFILE);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TwoLevelCacheManager(remote, redisTemplate, objectMapper, name -> Duration.ofMinutes(1),
+                100, 0.8, nanos::get, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("get: L1 filled from L2 → served locally after L2 entry disappears")
+    void givenRemoteHit_whenReadingTwice_thenSecondReadServedFromLocalCache() {
+        // Arrange
+        remote.getCache(CacheNames.USER_PROFILE).put("alice@example.com", "profile");
+        Cache cache = cacheManager.getCache(CacheNames.USER_PROFILE);
+
+        // Act
+        cache.get("alice@example.com");
+        remote.getCache(CacheNames.USER_PROFILE).evict("alice@example.com");
+
+        // Assert
+        assertEquals("profile", cache.get("alice@example.com", String.class));
+    }
+
+    @Test
+    @DisplayName("get: L1 hit, L2 hit and miss → counted separately for cache metrics")
+    void givenLookups_whenReading_thenCountsHitsPerLevelAndMisses() {
+        // Arrange
+        remote.getCache(CacheNames.USER_PROFILE).put("alice@example.com", "profile");
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache(CacheNames.USER_PROFILE);
+
+        // Act
+        cache.get("alice@example.com");
+        cache.get("alice@example.com");
+        cache.get("bob@example.com", () -> null);
+
+        // Assert
+        assertEquals(1, cache.getLocalHits());
+        assertEquals(1, cache.getRemoteHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("evict: removes both levels and broadcasts the key")
+    void givenCachedEntry_whenEvicting_thenRemovesBothLevelsAndBroadcasts() throws Exception {
+        // Arrange
+        Cache cache = cacheManager.getCache(CacheNames.USER_PROFILE);
+        cache.put("alice@example.com", "profile");
+
+        // Act
+        cache.evict("alice@example.com");
+
+        // Assert
+        assertNull(cache.get("alice@example.com"));
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2))
+                .convertAndSend(eq(TwoLevelCacheManager.INVALIDATION_CHANNEL), payload.capture());
+        TwoLevelCacheManager.Invalidation invalidation =
+                objectMapper.readValue(payload.getValue(), TwoLevelCacheManager.Invalidation.class);
+        assertEquals(CacheNames.USER_PROFILE, invalidation.cache());
+        assertEquals(List.of("alice@example.com"), invalidation.keys());
+    }
+
+    @Test
+    @DisplayName("onMessage: invalidation from another node → drops L1 entry only")
+    void givenPeerInvalidation_whenReceived_thenDropsLocalEntry() throws Exception {
+        // Arrange
+        Cache cache = cacheManager.getCache(CacheNames.USER_PROFILE);
+        cache.put("alice@example.com", "stale");
+        remote.getCache(CacheNames.USER_PROFILE).put("alice@example.com", "fresh");
+
+        // Act
+        cacheManager.onMessage(message(new TwoLevelCacheManager.Invalidation(
+                "other-node", CacheNames.USER_PROFILE, List.of("alice@example.com"))), null);
+
+        // Assert
+        assertEquals("fresh", cache.get("alice@example.com", String.class));
+    }
+
+    @Test
+    @DisplayName("onMessage: clear from another node → drops every L1 entry")
+    void givenPeerClear_whenReceived_thenDropsAllLocalEntries() throws Exception {
+        // Arrange
+        Cache cache = cacheManager.getCache(CacheNames.USER_PROFILE);
+        cache.put("alice@example.com", "stale");
+        remote.getCache(CacheNames.USER_PROFILE).clear();
+
+        // Act
+        cacheManager.onMessage(message(new TwoLevelCacheManager.Invalidation(
+                "other-node", CacheNames.USER_PROFILE, null)), null);
+
+        // Assert
+        assertNull(cache.get("alice@example.com"));
+    }
+
+    @Test
+    @DisplayName("get with loader: concurrent misses on one key → loader runs once")
+    void givenConcurrentMisses_whenLoading_thenLoaderRunsOnce() throws Exception {
+        // Arrange
+        Cache cache = cacheManager.getCache(CacheNames.USER_PROFILE);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get("alice@example.com", () -> {
+                    loads.incrementAndGet();
+                    Thread.sleep(50);
+                    return "profile";
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertEquals("profile", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("get with loader: entry past refresh-ahead point → served, then reloaded into both levels without a broadcast")
+    void givenAgingEntry_whenReading_thenServesCachedValueAndRefreshes() {
+        // Arrange
+        Cache cache = cacheManager.getCache(CacheNames.USER_PROFILE);
+        cache.get("alice@example.com", () -> "v1");
+        nanos.addAndGet(Duration.ofSeconds(50).toNanos());
+
+        // Act
+        String served = cache.get("alice@example.com", () -> "v2");
+
+        // Assert
+        assertEquals("v1", served);
+        assertEquals("v2", cache.get("alice@example.com", String.class));
+        assertEquals("v2", remote.getCache(CacheNames.USER_PROFILE).get("alice@example.com", String.class));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("get with loader: entry younger than refresh-ahead point → loader not called")
+    void givenFreshEntry_whenReading_thenDoesNotRefresh() {
+        // Arrange
+        Cache cache = cacheManager.getCache(CacheNames.USER_PROFILE);
+        cache.get("alice@example.com", () -> "v1");
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // Act
+        String served = cache.get("alice@example.com", () -> "v2");
+
+        // Assert
+        assertEquals("v1", served);
+        assertEquals("v1", remote.getCache(CacheNames.USER_PROFILE).get("alice@example.com", String.class));
+    }
+
+    private DefaultMessage message(TwoLevelCacheManager.Invalidation invalidation) throws Exception {
+        return new DefaultMessage(
+                TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                objectMapper.writeValueAsBytes(invalidation));
+    }
+}
@@ -1,9 +1,16 @@
 package com.auth.controller;
 
+import com.auth.dto.request.BulkUserActionRequest;
 import com.auth.dto.response.AdminDashboardDto;
+import com.auth.dto.response.BulkUserActionProgressDto;
 import com.auth.dto.response.ApiResponse;
+import com.auth.dto.response.CursorPageDto;
 import com.auth.dto.response.UserDto;
+import com.auth.dto.response.UserImportResultDto;
 import com.auth.service.AdminService;
+import com.auth.service.UserImportService;
+import com.auth.service.support.UserFileFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.ValidatorFactory;
@@ -13,20 +20,38 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -38,9 +63,15 @@ class AdminControllerTest {
     @Mock
     private AdminService adminService;
 
+    @Mock
+    private UserImportService userImportService;
+
     @Mock
     private Authentication authentication;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private AdminController adminController;
 
@@ -58,7 +89,7 @@ class AdminControllerTest {
         when(adminService.getDashboard("admin@example.com")).thenReturn(dashboard);
 
         // Act
-        ResponseEntity<ApiResponse<AdminDashboardDto>> response = adminController.getDashboard(authentication);
+        ResponseEntity<ApiResponse<AdminDashboardDto>> response = adminController.getDashboard(authentication, webRequest());
 
         // Assert
         verify(adminService).getDashboard("admin@example.com");
@@ -66,6 +97,63 @@ class AdminControllerTest {
         assertEquals(dashboard, response.getBody().getData());
     }
 
+    @Test
+    @DisplayName("getDashboard: version known → sets strong ETag and private revalidation")
+    void givenUsersVersion_whenGettingDashboard_thenSetsEtagAndCacheControl() {
+        // Arrange
+        when(authentication.getName()).thenReturn("admin@example.com");
+        when(adminService.getUsersVersion()).thenReturn(42L);
+        when(adminService.getDashboard("admin@example.com")).thenReturn(new AdminDashboardDto());
+
+        // Act
+        ResponseEntity<ApiResponse<AdminDashboardDto>> response =
+                adminController.getDashboard(authentication, webRequest());
+
+        // Assert
+        assertEquals("\"a-42-" + Integer.toHexString("admin@example.com".hashCode()) + "\"",
+                response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    @DisplayName("getDashboard: another admin's ETag → full body, not 304")
+    void givenOtherAdminsEtag_whenGettingDashboard_thenReturnsBody() {
+        // Arrange
+        when(authentication.getName()).thenReturn("second-admin@example.com");
+        when(adminService.getUsersVersion()).thenReturn(42L);
+        when(adminService.getDashboard("second-admin@example.com")).thenReturn(new AdminDashboardDto());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/admin/dashboard");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH,
+                "\"a-42-" + Integer.toHexString("admin@example.com".hashCode()) + "\"");
+
+        // Act
+        ResponseEntity<ApiResponse<AdminDashboardDto>> response = adminController.getDashboard(authentication,
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+
+        // Assert
+        assertNotNull(response);
+        verify(adminService).getDashboard("second-admin@example.com");
+    }
+
+    @Test
+    @DisplayName("getAllUsers: If-None-Match matches users version → 304 without querying users")
+    void givenCurrentEtag_whenGettingAllUsers_thenReturnsNotModifiedWithoutQuery() {
+        // Arrange
+        when(adminService.getUsersVersion()).thenReturn(42L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/admin/users");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"l-42\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<ApiResponse<Page<UserDto>>> response = adminController.getAllUsers(
+                0, 20, null, null, null, "createdAt", "desc", new ServletWebRequest(request, servletResponse));
+
+        // Assert
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verify(adminService, never()).getUsers(anyInt(), anyInt(), any(), any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("getDashboard: blank principal → throws IllegalArgumentException")
     void givenBlankPrincipal_whenGettingDashboard_thenThrowsIllegalArgumentException() {
@@ -75,7 +163,7 @@ class AdminControllerTest {
         // Act + Assert
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> adminController.getDashboard(authentication));
+                () -> adminController.getDashboard(authentication, webRequest()));
 
         // Assert
         assertEquals("Authenticated principal is required.", exception.getMessage());
@@ -107,7 +195,8 @@ class AdminControllerTest {
                 true,
                 "USER",
                 "createdAt",
-                "desc");
+                "desc",
+                webRequest());
 
         // Assert
         verify(adminService).getUsers(1, 20, "alice", true, "USER", "createdAt", "desc");
@@ -115,6 +204,115 @@ class AdminControllerTest {
         assertEquals(usersPage, response.getBody().getData());
     }
 
+    @Test
+    @DisplayName("getUsersByCursor: cursor params provided → returns cursor page")
+    void givenCursorParameters_whenGettingUsersByCursor_thenReturnsCursorPage() {
+        // Arrange
+        UserDto user = new UserDto();
+        user.setId(3L);
+        user.setEmail("alice@example.com");
+        CursorPageDto<UserDto> usersPage = new CursorPageDto<>(List.of(user), 1, true, "next", null, false);
+
+        when(adminService.getUsersByCursor("", 20, "alice", true, "USER", "createdAt", "desc", false))
+                .thenReturn(usersPage);
+
+        // Act
+        ResponseEntity<ApiResponse<CursorPageDto<UserDto>>> response = adminController.getUsersByCursor(
+                "",
+                20,
+                "alice",
+                true,
+                "USER",
+                "createdAt",
+                "desc",
+                false,
+                webRequest());
+
+        // Assert
+        verify(adminService).getUsersByCursor("", 20, "alice", true, "USER", "createdAt", "desc", false);
+        assertTrue(response.getBody().isSuccess());
+        assertEquals(usersPage, response.getBody().getData());
+    }
+
+    @Test
+    @DisplayName("exportUsers: csv format → streams attachment through admin service")
+    void givenCsvFormat_whenExportingUsers_thenStreamsAttachment() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = adminController.exportUsers("CSV", "alice", true, "USER");
+        response.getBody().writeTo(output);
+
+        // Assert
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("users.csv"));
+        verify(adminService).exportUsers(UserFileFormat.CSV, "alice", true, "USER", output);
+    }
+
+    @Test
+    @DisplayName("importUsers: no format and .csv file name → imports as CSV and returns the summary")
+    void givenCsvFileNameWithoutFormat_whenImportingUsers_thenImportsAsCsv() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "users.CSV", "text/csv",
+                "name,email,password\n".getBytes());
+        UserImportResultDto result = new UserImportResultDto(0L, 0L, 0L, 0L, List.of(), false);
+        when(userImportService.importUsers(eq(UserFileFormat.CSV), any(), eq(false))).thenReturn(result);
+
+        // Act
+        ResponseEntity<ApiResponse<UserImportResultDto>> response = adminController.importUsers(file, null, false);
+
+        // Assert
+        assertTrue(response.getBody().isSuccess());
+        assertEquals(result, response.getBody().getData());
+    }
+
+    @Test
+    @DisplayName("applyBulkAction: progress reports → streams one NDJSON line per report")
+    void givenProgressReports_whenApplyingBulkAction_thenStreamsNdjsonLines() throws Exception {
+        // Arrange
+        BulkUserActionRequest request = new BulkUserActionRequest();
+        request.setAction(BulkUserActionRequest.Action.REVOKE_SESSIONS);
+        request.setEnabled(false);
+        doAnswer(invocation -> {
+            Consumer<BulkUserActionProgressDto> listener = invocation.getArgument(1);
+            listener.accept(new BulkUserActionProgressDto(request.getAction(), 1_000L, 400L, false));
+            BulkUserActionProgressDto result = new BulkUserActionProgressDto(request.getAction(), 1_000L, 400L, true);
+            listener.accept(result);
+            return result;
+        }).when(adminService).applyBulkAction(eq(request), any());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = adminController.applyBulkAction(request);
+        response.getBody().writeTo(output);
+
+        // Assert
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(objectMapper.readTree(lines.get(1)).get("done").asBoolean());
+        assertEquals(400L, objectMapper.readTree(lines.get(0)).get("affected").asLong());
+    }
+
+    @Test
+    @DisplayName("BulkUserActionRequest validation: no ids and no filters → rejected")
+    void givenNoTargets_whenValidatingBulkRequest_thenReportsViolation() {
+        // Arrange
+        BulkUserActionRequest request = new BulkUserActionRequest();
+        request.setAction(BulkUserActionRequest.Action.DISABLE);
+
+        // Act
+        Set<ConstraintViolation<BulkUserActionRequest>> violations;
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            violations = factory.getValidator().validate(request);
+        }
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("targetSpecified", violations.iterator().next().getPropertyPath().toString());
+    }
+
     @Test
     @DisplayName("getAllUsers validation: page below zero → violates @Min")
     void givenNegativePage_whenValidatingGetAllUsers_thenReportsPageViolation() throws Exception {
@@ -194,7 +392,8 @@ class AdminControllerTest {
                 Boolean.class,
                 String.class,
                 String.class,
-                String.class);
+                String.class,
+                WebRequest.class);
 
         try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
             ExecutableValidator executableValidator = validatorFactory.getValidator().forExecutables();
@@ -205,8 +404,13 @@ class AdminControllerTest {
                     enabled,
                     role,
                     sortBy,
-                    sortDir
+                    sortDir,
+                    webRequest()
             });
         }
     }
+
+    private static ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
 }
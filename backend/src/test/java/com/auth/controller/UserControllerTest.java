@@ -3,8 +3,10 @@ package com.auth.controller;
 import com.auth.dto.request.ChangePasswordRequest;
 import com.auth.dto.response.ApiResponse;
 import com.auth.dto.response.MessageResponse;
+import com.auth.dto.response.UserBootstrapDto;
 import com.auth.dto.response.UserDashboardDto;
 import com.auth.dto.response.UserDto;
+import com.auth.service.AdminService;
 import com.auth.service.AuthService;
 import com.auth.service.UserPortalService;
 import org.junit.jupiter.api.DisplayName;
@@ -13,15 +15,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -36,6 +46,9 @@ class UserControllerTest {
     @Mock
     private UserPortalService userPortalService;
 
+    @Mock
+    private AdminService adminService;
+
     @Mock
     private Authentication authentication;
 
@@ -56,7 +69,7 @@ class UserControllerTest {
         when(userPortalService.getDashboard("alice@example.com")).thenReturn(dashboard);
 
         // Act
-        ResponseEntity<ApiResponse<UserDashboardDto>> response = userController.getDashboard(authentication);
+        ResponseEntity<ApiResponse<UserDashboardDto>> response = userController.getDashboard(authentication, webRequest());
 
         // Assert
         verify(userPortalService).getDashboard("alice@example.com");
@@ -73,7 +86,7 @@ class UserControllerTest {
         // Act + Assert
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> userController.getDashboard(authentication));
+                () -> userController.getDashboard(authentication, webRequest()));
 
         // Assert
         assertEquals("Authenticated principal is required.", exception.getMessage());
@@ -97,7 +110,7 @@ class UserControllerTest {
         when(userPortalService.getProfile("alice@example.com")).thenReturn(profile);
 
         // Act
-        ResponseEntity<ApiResponse<UserDto>> response = userController.getProfile(authentication);
+        ResponseEntity<ApiResponse<UserDto>> response = userController.getProfile(authentication, webRequest());
 
         // Assert
         verify(userPortalService).getProfile("alice@example.com");
@@ -105,6 +118,68 @@ class UserControllerTest {
         assertEquals(profile, response.getBody().getData());
     }
 
+    @Test
+    @DisplayName("getProfile: If-None-Match matches profile version → 304 without loading profile")
+    void givenCurrentEtag_whenGettingProfile_thenReturnsNotModified() {
+        // Arrange
+        when(authentication.getName()).thenReturn("alice@example.com");
+        when(userPortalService.getProfileVersion("alice@example.com")).thenReturn(1736L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/profile");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"p-1736\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<ApiResponse<UserDto>> response =
+                userController.getProfile(authentication, new ServletWebRequest(request, servletResponse));
+
+        // Assert
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verify(userPortalService, never()).getProfile("alice@example.com");
+    }
+
+    @Test
+    @DisplayName("getBootstrap: admin → ETag combines profile and users versions")
+    void givenAdmin_whenGettingBootstrap_thenEtagCombinesVersions() {
+        // Arrange
+        UserBootstrapDto bootstrap = new UserBootstrapDto(profile(), null, null);
+        when(authentication.getName()).thenReturn("alice@example.com");
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(authentication).getAuthorities();
+        when(userPortalService.getProfileVersion("alice@example.com")).thenReturn(1736L);
+        when(adminService.getUsersVersion()).thenReturn(42L);
+        when(userPortalService.getBootstrap("alice@example.com", true)).thenReturn(bootstrap);
+
+        // Act
+        ResponseEntity<ApiResponse<UserBootstrapDto>> response =
+                userController.getBootstrap(authentication, webRequest());
+
+        // Assert
+        assertEquals(bootstrap, response.getBody().getData());
+        assertEquals("\"ba-1736-42\"", response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    @DisplayName("getBootstrap: matching If-None-Match → answers 304 without building payload")
+    void givenMatchingEtag_whenGettingBootstrap_thenReturnsNotModified() {
+        // Arrange
+        when(authentication.getName()).thenReturn("alice@example.com");
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_USER"))).when(authentication).getAuthorities();
+        when(userPortalService.getProfileVersion("alice@example.com")).thenReturn(1736L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/bootstrap");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"b-1736\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<ApiResponse<UserBootstrapDto>> response =
+                userController.getBootstrap(authentication, new ServletWebRequest(request, servletResponse));
+
+        // Assert
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verify(userPortalService, never()).getBootstrap("alice@example.com", false);
+    }
+
     @Test
     @DisplayName("changePassword: valid request → returns success message")
     void givenValidChangePasswordRequest_whenChangingPassword_thenReturnsSuccessMessage() {
@@ -144,4 +219,18 @@ class UserControllerTest {
         assertEquals("Authenticated principal is required.", exception.getMessage());
         verifyNoInteractions(authService);
     }
+
+    private static UserDto profile() {
+        UserDto profile = new UserDto();
+        profile.setId(7L);
+        profile.setName("Alice");
+        profile.setEmail("alice@example.com");
+        profile.setRoles(Set.of("ROLE_USER"));
+        profile.setEnabled(true);
+        return profile;
+    }
+
+    private static ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
 }
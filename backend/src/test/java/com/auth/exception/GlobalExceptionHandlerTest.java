@@ -0,0 +1,71 @@
+package com.auth.exception;
+
+import com.auth.dto.response.ApiResponse;
+import com.auth.dto.response.ProofOfWorkChallengeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("GlobalExceptionHandler")
+class GlobalExceptionHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(objectMapper);
+
+    @Test
+    @DisplayName("handleRateLimitExceededException: → 429, Retry-After and the usual error body, encoded once")
+    void givenRateLimitExceeded_whenHandling_thenReturnsCachedErrorBody() throws Exception {
+        // Arrange
+        RateLimitExceededException exception = new RateLimitExceededException("Slow down.", 30);
+
+        // Act
+        ResponseEntity<byte[]> first = handler.handleRateLimitExceededException(exception);
+        ResponseEntity<byte[]> second = handler.handleRateLimitExceededException(
+                new RateLimitExceededException("Slow down.", 0));
+
+        // Assert
+        assertEquals(429, first.getStatusCode().value());
+        assertEquals("30", first.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("1", second.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(MediaType.APPLICATION_JSON, first.getHeaders().getContentType());
+        assertArrayEquals(objectMapper.writeValueAsBytes(ApiResponse.error("Slow down.")), first.getBody());
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("handleAccountLockedException: → 423 with Retry-After")
+    void givenAccountLocked_whenHandling_thenReturnsLocked() {
+        // Act
+        ResponseEntity<byte[]> response = handler.handleAccountLockedException(
+                new AccountLockedException("Locked.", 900));
+
+        // Assert
+        assertEquals(423, response.getStatusCode().value());
+        assertEquals("900", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("handleChallengeRequiredException: → 428 with the puzzle; exception is stackless")
+    void givenChallengeRequired_whenHandling_thenReturnsPuzzle() {
+        // Arrange
+        ProofOfWorkChallengeDto challenge = new ProofOfWorkChallengeDto("abc", "SHA-256", 18, 120);
+        ChallengeRequiredException exception = new ChallengeRequiredException("Solve it.", challenge);
+
+        // Act
+        ResponseEntity<ApiResponse<ProofOfWorkChallengeDto>> response =
+                handler.handleChallengeRequiredException(exception);
+
+        // Assert
+        assertEquals(428, response.getStatusCode().value());
+        assertSame(challenge, response.getBody().getData());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+}
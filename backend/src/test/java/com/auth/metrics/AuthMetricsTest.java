@@ -0,0 +1,69 @@
+package com.auth.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AuthMetrics")
+class AuthMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("record: enabled → timer tagged with endpoint, operation and outcome")
+    void givenEnabled_whenRecording_thenTimesStageWithTags() {
+        // Arrange
+        AuthMetrics metrics = new AuthMetrics(registry, true);
+
+        // Act
+        metrics.recordDuration(AuthMetrics.Stage.JWT, "verify", AuthMetrics.OUTCOME_SUCCESS, 2_000_000,
+                "/api/v1/user/profile");
+
+        // Assert
+        Timer timer = registry.find("auth.jwt")
+                .tags("endpoint", "/api/v1/user/profile", "operation", "verify", "outcome", "success")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertEquals(2.0, timer.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("start/record: disabled → no clock read and nothing recorded")
+    void givenDisabled_whenRecording_thenRegistersNothing() {
+        // Arrange
+        AuthMetrics metrics = new AuthMetrics(registry, false);
+
+        // Act
+        long start = metrics.start();
+        metrics.record(AuthMetrics.Stage.PASSWORD, "match", "match", start);
+
+        // Assert
+        assertEquals(0, start);
+        assertTrue(registry.find("auth.password").timers().isEmpty());
+        assertFalse(metrics.isEnabled());
+    }
+
+    @Test
+    @DisplayName("endpoint: mapped request → route pattern; otherwise unmapped")
+    void givenRequests_whenResolvingEndpoint_thenUsesRoutePattern() {
+        // Arrange
+        MockHttpServletRequest mapped = new MockHttpServletRequest("GET", "/api/v1/admin/users/42");
+        mapped.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/admin/users/{id}");
+
+        // Act + Assert
+        assertEquals("/api/v1/admin/users/{id}", AuthMetrics.endpoint(mapped));
+        assertEquals(AuthMetrics.UNMAPPED_ENDPOINT, AuthMetrics.endpoint(new MockHttpServletRequest()));
+        assertEquals(AuthMetrics.NO_ENDPOINT, AuthMetrics.currentEndpoint());
+    }
+}
@@ -0,0 +1,91 @@
+package com.auth.security;
+
+import com.auth.security.ip.IpAccessRules;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ClientIpResolver")
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver();
+
+    @Test
+    @DisplayName("resolve: trusted proxy with X-Forwarded-For → rightmost untrusted hop")
+    void givenTrustedProxy_whenResolving_thenReturnsRightmostUntrustedHop() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Forwarded-For", "198.51.100.1, 203.0.113.7 , 10.0.0.1");
+        request.setRemoteAddr("10.0.0.2");
+
+        // Act + Assert
+        assertEquals("203.0.113.7", resolver.resolve(request));
+    }
+
+    @Test
+    @DisplayName("resolve: untrusted peer sends X-Forwarded-For → header ignored")
+    void givenUntrustedPeer_whenResolving_thenIgnoresForwardingHeaders() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+        request.addHeader("X-Real-IP", "198.51.100.2");
+        request.setRemoteAddr("203.0.113.7");
+
+        // Act + Assert
+        assertEquals("203.0.113.7", resolver.resolve(request));
+    }
+
+    @Test
+    @DisplayName("resolve: no trusted proxies configured → socket address")
+    void givenNoTrustedProxies_whenResolving_thenReturnsSocketAddress() {
+        // Arrange
+        resolver.setRules(IpAccessRules.of(List.of(), List.of(), List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+        request.setRemoteAddr("10.0.0.2");
+
+        // Act + Assert
+        assertEquals("10.0.0.2", resolver.resolve(request));
+    }
+
+    @Test
+    @DisplayName("reloadRulesFile: file changed → new rules replace the configured ones")
+    void givenRulesFile_whenReloading_thenAppliesFileRules(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path file = directory.resolve("client-ip.properties");
+        Files.writeString(file, "deny=198.51.100.0/24\n");
+        ReflectionTestUtils.setField(resolver, "allow", "");
+        ReflectionTestUtils.setField(resolver, "deny", "");
+        ReflectionTestUtils.setField(resolver, "rulesFile", file.toString());
+
+        // Act
+        resolver.reloadRulesFile();
+
+        // Assert
+        IpAccessRules rules = resolver.getRules();
+        assertFalse(rules.permits("198.51.100.9"));
+        assertTrue(rules.permits("203.0.113.7"));
+        assertTrue(rules.trustedProxies().contains("10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("subnetKey: IPv4 (also mapped) → /24, IPv6 → /64, anything else unchanged")
+    void givenAddresses_whenComputingSubnetKey_thenGroupsByNetwork() {
+        assertEquals("203.0.113.0/24", ClientIpResolver.subnetKey("203.0.113.7"));
+        assertEquals("2001:db8:0:1::/64", ClientIpResolver.subnetKey("2001:db8:0:1:abcd::42"));
+        assertEquals("fe80:0:0:0::/64", ClientIpResolver.subnetKey("fe80::1%eth0"));
+        assertEquals("203.0.113.0/24", ClientIpResolver.subnetKey("::ffff:203.0.113.7"));
+        assertEquals("not-an-ip", ClientIpResolver.subnetKey("not-an-ip"));
+        assertEquals("999.0.0.1", ClientIpResolver.subnetKey("999.0.0.1"));
+    }
+}
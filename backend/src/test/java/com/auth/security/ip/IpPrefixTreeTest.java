@@ -0,0 +1,82 @@
+package com.auth.security.ip;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("IpPrefixTree")
+class IpPrefixTreeTest {
+
+    private final IpPrefixTree tree = IpPrefixTree.of(List.of("10.0.0.0/8", "192.168.1.7", "2001:db8::/32", " "));
+
+    @Test
+    @DisplayName("contains: IPv4 inside and outside blocks → matches only inside")
+    void givenIpv4Addresses_whenLookingUp_thenMatchesOnlyInsideBlocks() {
+        assertTrue(tree.contains("10.255.3.4"));
+        assertTrue(tree.contains("192.168.1.7"));
+        assertFalse(tree.contains("192.168.1.8"));
+        assertFalse(tree.contains("11.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("contains: IPv6 forms, mapped IPv4 and zone IDs → parsed like the canonical address")
+    void givenIpv6Forms_whenLookingUp_thenMatchesCanonicalAddress() {
+        assertTrue(tree.contains("2001:db8::1"));
+        assertTrue(tree.contains("2001:DB8:0:0:0:0:0:ffff"));
+        assertTrue(tree.contains("2001:db8::1%eth0"));
+        assertTrue(tree.contains("::ffff:10.1.2.3"));
+        assertFalse(tree.contains("2001:db9::1"));
+        assertFalse(tree.contains("::1"));
+    }
+
+    @Test
+    @DisplayName("contains: malformed text → never matches")
+    void givenMalformedText_whenLookingUp_thenDoesNotMatch() {
+        IpPrefixTree everything = IpPrefixTree.of(List.of("0.0.0.0/0", "::/0"));
+
+        assertTrue(everything.contains("8.8.8.8"));
+        assertTrue(everything.contains("::"));
+        for (String text : List.of("", "unknown", "10.0.0", "10.0.0.256", "10.0.0.1.", "1::2::3", "1:2:3:4:5:6:7:8:9",
+                "12345::", ":1::", "10.0.0.1:8080")) {
+            assertFalse(everything.contains(text), text);
+        }
+    }
+
+    @Test
+    @DisplayName("contains: sub-range of a header → matches the slice only")
+    void givenHeaderSlice_whenLookingUp_thenMatchesSlice() {
+        String header = "203.0.113.9, 10.0.0.1";
+
+        assertTrue(tree.contains(header, 13, header.length()));
+        assertFalse(tree.contains(header, 0, 11));
+    }
+
+    @Test
+    @DisplayName("parseIpv4/ipv6High/ipv6Low: literals → address bits; other text → rejected")
+    void givenLiterals_whenParsing_thenReturnsAddressBits() {
+        assertEquals(0xcb00_7107L, IpPrefixTree.parseIpv4("203.0.113.7"));
+        assertEquals(-1, IpPrefixTree.parseIpv4("2001:db8::1"));
+        assertEquals(-1, IpPrefixTree.parseIpv4("unknown"));
+
+        assertTrue(IpPrefixTree.isIpv6("2001:db8:0:1::42%eth0"));
+        assertFalse(IpPrefixTree.isIpv6("203.0.113.7"));
+        assertEquals(0x2001_0db8_0000_0001L, IpPrefixTree.ipv6High("2001:db8:0:1::42%eth0"));
+        assertEquals(0x42L, IpPrefixTree.ipv6Low("2001:db8:0:1::42%eth0"));
+        assertEquals(0xcb00_7107L, IpPrefixTree.mappedIpv4(0, IpPrefixTree.ipv6Low("::ffff:203.0.113.7")));
+        assertEquals(-1, IpPrefixTree.mappedIpv4(0, IpPrefixTree.ipv6Low("::1")));
+    }
+
+    @Test
+    @DisplayName("of: invalid block → IllegalArgumentException")
+    void givenInvalidBlock_whenCompiling_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> IpPrefixTree.of(List.of("10.0.0.0/33")));
+        assertThrows(IllegalArgumentException.class, () -> IpPrefixTree.of(List.of("2001:db8::/129")));
+        assertThrows(IllegalArgumentException.class, () -> IpPrefixTree.of(List.of("example.com/8")));
+    }
+}
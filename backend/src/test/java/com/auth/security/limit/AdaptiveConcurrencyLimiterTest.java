@@ -0,0 +1,130 @@
+package com.auth.security.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AdaptiveConcurrencyLimiter")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("tryAcquire: limit reached → rejects and counts until a permit is released")
+    void givenLimitReached_whenAcquiring_thenRejectsUntilReleased() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // Act
+        boolean admitted = limiter.tryAcquire();
+        limiter.onSuccess(millis(10));
+
+        // Assert
+        assertFalse(admitted);
+        assertEquals(1, limiter.getRejected());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("onSuccess: saturated at steady latency → limit grows")
+    void givenSaturatedAtSteadyLatency_whenWindowsClose_thenLimitGrows() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            runSaturatedWindow(limiter, millis(50));
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 20, () -> "limit=" + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("onSuccess: latency jumps well above baseline → limit shrinks")
+    void givenLatencyJump_whenWindowsClose_thenLimitShrinks() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        for (int i = 0; i < 5; i++) {
+            runSaturatedWindow(limiter, millis(20));
+        }
+        int before = limiter.getLimit();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            runSaturatedWindow(limiter, millis(200));
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < before, () -> "before=" + before + " after=" + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("onDropped: failures in a window → limit backs off, never below the minimum")
+    void givenDrops_whenWindowsClose_thenLimitBacksOffToMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            clock.addAndGet(WINDOW.toNanos());
+            limiter.onDropped();
+        }
+
+        // Assert
+        assertEquals(4, limiter.getLimit());
+        assertEquals(100, limiter.getDropped());
+    }
+
+    @Test
+    @DisplayName("onSuccess: mostly idle → limit unchanged")
+    void givenLowUtilisation_whenWindowsClose_thenLimitUnchanged() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        // Act
+        for (int window = 0; window < 5; window++) {
+            for (int i = 0; i < AdaptiveConcurrencyLimiter.MIN_WINDOW_SAMPLES; i++) {
+                limiter.tryAcquire();
+                clock.addAndGet(WINDOW.toNanos() / AdaptiveConcurrencyLimiter.MIN_WINDOW_SAMPLES);
+                limiter.onSuccess(millis(10));
+            }
+        }
+
+        // Assert
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter("test", initialLimit, 4, 200, 1.5, 0.5, WINDOW, clock::get);
+    }
+
+    /** Fills every permit, advances past the window, then completes them all at {@code latency}. */
+    private void runSaturatedWindow(AdaptiveConcurrencyLimiter limiter, long latency) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        clock.addAndGet(WINDOW.toNanos());
+        for (int i = 0; i < admitted; i++) {
+            limiter.onSuccess(latency);
+        }
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
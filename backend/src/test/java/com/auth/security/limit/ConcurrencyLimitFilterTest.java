@@ -0,0 +1,222 @@
+package com.auth.security.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ConcurrencyLimitFilter")
+class ConcurrencyLimitFilterTest {
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 1.5, 0.2, Duration.ofSeconds(1));
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper(), cors());
+
+    @Test
+    @DisplayName("doFilter: permit available → passes through and releases it")
+    void givenPermitAvailable_whenFiltering_thenPassesThroughAndReleases() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/auth/login"), response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertTrue(chain.getRequest() != null);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("doFilter: limit reached → 503 with Retry-After, chain not invoked")
+    void givenLimitReached_whenFiltering_thenShedsWith503() throws Exception {
+        // Arrange
+        limiter.tryAcquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/auth/login"), response, chain);
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals(ConcurrencyLimitFilter.RETRY_AFTER_SECONDS, response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("\"success\":false"));
+        assertNull(chain.getRequest());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    @DisplayName("doFilter: limit reached, allowed origin → 503 carries CORS headers exposing Retry-After")
+    void givenLimitReachedForAllowedOrigin_whenFiltering_thenAddsCorsHeaders() throws Exception {
+        // Arrange
+        limiter.tryAcquire();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.addHeader(HttpHeaders.ORIGIN, "https://app.example.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("https://app.example.com", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertEquals("true", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS));
+        assertEquals("ETag, Retry-After", response.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS));
+    }
+
+    @Test
+    @DisplayName("doFilter: limit reached, unknown origin → 503 without CORS allow headers")
+    void givenLimitReachedForUnknownOrigin_whenFiltering_thenOmitsCorsHeaders() throws Exception {
+        // Arrange
+        limiter.tryAcquire();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.addHeader(HttpHeaders.ORIGIN, "https://evil.example.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+    }
+
+    @Test
+    @DisplayName("doFilter: CORS preflight with limit reached → passes through without a permit")
+    void givenPreflight_whenFiltering_thenBypassesLimiter() throws Exception {
+        // Arrange
+        limiter.tryAcquire();
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/v1/auth/login");
+        request.addHeader(HttpHeaders.ORIGIN, "https://app.example.com");
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertTrue(chain.getRequest() != null);
+        assertEquals(0, limiter.getRejected());
+    }
+
+    @Test
+    @DisplayName("doFilter: one client floods the auth limit → capped at its share, another client still admitted")
+    void givenFloodingClient_whenAnotherClientArrives_thenOtherClientAdmitted() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter authLimiter =
+                new AdaptiveConcurrencyLimiter("auth", 4, 4, 4, 1.5, 0.2, Duration.ofSeconds(1));
+        ConcurrencyLimitFilter partitioned = new ConcurrencyLimitFilter(authLimiter, new ObjectMapper(), cors(),
+                ServletRequest::getRemoteAddr, 0.5);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<MockHttpServletResponse>> flood = List.of(
+                hold(partitioned, "203.0.113.7", release),
+                hold(partitioned, "203.0.113.7", release),
+                hold(partitioned, "203.0.113.7", release),
+                hold(partitioned, "203.0.113.7", release));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (authLimiter.getInFlight() + authLimiter.getRejected() < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        // Act
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        partitioned.doFilter(request("198.51.100.9"), other, new MockFilterChain());
+        release.countDown();
+
+        // Assert
+        assertEquals(200, other.getStatus());
+        long shed = 0;
+        for (CompletableFuture<MockHttpServletResponse> response : flood) {
+            shed += response.get(5, TimeUnit.SECONDS).getStatus() == 503 ? 1 : 0;
+        }
+        assertEquals(2, shed);
+        assertEquals(0, authLimiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("doFilter: time reported via excludeFromLatency → left out of the latency sample")
+    void givenQueueWait_whenRequestCompletes_thenExcludedFromLatency() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter sampled =
+                new AdaptiveConcurrencyLimiter("auth", 4, 1, 4, 1.5, 0.2, Duration.ZERO);
+        ConcurrencyLimitFilter timed = new ConcurrencyLimitFilter(sampled, new ObjectMapper(), null);
+
+        // Act: every request spends ~5 ms queued and reports it.
+        for (int i = 0; i < AdaptiveConcurrencyLimiter.MIN_WINDOW_SAMPLES; i++) {
+            timed.doFilter(new MockHttpServletRequest("POST", "/api/v1/auth/login"), new MockHttpServletResponse(),
+                    (request, response) -> {
+                        RequestContextHolder.setRequestAttributes(
+                                new ServletRequestAttributes((HttpServletRequest) request));
+                        try {
+                            long queuedAt = System.nanoTime();
+                            Thread.sleep(5);
+                            ConcurrencyLimitFilter.excludeFromLatency(System.nanoTime() - queuedAt);
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            RequestContextHolder.resetRequestAttributes();
+                        }
+                    });
+        }
+
+        // Assert
+        assertTrue(sampled.getBaselineLatencyMs() < 1, () -> "baseline=" + sampled.getBaselineLatencyMs() + "ms");
+    }
+
+    /** Starts a request from {@code remoteAddr} whose handler blocks until {@code release} opens. */
+    private static CompletableFuture<MockHttpServletResponse> hold(ConcurrencyLimitFilter filter, String remoteAddr,
+                                                                   CountDownLatch release) {
+        return CompletableFuture.supplyAsync(() -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            try {
+                filter.doFilter(request(remoteAddr), response, (request, ignored) -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+            return response;
+        }, Thread::startVirtualThread);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static UrlBasedCorsConfigurationSource cors() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("https://app.example.com"));
+        configuration.setExposedHeaders(List.of("ETag", "Retry-After"));
+        configuration.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
@@ -0,0 +1,33 @@
+package com.auth.security.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("ConcurrencyLimiterMetrics")
+class ConcurrencyLimiterMetricsTest {
+
+    @Test
+    @DisplayName("bindTo: limit, in-flight and rejections → concurrency.* meters tagged with the limiter")
+    void givenLimiter_whenBound_thenPublishesStatistics() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter("auth", 1, 1, 1, 1.5, 0.2, Duration.ofSeconds(1));
+        new ConcurrencyLimiterMetrics(limiter).bindTo(registry);
+
+        // Act
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // Assert
+        assertEquals(1.0, registry.get("concurrency.limit").tag("limiter", "auth").gauge().value());
+        assertEquals(1.0, registry.get("concurrency.in.flight").tag("limiter", "auth").gauge().value());
+        assertEquals(1.0, registry.get("concurrency.accepted").tag("limiter", "auth").functionCounter().count());
+        assertEquals(1.0, registry.get("concurrency.rejected").tag("limiter", "auth").functionCounter().count());
+    }
+}
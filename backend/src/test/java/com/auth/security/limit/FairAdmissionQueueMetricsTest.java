@@ -0,0 +1,53 @@
+package com.auth.security.limit;
+
+import com.auth.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("FairAdmissionQueueMetrics")
+class FairAdmissionQueueMetricsTest {
+
+    @Test
+    @DisplayName("bindTo: admissions and a timed-out wait → fair.queue.* meters tagged with the queue")
+    void givenQueue_whenBound_thenPublishesStatistics() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FairAdmissionQueue queue = new FairAdmissionQueue(1, 5, 100, Duration.ofMillis(20));
+        new FairAdmissionQueueMetrics(queue, "password-hashing").bindTo(registry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        CompletableFuture<?> holder = CompletableFuture.runAsync(() -> queue.run("a", () -> {
+            holding.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }), Thread::startVirtualThread);
+        holding.await(5, TimeUnit.SECONDS);
+        assertThrows(RateLimitExceededException.class, () -> queue.run("b", () -> "b1"));
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        FunctionTimer wait = registry.get("fair.queue.wait").tag("queue", "password-hashing").functionTimer();
+        assertEquals(1.0, registry.get("fair.queue.slots").tag("queue", "password-hashing").gauge().value());
+        assertEquals(0.0, registry.get("fair.queue.depth").tag("queue", "password-hashing").gauge().value());
+        assertEquals(1.0, wait.count());
+        assertEquals(1.0, registry.get("fair.queue.rejected").tag("queue", "password-hashing")
+                .functionCounter().count());
+    }
+}
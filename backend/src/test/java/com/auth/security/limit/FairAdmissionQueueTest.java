@@ -0,0 +1,139 @@
+package com.auth.security.limit;
+
+import com.auth.exception.RateLimitExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("FairAdmissionQueue")
+class FairAdmissionQueueTest {
+
+    private final List<String> order = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("run: one client floods the queue → another client is served next, not last")
+    void givenFloodingClient_whenSlotFrees_thenOtherClientIsServedInTurn() throws Exception {
+        // Arrange
+        FairAdmissionQueue queue = new FairAdmissionQueue(1, 10, 100, Duration.ofSeconds(10));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch releaseHolder = new CountDownLatch(1);
+        CompletableFuture<?> holder = start(queue, "attacker", "hold", holding, releaseHolder);
+        holding.await(5, TimeUnit.SECONDS);
+        List<CompletableFuture<?>> waiting = List.of(
+                enqueue(queue, "attacker", "a1"),
+                enqueue(queue, "attacker", "a2"),
+                enqueue(queue, "attacker", "a3"),
+                enqueue(queue, "user", "u1"));
+
+        // Act
+        releaseHolder.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<?> future : waiting) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(List.of("hold", "a1", "u1", "a2", "a3"), order);
+    }
+
+    @Test
+    @DisplayName("run: client already has its maximum queued → rejected with 429")
+    void givenClientQueueFull_whenRunning_thenRejected() throws Exception {
+        // Arrange
+        FairAdmissionQueue queue = new FairAdmissionQueue(1, 1, 100, Duration.ofSeconds(10));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch releaseHolder = new CountDownLatch(1);
+        CompletableFuture<?> holder = start(queue, "attacker", "hold", holding, releaseHolder);
+        holding.await(5, TimeUnit.SECONDS);
+        CompletableFuture<?> queued = enqueue(queue, "attacker", "a1");
+
+        // Act + Assert
+        assertThrows(RateLimitExceededException.class, () -> queue.run("attacker", () -> "a2"));
+        releaseHolder.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("run: no slot frees up within the wait limit → rejected and dequeued")
+    void givenNoSlotWithinMaxWait_whenRunning_thenRejectedAndDequeued() throws Exception {
+        // Arrange
+        FairAdmissionQueue queue = new FairAdmissionQueue(1, 5, 100, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch releaseHolder = new CountDownLatch(1);
+        CompletableFuture<?> holder = start(queue, "attacker", "hold", holding, releaseHolder);
+        holding.await(5, TimeUnit.SECONDS);
+
+        // Act + Assert
+        assertThrows(RateLimitExceededException.class, () -> queue.run("user", () -> "u1"));
+        assertEquals(0, queue.getQueued());
+        releaseHolder.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals("u2", queue.run("user", () -> "u2"));
+    }
+
+    @Test
+    @DisplayName("run: request queued behind a busy slot → its wait is reported; a free slot reports zero")
+    void givenQueuedRequest_whenAdmitted_thenReportsWait() throws Exception {
+        // Arrange
+        List<Long> waits = new CopyOnWriteArrayList<>();
+        FairAdmissionQueue queue = new FairAdmissionQueue(1, 5, 100, Duration.ofSeconds(10), waits::add);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch releaseHolder = new CountDownLatch(1);
+        CompletableFuture<?> holder = start(queue, "attacker", "hold", holding, releaseHolder);
+        holding.await(5, TimeUnit.SECONDS);
+        CompletableFuture<?> queued = enqueue(queue, "user", "u1");
+
+        // Act
+        Thread.sleep(20);
+        releaseHolder.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(0L, waits.get(0));
+        assertTrue(waits.get(1) >= TimeUnit.MILLISECONDS.toNanos(20), () -> "waits=" + waits);
+    }
+
+    /** Runs a task that holds its slot until {@code release} opens. */
+    private CompletableFuture<?> start(FairAdmissionQueue queue, String client, String name,
+                                       CountDownLatch started, CountDownLatch release) {
+        return CompletableFuture.runAsync(() -> queue.run(client, () -> {
+            order.add(name);
+            started.countDown();
+            awaitQuietly(release);
+            return null;
+        }), Thread::startVirtualThread);
+    }
+
+    /** Submits a task and waits until it is queued, so arrival order is deterministic. */
+    private CompletableFuture<?> enqueue(FairAdmissionQueue queue, String client, String name)
+            throws InterruptedException {
+        int before = queue.getQueued();
+        CompletableFuture<?> future = CompletableFuture.runAsync(
+                () -> queue.run(client, () -> order.add(name)), Thread::startVirtualThread);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.getQueued() == before && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return future;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -71,7 +71,6 @@ class AuthTokenServiceTest {
         when(jwtUtil.generateTokenFromEmailAndRoles(any(String.class), anyList())).thenReturn("access-token");
         when(jwtUtil.getAccessTokenExpiration()).thenReturn(900_000L);
         when(tokenHashService.hash(any(String.class))).thenReturn("hashed-refresh-token");
-        when(userService.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         AuthTokens tokens = authTokenService.issueTokens(user);
@@ -81,8 +80,8 @@ class AuthTokenServiceTest {
         assertEquals("Bearer", tokens.response().getTokenType());
         assertEquals(2, tokens.response().getRoles().size());
         assertNotNull(tokens.refreshToken());
-        assertEquals("hashed-refresh-token", user.getRefreshToken());
-        assertEquals(FIXED_NOW.plusHours(1), user.getRefreshTokenExpiry());
+        verify(userService).updateRefreshToken(7L, "hashed-refresh-token", FIXED_NOW.plusHours(1));
+        verify(userService, never()).save(any(User.class));
 
         ArgumentCaptor<String> tokenCaptor = ArgumentCaptor.forClass(String.class);
         verify(tokenHashService).hash(tokenCaptor.capture());
@@ -131,9 +130,26 @@ class AuthTokenServiceTest {
         assertThrows(TokenValidationException.class, () -> authTokenService.refreshTokens("raw-refresh-token"));
 
         // Assert
-        assertEquals(null, user.getRefreshToken());
-        assertEquals(null, user.getRefreshTokenExpiry());
-        verify(userService).save(user);
+        verify(userService).clearRefreshToken("hashed");
+        verify(userService, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("refreshTokens: token rotated concurrently → throws TokenValidationException")
+    void givenTokenRotatedConcurrently_whenRefreshingTokens_thenThrowsTokenValidationException() {
+        // Arrange
+        User user = buildUser();
+        user.setRefreshToken("hashed");
+        user.setRefreshTokenExpiry(FIXED_NOW.plusMinutes(30));
+
+        when(tokenHashService.hash(any(String.class))).thenAnswer(invocation ->
+                "raw-refresh-token".equals(invocation.getArgument(0)) ? "hashed" : "new-hash");
+        when(userService.findByRefreshToken("hashed")).thenReturn(Optional.of(user));
+        when(userService.rotateRefreshToken("hashed", "new-hash", FIXED_NOW.plusHours(1))).thenReturn(false);
+
+        // Act + Assert
+        assertThrows(TokenValidationException.class, () -> authTokenService.refreshTokens("raw-refresh-token"));
+        verify(jwtUtil, never()).generateTokenFromEmailAndRoles(any(String.class), anyList());
     }
 
     @Test
@@ -144,7 +160,7 @@ class AuthTokenServiceTest {
 
         // Assert
         verify(tokenHashService, never()).hash(any(String.class));
-        verify(userService, never()).findByRefreshToken(any(String.class));
+        verify(userService, never()).clearRefreshToken(any(String.class));
     }
 
     private User buildUser() {
@@ -0,0 +1,189 @@
+package com.auth.service.auth;
+
+import com.auth.dto.response.AbuseOffenderDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CredentialStuffingDetector")
+class CredentialStuffingDetectorTest {
+
+    private static final long WINDOW_SECONDS = 60;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HyperLogLogOperations<String, String> hyperLogLogOperations;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private CredentialStuffingDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new CredentialStuffingDetector(redisTemplate, clock::get);
+        ReflectionTestUtils.setField(detector, "windowSeconds", WINDOW_SECONDS);
+        ReflectionTestUtils.setField(detector, "maxTrackedIps", 100L);
+        ReflectionTestUtils.setField(detector, "minReportedEmails", 5L);
+        ReflectionTestUtils.setField(detector, "topOffenders", 2);
+    }
+
+    @Test
+    @DisplayName("assess: IP HyperLogLog and local failures → assessment carries them")
+    void givenEarlierFailures_whenAssessing_thenReturnsDistinctCounts() {
+        // Arrange
+        when(redisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+        when(hyperLogLogOperations.size(CredentialStuffingDetector.IP_EMAILS_KEY_PREFIX + "203.0.113.7"))
+                .thenReturn(25L);
+        detector.recordFailure("198.51.100.1", "198.51.100.0/24", "alice@example.com");
+        detector.recordFailure("198.51.100.2", "198.51.100.0/24", "alice@example.com");
+
+        // Act
+        CredentialStuffingDetector.Assessment assessment =
+                detector.assess("203.0.113.7", "203.0.113.0/24", "alice@example.com");
+
+        // Assert
+        assertEquals(new CredentialStuffingDetector.Assessment(25, 2, 0), assessment);
+    }
+
+    @Test
+    @DisplayName("assess: Redis down → fails open but still reports local counts")
+    void givenRedisDown_whenAssessing_thenFailsOpenWithLocalCounts() {
+        // Arrange
+        when(redisTemplate.opsForHyperLogLog()).thenThrow(new RedisConnectionFailureException("down"));
+        record("203.0.113.0/24", 3);
+
+        // Act
+        CredentialStuffingDetector.Assessment assessment =
+                detector.assess("203.0.113.7", "203.0.113.0/24", "alice@example.com");
+
+        // Assert
+        assertEquals(new CredentialStuffingDetector.Assessment(0, 1, 3), assessment);
+    }
+
+    @Test
+    @DisplayName("recordFailure: same email and IP again → counted once against the email")
+    void givenRepeatedPair_whenRecordingFailures_thenDistinctIpsCountedOnce() {
+        // Arrange
+        when(redisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+        for (int i = 0; i < 5; i++) {
+            detector.recordFailure("203.0.113.7", "203.0.113.0/24", "alice@example.com");
+        }
+        clock.addAndGet(WINDOW_SECONDS * 1_000);
+        detector.recordFailure("203.0.113.7", "203.0.113.0/24", "alice@example.com");
+        detector.recordFailure("203.0.113.8", "203.0.113.0/24", "alice@example.com");
+
+        // Act
+        long distinctIps = detector.assess("203.0.113.7", "203.0.113.0/24", "alice@example.com")
+                .distinctIpsForEmail();
+
+        // Assert
+        assertEquals(2, distinctIps);
+    }
+
+    @Test
+    @DisplayName("recordFailure: records the IP's HyperLogLog with the window and tracked-IP cap")
+    void givenFailure_whenRecording_thenRunsScriptWithCap() {
+        // Act
+        detector.recordFailure("203.0.113.7", "203.0.113.0/24", "alice@example.com");
+
+        // Assert
+        verify(redisTemplate).execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of(
+                        CredentialStuffingDetector.IP_EMAILS_KEY_PREFIX + "203.0.113.7",
+                        CredentialStuffingDetector.TRACKED_IPS_KEY,
+                        CredentialStuffingDetector.OFFENDERS_KEY)),
+                eq("alice@example.com"), eq("203.0.113.7"), eq("60"), eq("5"), eq("2"), eq("1000000"),
+                eq("100"), eq(CredentialStuffingDetector.IP_EMAILS_KEY_PREFIX));
+    }
+
+    @Test
+    @DisplayName("topSubnetsByFailures: more networks than tracked → keeps the heaviest, highest first")
+    void givenManyNetworks_whenRankingSubnets_thenKeepsHeaviestFirst() {
+        // Arrange
+        record("198.51.100.0/24", 1);
+        record("203.0.113.0/24", 7);
+        record("192.0.2.0/24", 4);
+
+        // Act
+        List<AbuseOffenderDto> top = detector.topSubnetsByFailures(10);
+
+        // Assert
+        assertEquals(List.of(new AbuseOffenderDto("203.0.113.0/24", 7), new AbuseOffenderDto("192.0.2.0/24", 4)), top);
+    }
+
+    @Test
+    @DisplayName("recordFailure: two windows pass → counts age out")
+    void givenTwoWindowsPass_whenEstimating_thenCountsAgeOut() {
+        // Arrange
+        record("203.0.113.0/24", 5);
+
+        // Act
+        clock.addAndGet(WINDOW_SECONDS * 1_000);
+        long afterOneWindow = detector.topSubnetsByFailures(1).get(0).getScore();
+        clock.addAndGet(WINDOW_SECONDS * 1_000);
+        List<AbuseOffenderDto> afterTwoWindows = detector.topSubnetsByFailures(1);
+
+        // Assert
+        assertEquals(5, afterOneWindow);
+        assertEquals(List.of(), afterTwoWindows);
+    }
+
+    @Test
+    @DisplayName("recordFailure: idle for more than two windows → old failures not carried over")
+    void givenLongIdleGap_whenEstimating_thenStaleWindowIsDropped() {
+        // Arrange
+        when(redisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+        record("203.0.113.0/24", 5);
+
+        // Act
+        clock.addAndGet(3 * WINDOW_SECONDS * 1_000);
+        CredentialStuffingDetector.Assessment assessment = detector.assess("203.0.113.7", "203.0.113.0/24",
+                "alice@example.com");
+
+        // Assert
+        assertEquals(0, assessment.subnetFailures());
+        assertEquals(0, assessment.distinctIpsForEmail());
+        assertEquals(List.of(), detector.topSubnetsByFailures(1));
+    }
+
+    @Test
+    @DisplayName("constructor: created by Spring → uses the public constructor and property defaults")
+    void givenSpringContext_whenCreatingBean_thenUsesPublicConstructor() {
+        // Arrange
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(StringRedisTemplate.class, () -> redisTemplate);
+            context.register(CredentialStuffingDetector.class);
+
+            // Act
+            context.refresh();
+
+            // Assert
+            assertEquals(3_600, context.getBean(CredentialStuffingDetector.class).getWindowSeconds());
+        }
+    }
+
+    private void record(String subnet, int failures) {
+        for (int i = 0; i < failures; i++) {
+            detector.recordFailure("203.0.113.7", subnet, "alice@example.com");
+        }
+    }
+}
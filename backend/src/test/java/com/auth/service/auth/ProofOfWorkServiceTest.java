@@ -0,0 +1,159 @@
+package com.auth.service.auth;
+
+import com.auth.dto.response.ProofOfWorkChallengeDto;
+import com.auth.service.support.DateTimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProofOfWorkService")
+class ProofOfWorkServiceTest {
+
+    private static final LocalDateTime FIXED_NOW = LocalDateTime.of(2026, 1, 10, 9, 30, 0);
+    private static final String EMAIL = "alice@example.com";
+
+    @Mock
+    private DateTimeProvider dateTimeProvider;
+
+    @InjectMocks
+    private ProofOfWorkService proofOfWorkService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(proofOfWorkService, "secret", "test-secret");
+        ReflectionTestUtils.setField(proofOfWorkService, "ttlSeconds", 120L);
+        ReflectionTestUtils.setField(proofOfWorkService, "baseDifficulty", 8);
+        ReflectionTestUtils.setField(proofOfWorkService, "maxDifficulty", 10);
+        ReflectionTestUtils.setField(proofOfWorkService, "clientHashesPerSecond", 100_000L);
+        proofOfWorkService.init();
+        when(dateTimeProvider.now()).thenReturn(FIXED_NOW);
+    }
+
+    @Test
+    @DisplayName("verify: solved challenge for same scope and email → accepted")
+    void givenSolvedChallenge_whenVerifying_thenAccepted() throws Exception {
+        // Arrange
+        ProofOfWorkChallengeDto challenge = proofOfWorkService.issue("login", EMAIL, 4, 3);
+
+        // Act
+        String solution = solve(challenge);
+
+        // Assert
+        assertTrue(proofOfWorkService.verify("login", EMAIL, challenge.getChallenge(), solution));
+    }
+
+    @Test
+    @DisplayName("verify: solution moved to another email or scope → rejected")
+    void givenSolvedChallenge_whenVerifyingForOtherSubject_thenRejected() throws Exception {
+        // Arrange
+        ProofOfWorkChallengeDto challenge = proofOfWorkService.issue("login", EMAIL, 4, 3);
+        String solution = solve(challenge);
+
+        // Act + Assert
+        assertFalse(proofOfWorkService.verify("login", "bob@example.com", challenge.getChallenge(), solution));
+        assertFalse(proofOfWorkService.verify("register", EMAIL, challenge.getChallenge(), solution));
+    }
+
+    @Test
+    @DisplayName("verify: challenge past its expiry → rejected")
+    void givenExpiredChallenge_whenVerifying_thenRejected() throws Exception {
+        // Arrange
+        ProofOfWorkChallengeDto challenge = proofOfWorkService.issue("login", EMAIL, 4, 3);
+        String solution = solve(challenge);
+        when(dateTimeProvider.now()).thenReturn(FIXED_NOW.plusSeconds(121));
+
+        // Act + Assert
+        assertFalse(proofOfWorkService.verify("login", EMAIL, challenge.getChallenge(), solution));
+    }
+
+    @Test
+    @DisplayName("verify: missing, malformed or unsolved input → rejected")
+    void givenInvalidInput_whenVerifying_thenRejected() {
+        // Arrange
+        ProofOfWorkChallengeDto challenge = proofOfWorkService.issue("login", EMAIL, 4, 3);
+
+        // Act + Assert
+        assertFalse(proofOfWorkService.verify("login", EMAIL, null, "1"));
+        assertFalse(proofOfWorkService.verify("login", EMAIL, "not-a-challenge", "1"));
+        assertFalse(proofOfWorkService.verify("login", EMAIL, "e30.%%%", "1"));
+        assertFalse(proofOfWorkService.verify("login", EMAIL, challenge.getChallenge(), ""));
+    }
+
+    @Test
+    @DisplayName("issue: counter far past the soft limit → harder, capped at the maximum")
+    void givenLargeOvershoot_whenIssuing_thenDifficultyGrowsToCap() {
+        assertEquals(8, proofOfWorkService.issue("login", EMAIL, 4, 3).getDifficulty());
+        assertEquals(9, proofOfWorkService.issue("login", EMAIL, 6, 3).getDifficulty());
+        assertEquals(10, proofOfWorkService.issue("login", EMAIL, 1_000, 3).getDifficulty());
+    }
+
+    @Test
+    @DisplayName("issue: maximum above what clients solve within the TTL → capped lower")
+    void givenSlowClients_whenIssuing_thenDifficultyCappedBySolveBudget() {
+        // Arrange: 20 hashes/s * 120 s / 4 = 600 expected hashes → 9 bits.
+        ReflectionTestUtils.setField(proofOfWorkService, "clientHashesPerSecond", 20L);
+        proofOfWorkService.init();
+
+        // Act + Assert
+        assertEquals(9, proofOfWorkService.issue("login", EMAIL, 1_000, 3).getDifficulty());
+    }
+
+    @Test
+    @DisplayName("issue: challenge MAC → keyed by a derived sub-key, not the raw secret")
+    void givenSecret_whenIssuing_thenMacDoesNotUseRawSecret() throws Exception {
+        // Arrange
+        String challenge = proofOfWorkService.issue("login", EMAIL, 4, 3).getChallenge();
+        int separator = challenge.indexOf('.');
+        String payload = new String(Base64.getUrlDecoder().decode(challenge.substring(0, separator)),
+                StandardCharsets.UTF_8);
+        Mac rawKeyMac = Mac.getInstance("HmacSHA256");
+        rawKeyMac.init(new SecretKeySpec("test-secret".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+
+        // Act
+        byte[] rawKeySignature = rawKeyMac.doFinal((payload + "|" + EMAIL).getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertFalse(MessageDigest.isEqual(rawKeySignature,
+                Base64.getUrlDecoder().decode(challenge.substring(separator + 1))));
+    }
+
+    /** Brute-forces a solution the way a client would. */
+    private static String solve(ProofOfWorkChallengeDto challenge) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (long candidate = 0; ; candidate++) {
+            byte[] hash = digest.digest((challenge.getChallenge() + ":" + candidate).getBytes(StandardCharsets.UTF_8));
+            if (leadingZeroBits(hash) >= challenge.getDifficulty()) {
+                return Long.toString(candidate);
+            }
+        }
+    }
+
+    private static int leadingZeroBits(byte[] hash) {
+        int bits = 0;
+        for (byte value : hash) {
+            if (value != 0) {
+                return bits + Integer.numberOfLeadingZeros(value & 0xff) - 24;
+            }
+            bits += 8;
+        }
+        return bits;
+    }
+}
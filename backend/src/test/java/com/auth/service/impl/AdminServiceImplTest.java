@@ -1,28 +1,60 @@
 package com.auth.service.impl;
 
+import com.auth.dto.request.BulkUserActionRequest;
+import com.auth.dto.response.AdminDashboardDto;
+import com.auth.dto.response.BulkUserActionProgressDto;
+import com.auth.dto.response.CursorPageDto;
 import com.auth.dto.response.UserDto;
 import com.auth.entity.User;
 import com.auth.mapper.UserMapper;
 import com.auth.repository.UserRepository;
+import com.auth.service.support.UserFileFormat;
+import com.auth.service.support.UserProfileCacheEvictor;
+import com.auth.service.support.UserStatsService;
+import com.auth.util.KeysetCursorCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,9 +68,40 @@ class AdminServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserProfileCacheEvictor userProfileCacheEvictor;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
+    @Test
+    @DisplayName("getDashboard: any admin → reads shared counters instead of counting the table")
+    void givenAdminEmail_whenGettingDashboard_thenUsesSharedCounters() {
+        // Arrange
+        when(userStatsService.currentCounts()).thenReturn(new UserStatsService.UserCounts(20L, 12L));
+
+        // Act
+        AdminDashboardDto dashboard = adminService.getDashboard("admin@example.com");
+
+        // Assert
+        assertEquals("admin@example.com", dashboard.getAdmin());
+        assertEquals(20L, dashboard.getTotalUsers());
+        assertEquals(12L, dashboard.getActiveUsers());
+        verify(userRepository, never()).count();
+    }
+
     @Test
     @DisplayName("getUsers: out-of-range inputs → normalizes paging params and defaults sort field")
     void givenOutOfRangePagingInputs_whenGettingUsers_thenNormalizesPagingAndSort() {
@@ -71,6 +134,23 @@ class AdminServiceImplTest {
         assertEquals(Sort.Direction.ASC, order.getDirection());
     }
 
+    @Test
+    @DisplayName("getUsers: relevance sort with search → leaves pageable unsorted for ranked ordering")
+    void givenRelevanceSortWithSearch_whenGettingUsers_thenUsesUnsortedPageable() {
+        // Arrange
+        when(userRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        // Act
+        adminService.getUsers(0, 20, "ali", null, null, "relevance", "desc");
+
+        // Assert
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findAll(any(Specification.class), pageableCaptor.capture());
+        assertTrue(pageableCaptor.getValue().getSort().isUnsorted());
+        assertEquals(20, pageableCaptor.getValue().getPageSize());
+    }
+
     @Test
     @DisplayName("getUsers: invalid role filter → throws IllegalArgumentException")
     void givenInvalidRoleFilter_whenGettingUsers_thenThrowsIllegalArgumentException() {
@@ -83,4 +163,111 @@ class AdminServiceImplTest {
                 org.mockito.ArgumentMatchers.<Specification<User>>isNull(),
                 any(Pageable.class));
     }
+
+    @Test
+    @DisplayName("getUsersByCursor: more rows available → returns window with round-trippable next cursor")
+    @SuppressWarnings("unchecked")
+    void givenMoreRowsAvailable_whenGettingUsersByCursor_thenReturnsNextCursor() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 8, 10, 10, 10);
+        User first = new User();
+        first.setId(42L);
+        first.setCreatedAt(createdAt);
+        User extra = new User();
+        extra.setId(41L);
+        UserDto firstDto = new UserDto();
+        firstDto.setId(42L);
+
+        JpaSpecificationExecutor.SpecificationFluentQuery<User> query =
+                mock(JpaSpecificationExecutor.SpecificationFluentQuery.class, RETURNS_SELF);
+        when(query.all()).thenReturn(List.of(first, extra));
+        when(userRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenAnswer(invocation -> invocation.<Function<JpaSpecificationExecutor.SpecificationFluentQuery<User>,
+                        List<User>>>getArgument(1).apply(query));
+        when(userMapper.toDto(first)).thenReturn(firstDto);
+
+        // Act
+        CursorPageDto<UserDto> result = adminService.getUsersByCursor(
+                "", 1, null, null, null, "createdAt", "desc", false);
+
+        // Assert
+        assertEquals(List.of(firstDto), result.getContent());
+        assertTrue(result.isHasNext());
+        assertNull(result.getTotalElements());
+        verify(query).limit(2);
+        verify(query).sortBy(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+
+        KeysetCursorCodec.Position position = KeysetCursorCodec.decode(result.getNextCursor());
+        assertEquals("createdAt", position.sortField());
+        assertFalse(position.ascending());
+        assertEquals(Map.of("createdAt", createdAt, "id", 42L), position.keys());
+    }
+
+    @Test
+    @DisplayName("getUsersByCursor: cursor issued for another sort → throws IllegalArgumentException")
+    void givenCursorForDifferentSort_whenGettingUsersByCursor_thenThrowsIllegalArgumentException() {
+        // Arrange
+        String cursor = KeysetCursorCodec.encode("email", true, Map.of("email", "alice@example.com", "id", 7L));
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> adminService.getUsersByCursor(cursor, 20, null, null, null, "createdAt", "desc", false));
+    }
+
+    @Test
+    @DisplayName("exportUsers: streamed users → writes one NDJSON line per user and returns row count")
+    void givenStreamedUsers_whenExportingUsers_thenWritesNdjsonLines() throws Exception {
+        // Arrange
+        User alice = new User();
+        User bob = new User();
+        UserDto aliceDto = new UserDto();
+        aliceDto.setEmail("alice@example.com");
+        UserDto bobDto = new UserDto();
+        bobDto.setEmail("bob@example.com");
+
+        when(userRepository.streamAll(org.mockito.ArgumentMatchers.<Specification<User>>isNull(), anyInt()))
+                .thenReturn(Stream.of(alice, bob));
+        when(userMapper.toDto(alice)).thenReturn(aliceDto);
+        when(userMapper.toDto(bob)).thenReturn(bobDto);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long rows = adminService.exportUsers(UserFileFormat.NDJSON, null, null, null, output);
+
+        // Assert
+        assertEquals(2L, rows);
+        assertEquals(2, output.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    @DisplayName("applyBulkAction: ENABLE across two id windows → reports progress, adjusts counters, evicts changed profiles")
+    void givenTwoIdWindows_whenEnablingInBulk_thenReportsProgressPerWindow() {
+        // Arrange
+        BulkUserActionRequest request = new BulkUserActionRequest();
+        request.setAction(BulkUserActionRequest.Action.ENABLE);
+        request.setEnabled(false);
+        List<Long> firstWindow = LongStream.rangeClosed(1, 1_000).boxed().toList();
+        when(userRepository.findIdsAfter(any(), anyLong(), anyInt()))
+                .thenReturn(firstWindow, List.of(1_001L));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.queryForList(contains("SET enabled = TRUE"), eq(String.class), any(), any()))
+                .thenReturn(List.of("alice@example.com"), List.of("bob@example.com"));
+        List<BulkUserActionProgressDto> reports = new ArrayList<>();
+
+        // Act
+        BulkUserActionProgressDto result = adminService.applyBulkAction(request, reports::add);
+
+        // Assert
+        assertEquals(3, reports.size());
+        assertEquals(1_000L, reports.get(0).getMatched());
+        assertFalse(reports.get(1).isDone());
+        assertEquals(1_001L, result.getMatched());
+        assertEquals(2L, result.getAffected());
+        assertTrue(result.isDone());
+        verify(userRepository).findIdsAfter(any(), eq(1_000L), eq(1_000));
+        verify(userStatsService, times(2)).recordEnabledChange(1);
+        verify(userProfileCacheEvictor).evictAfterCommit(List.of("alice@example.com"));
+        verify(userProfileCacheEvictor).evictAfterCommit(List.of("bob@example.com"));
+    }
 }
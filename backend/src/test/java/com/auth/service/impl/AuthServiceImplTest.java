@@ -2,6 +2,7 @@ package com.auth.service.impl;
 
 import com.auth.dto.request.ChangePasswordRequest;
 import com.auth.dto.request.LoginRequest;
+import com.auth.dto.request.OtpVerifyRequest;
 import com.auth.dto.response.AuthResponse;
 import com.auth.dto.response.AuthTokens;
 import com.auth.dto.response.MessageResponse;
@@ -23,6 +24,7 @@ import com.auth.service.support.EmailService;
 import com.auth.service.support.OtpService;
 import com.auth.service.support.PasswordPolicyService;
 import com.auth.service.support.TokenHashService;
+import com.auth.service.support.UserStatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -47,6 +49,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -94,6 +97,9 @@ class AuthServiceImplTest {
     @Mock
     private DateTimeProvider dateTimeProvider;
 
+    @Mock
+    private UserStatsService userStatsService;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -161,6 +167,32 @@ class AuthServiceImplTest {
         assertFalse(savedUser.isEnabled());
     }
 
+    @Test
+    @DisplayName("verifyOtp: concurrent verification already won → no second count or welcome email")
+    void givenConcurrentVerification_whenVerifyingOtp_thenSkipsWelcomeEmail() {
+        // Arrange
+        User user = new User();
+        user.setEmail("alice@example.com");
+        user.setName("Alice");
+        user.setVerificationOtp("otp-hash");
+        user.setOtpExpiry(FIXED_NOW.plusMinutes(5));
+
+        OtpVerifyRequest request = new OtpVerifyRequest();
+        request.setEmail("alice@example.com");
+        request.setOtp("123456");
+
+        when(userService.findByEmail("alice@example.com")).thenReturn(Optional.of(user));
+        when(tokenHashService.matches("123456", "otp-hash")).thenReturn(true);
+        when(userService.markEmailVerified(user)).thenReturn(false);
+
+        // Act
+        MessageResponse response = authService.verifyOtp(request);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verifyNoInteractions(userStatsService, emailService);
+    }
+
     @Test
     @DisplayName("login: user missing → records failed attempt, throws BadCredentialsException")
     void givenUnknownUser_whenLoggingIn_thenRecordsFailedAttemptAndThrowsBadCredentials() {
@@ -175,7 +207,7 @@ class AuthServiceImplTest {
         assertThrows(BadCredentialsException.class, () -> authService.login(request));
 
         // Assert
-        verify(authAbuseProtectionService).guardLoginAttempt(request.getEmail());
+        verify(authAbuseProtectionService).guardLoginAttempt(request.getEmail(), null, null);
         verify(authAbuseProtectionService).recordFailedLogin(request.getEmail());
         verifyNoInteractions(authenticationManager);
     }
@@ -204,7 +236,7 @@ class AuthServiceImplTest {
 
         // Assert
         assertEquals(expectedTokens, actualTokens);
-        verify(authAbuseProtectionService).guardLoginAttempt(request.getEmail());
+        verify(authAbuseProtectionService).guardLoginAttempt(request.getEmail(), null, null);
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(authAbuseProtectionService).clearLoginFailures(user);
         verify(authTokenService).issueTokens(user);
@@ -243,6 +275,30 @@ class AuthServiceImplTest {
         assertThrows(TokenValidationException.class, () -> authService.updatePassword(request));
     }
 
+    @Test
+    @DisplayName("updatePassword: token consumed concurrently → throws TokenValidationException")
+    void givenResetTokenConsumedConcurrently_whenUpdatingPassword_thenThrowsTokenValidationException() {
+        // Arrange
+        UpdatePasswordRequest request = new UpdatePasswordRequest();
+        request.setToken("reset-token");
+        request.setNewPassword("Password2");
+
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("alice@example.com");
+        user.setResetToken("reset-token-hash");
+        user.setResetTokenExpiry(FIXED_NOW.plusMinutes(10));
+
+        when(tokenHashService.hash(request.getToken())).thenReturn("reset-token-hash");
+        when(userService.findByResetToken("reset-token-hash")).thenReturn(Optional.of(user));
+        when(passwordEncoder.encode("Password2")).thenReturn("encoded-password");
+        when(userService.consumeResetToken(7L, "reset-token-hash", "encoded-password")).thenReturn(false);
+
+        // Act + Assert
+        assertThrows(TokenValidationException.class, () -> authService.updatePassword(request));
+        verify(emailService, never()).sendPasswordChangedConfirmationEmail(any(), any());
+    }
+
     @Test
     @DisplayName("changePassword: wrong current password → throws BadCredentialsException")
     void givenMismatchedCurrentPassword_whenChangingPassword_thenThrowsBadCredentialsException() {
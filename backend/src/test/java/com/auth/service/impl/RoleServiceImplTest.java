@@ -0,0 +1,101 @@
+package com.auth.service.impl;
+
+import com.auth.entity.Role;
+import com.auth.entity.RoleName;
+import com.auth.repository.RoleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoleServiceImpl")
+class RoleServiceImplTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @InjectMocks
+    private RoleServiceImpl roleService;
+
+    @Test
+    @DisplayName("findOrCreateRole: roles loaded at startup → served from cache without queries")
+    void givenLoadedRoleCache_whenFindingOrCreatingRole_thenDoesNotQueryRepository() {
+        // Arrange
+        Role userRole = buildRole(RoleName.ROLE_USER);
+        when(roleRepository.findAll()).thenReturn(List.of(userRole, buildRole(RoleName.ROLE_ADMIN)));
+        roleService.loadRolesOnStartup();
+
+        // Act
+        Role first = roleService.findOrCreateRole(RoleName.ROLE_USER);
+        Role second = roleService.findOrCreateRole(RoleName.ROLE_USER);
+
+        // Assert
+        assertSame(userRole, first);
+        assertSame(userRole, second);
+        verify(roleRepository, never()).findByName(any(RoleName.class));
+        verify(roleRepository, never()).save(any(Role.class));
+    }
+
+    @Test
+    @DisplayName("findOrCreateRole: role missing → creates it and refreshes cache")
+    void givenMissingRole_whenFindingOrCreatingRole_thenCreatesRoleAndRefreshesCache() {
+        // Arrange
+        Role adminRole = buildRole(RoleName.ROLE_ADMIN);
+        when(roleRepository.findByName(RoleName.ROLE_ADMIN)).thenReturn(Optional.empty());
+        when(roleRepository.save(any(Role.class))).thenReturn(adminRole);
+        when(roleRepository.findAll()).thenReturn(List.of(adminRole));
+
+        // Act
+        Role created = roleService.findOrCreateRole(RoleName.ROLE_ADMIN);
+        Optional<Role> cached = roleService.findByName(RoleName.ROLE_ADMIN);
+
+        // Assert
+        assertSame(adminRole, created);
+        assertSame(adminRole, cached.orElseThrow());
+        verify(roleRepository).findByName(RoleName.ROLE_ADMIN);
+    }
+
+    @Test
+    @DisplayName("findOrCreateRole: inside a transaction → cache refreshed only after commit")
+    void givenActiveTransaction_whenCreatingRole_thenRefreshesCacheAfterCommit() {
+        // Arrange
+        Role adminRole = buildRole(RoleName.ROLE_ADMIN);
+        when(roleRepository.findByName(RoleName.ROLE_ADMIN)).thenReturn(Optional.empty());
+        when(roleRepository.save(any(Role.class))).thenReturn(adminRole);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            roleService.findOrCreateRole(RoleName.ROLE_ADMIN);
+
+            // Assert
+            verify(roleRepository, never()).findAll();
+
+            when(roleRepository.findAll()).thenReturn(List.of(adminRole));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(roleRepository, times(1)).findAll();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Role buildRole(RoleName roleName) {
+        Role role = new Role();
+        role.setName(roleName);
+        return role;
+    }
+}
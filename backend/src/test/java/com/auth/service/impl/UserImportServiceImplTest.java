@@ -0,0 +1,152 @@
+package com.auth.service.impl;
+
+import com.auth.dto.response.UserImportResultDto;
+import com.auth.entity.Role;
+import com.auth.entity.RoleName;
+import com.auth.repository.UserRepository;
+import com.auth.service.RoleService;
+import com.auth.service.support.EmailService;
+import com.auth.service.support.PasswordPolicyService;
+import com.auth.service.support.UserFileFormat;
+import com.auth.service.support.UserStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserImportServiceImpl")
+class UserImportServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleService roleService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Spy
+    private PasswordPolicyService passwordPolicyService = new PasswordPolicyService();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userImportService, "batchSize", 500);
+        ReflectionTestUtils.setField(userImportService, "hashThreads", 2);
+        ReflectionTestUtils.setField(userImportService, "welcomeEmailQueueCapacity", 100);
+        userImportService.startExecutors();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.stopExecutors();
+    }
+
+    @Test
+    @DisplayName("importUsers: mixed CSV → inserts valid rows once and reports invalid and duplicate rows")
+    @SuppressWarnings("unchecked")
+    void givenMixedCsv_whenImporting_thenBatchesValidRowsAndReportsTheRest() throws Exception {
+        // Arrange
+        Role userRole = new Role(RoleName.ROLE_USER);
+        userRole.setId(7L);
+        when(roleService.findOrCreateRole(RoleName.ROLE_USER)).thenReturn(userRole);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of("taken@example.com"));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        // The second pending row loses a race with a concurrent registration.
+        when(jdbcTemplate.batchUpdate(contains("INTO users"), anyList())).thenReturn(new int[] { 1, 0 });
+        String csv = "name,email,password\n"
+                + "Alice,Alice@Example.com,Secret123\n"
+                + "Bob,bob@example.com,Secret456\n"
+                + "Alice Again,alice@example.com,Secret789\n"
+                + "Taken,taken@example.com,Secret321\n"
+                + "Weak,weak@example.com,short\n";
+
+        // Act
+        UserImportResultDto result = userImportService.importUsers(UserFileFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), true);
+
+        // Assert
+        assertEquals(5L, result.getReceived());
+        assertEquals(1L, result.getImported());
+        assertEquals(3L, result.getDuplicates());
+        assertEquals(1L, result.getRejected());
+        assertEquals(4, result.getErrors().size());
+        assertFalse(result.isErrorsTruncated());
+
+        ArgumentCaptor<Collection<String>> checkedEmails = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository).findExistingEmails(checkedEmails.capture());
+        assertEquals(List.of("alice@example.com", "bob@example.com", "taken@example.com"),
+                List.copyOf(checkedEmails.getValue()));
+
+        ArgumentCaptor<List<Object[]>> userRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INTO users"), userRows.capture());
+        assertEquals(2, userRows.getValue().size());
+        assertEquals("hash:Secret123", userRows.getValue().get(0)[4]);
+        verify(passwordEncoder, never()).encode("Secret321");
+
+        ArgumentCaptor<List<Object[]>> roleRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INTO user_roles"), roleRows.capture());
+        assertEquals(1, roleRows.getValue().size());
+        assertEquals(7L, roleRows.getValue().get(0)[0]);
+        assertEquals("alice@example.com", roleRows.getValue().get(0)[1]);
+
+        verify(userStatsService).recordUsersCreated(1, true);
+        verify(emailService, timeout(1_000)).sendWelcomeEmail("alice@example.com", "Alice");
+        verify(emailService, never()).sendWelcomeEmail(eq("bob@example.com"), anyString());
+    }
+}
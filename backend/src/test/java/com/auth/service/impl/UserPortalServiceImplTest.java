@@ -0,0 +1,130 @@
+package com.auth.service.impl;
+
+import com.auth.dto.response.AdminDashboardDto;
+import com.auth.dto.response.UserBootstrapDto;
+import com.auth.dto.response.UserDashboardDto;
+import com.auth.dto.response.UserDto;
+import com.auth.mapper.UserMapper;
+import com.auth.service.AdminService;
+import com.auth.service.support.UserProfileCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserPortalServiceImpl")
+class UserPortalServiceImplTest {
+
+    @Mock
+    private UserProfileCache userProfileCache;
+
+    @Mock
+    private AdminService adminService;
+
+    private UserPortalServiceImpl userPortalService;
+
+    @BeforeEach
+    void setUp() {
+        userPortalService = new UserPortalServiceImpl(
+                userProfileCache, Mappers.getMapper(UserMapper.class), adminService, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("getDashboard: cached profile → builds dashboard with greeting and timestamp")
+    void givenCachedProfile_whenGettingDashboard_thenBuildsDashboardFromProfile() {
+        // Arrange
+        when(userProfileCache.get("alice@example.com")).thenReturn(profile("Alice"));
+
+        // Act
+        UserDashboardDto dashboard = userPortalService.getDashboard("alice@example.com");
+
+        // Assert
+        assertEquals("Welcome back, Alice!", dashboard.getMessage());
+        assertEquals("Alice", dashboard.getUser());
+        assertEquals("alice@example.com", dashboard.getEmail());
+        assertEquals(List.of("ROLE_USER"), dashboard.getRoles());
+        assertNotNull(dashboard.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("getDashboard: profile without name → greets generic user")
+    void givenProfileWithoutName_whenGettingDashboard_thenGreetsGenericUser() {
+        // Arrange
+        when(userProfileCache.get("alice@example.com")).thenReturn(profile(" "));
+
+        // Act
+        UserDashboardDto dashboard = userPortalService.getDashboard("alice@example.com");
+
+        // Assert
+        assertEquals("Welcome back, User!", dashboard.getMessage());
+    }
+
+    @Test
+    @DisplayName("getBootstrap: admin → combines profile, dashboard and admin dashboard from one profile lookup")
+    void givenAdmin_whenGettingBootstrap_thenIncludesAdminDashboard() {
+        // Arrange
+        AdminDashboardDto adminDashboard = new AdminDashboardDto("Welcome", "alice@example.com", 10, 8, "now");
+        when(userProfileCache.get("alice@example.com")).thenReturn(profile("Alice"));
+        when(adminService.getDashboard("alice@example.com")).thenReturn(adminDashboard);
+
+        // Act
+        UserBootstrapDto bootstrap = userPortalService.getBootstrap("alice@example.com", true);
+
+        // Assert
+        assertEquals("alice@example.com", bootstrap.getProfile().getEmail());
+        assertEquals("Welcome back, Alice!", bootstrap.getDashboard().getMessage());
+        assertEquals(adminDashboard, bootstrap.getAdminDashboard());
+        verify(userProfileCache, times(1)).get("alice@example.com");
+    }
+
+    @Test
+    @DisplayName("getBootstrap: regular user → skips admin dashboard")
+    void givenRegularUser_whenGettingBootstrap_thenOmitsAdminDashboard() {
+        // Arrange
+        when(userProfileCache.get("alice@example.com")).thenReturn(profile("Alice"));
+
+        // Act
+        UserBootstrapDto bootstrap = userPortalService.getBootstrap("alice@example.com", false);
+
+        // Assert
+        assertNull(bootstrap.getAdminDashboard());
+        verifyNoInteractions(adminService);
+    }
+
+    @Test
+    @DisplayName("getProfileVersion: returns version carried by the cached profile")
+    void givenCachedProfile_whenGettingProfileVersion_thenReturnsItsVersion() {
+        // Arrange
+        UserDto profile = profile("Alice");
+        profile.setVersion(1736L);
+        when(userProfileCache.get("alice@example.com")).thenReturn(profile);
+
+        // Act + Assert
+        assertEquals(1736L, userPortalService.getProfileVersion("alice@example.com"));
+    }
+
+    private static UserDto profile(String name) {
+        UserDto profile = new UserDto();
+        profile.setId(7L);
+        profile.setName(name);
+        profile.setEmail("alice@example.com");
+        profile.setRoles(Set.of("ROLE_USER"));
+        profile.setEnabled(true);
+        return profile;
+    }
+}
@@ -2,7 +2,10 @@ package com.auth.service.impl;
 
 import com.auth.entity.User;
 import com.auth.exception.ResourceNotFoundException;
+import com.auth.repository.FailedLoginResult;
 import com.auth.repository.UserRepository;
+import com.auth.service.support.UserProfileCacheEvictor;
+import com.auth.service.support.UserStatsService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,10 +13,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +36,12 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private UserProfileCacheEvictor userProfileCacheEvictor;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -33,7 +52,7 @@ class UserServiceImplTest {
         User user = new User();
         user.setEmail("alice@example.com");
 
-        when(userRepository.findByEmailIgnoreCase("alice@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user));
 
         // Act
         User result = userService.getUserByEmail("alice@example.com");
@@ -46,9 +65,108 @@ class UserServiceImplTest {
     @DisplayName("getUserByEmail: user missing → throws ResourceNotFoundException")
     void givenMissingUserEmail_whenGettingUserByEmail_thenThrowsResourceNotFoundException() {
         // Arrange
-        when(userRepository.findByEmailIgnoreCase("missing@example.com")).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
 
         // Act + Assert
         assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("missing@example.com"));
     }
+
+    @Test
+    @DisplayName("findByEmail: mixed-case input → queries repository with canonical email")
+    void givenMixedCaseEmail_whenFindingByEmail_thenQueriesWithNormalizedEmail() {
+        // Arrange
+        User user = new User();
+        user.setEmail("alice@example.com");
+
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        Optional<User> result = userService.findByEmail("  Alice@Example.COM ");
+
+        // Assert
+        assertEquals(Optional.of(user), result);
+        verify(userRepository).findByEmail("alice@example.com");
+    }
+
+    @Test
+    @DisplayName("save: new user → records creation in user counters")
+    void givenNewUser_whenSaving_thenRecordsUserCreated() {
+        // Arrange
+        User user = new User();
+        user.setEmail("alice@example.com");
+        user.setEnabled(true);
+        when(userRepository.save(user)).thenReturn(user);
+
+        // Act
+        userService.save(user);
+
+        // Assert
+        verify(userStatsService).recordUserCreated(true);
+        verify(userProfileCacheEvictor, never()).evictAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("save: existing user → leaves user counters untouched and evicts cached profile")
+    void givenExistingUser_whenSaving_thenDoesNotRecordUserCreated() {
+        // Arrange
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("alice@example.com");
+        when(userRepository.save(user)).thenReturn(user);
+
+        // Act
+        userService.save(user);
+
+        // Assert
+        verify(userStatsService, never()).recordUserCreated(anyBoolean());
+        verify(userProfileCacheEvictor).evictAfterCommit(List.of("alice@example.com"));
+    }
+
+    @Test
+    @DisplayName("recordFailedLogin: mixed-case email → updates counter by canonical email")
+    void givenMixedCaseEmail_whenRecordingFailedLogin_thenUpdatesByCanonicalEmail() {
+        // Arrange
+        LocalDateTime lockedUntil = LocalDateTime.of(2026, 1, 10, 9, 45, 0);
+        FailedLoginResult result = mock(FailedLoginResult.class);
+        when(userRepository.recordFailedLogin(eq("alice@example.com"), eq(5), eq(lockedUntil), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(result));
+
+        // Act
+        Optional<FailedLoginResult> recorded = userService.recordFailedLogin(" Alice@Example.com ", 5, lockedUntil);
+
+        // Assert
+        assertTrue(recorded.isPresent());
+    }
+
+    @Test
+    @DisplayName("markEmailVerified: already verified → returns false")
+    void givenAlreadyVerifiedUser_whenMarkingEmailVerified_thenReturnsFalse() {
+        // Arrange
+        when(userRepository.markEmailVerified(eq(7L), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act + Assert
+        assertFalse(userService.markEmailVerified(user()));
+        verify(userProfileCacheEvictor, never()).evictAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("markEmailVerified: newly verified → returns true and evicts cached profile")
+    void givenUnverifiedUser_whenMarkingEmailVerified_thenEvictsCachedProfile() {
+        // Arrange
+        when(userRepository.markEmailVerified(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        boolean verified = userService.markEmailVerified(user());
+
+        // Assert
+        assertTrue(verified);
+        verify(userProfileCacheEvictor).evictAfterCommit(List.of("alice@example.com"));
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("alice@example.com");
+        return user;
+    }
 }
@@ -0,0 +1,71 @@
+package com.auth.service.support;
+
+import com.auth.dto.response.UserDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("UserExportWriter")
+class UserExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("write: NDJSON format → one JSON object per line")
+    void givenNdjsonFormat_whenWritingUsers_thenEmitsOneObjectPerLine() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        try (UserExportWriter writer = UserExportWriter.open(UserFileFormat.NDJSON, output, objectMapper)) {
+            writer.write(user(1L, "Alice", "alice@example.com"));
+            writer.write(user(2L, "Bob", "bob@example.com"));
+        }
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("alice@example.com", objectMapper.readTree(lines[0]).get("email").asText());
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("write: CSV format → quotes special characters and neutralises formulas")
+    void givenCsvFormat_whenWritingUsers_thenEscapesCellsAndNeutralisesFormulas() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        try (UserExportWriter writer = UserExportWriter.open(UserFileFormat.CSV, output, objectMapper)) {
+            writer.write(user(1L, "Doe, \"Jane\"", "jane@example.com"));
+            writer.write(user(2L, "=HYPERLINK(\"x\")", "eve@example.com"));
+        }
+
+        // Assert
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("id,name,email,loginSource,roles,enabled,createdAt", lines.get(0));
+        assertEquals("1,\"Doe, \"\"Jane\"\"\",jane@example.com,EMAIL_PASSWORD,ROLE_USER,true,"
+                + "\"08 Mar 2026, 10:10:10 AM\"", lines.get(1));
+        assertEquals("2,\"'=HYPERLINK(\"\"x\"\")\",eve@example.com,EMAIL_PASSWORD,ROLE_USER,true,"
+                + "\"08 Mar 2026, 10:10:10 AM\"", lines.get(2));
+    }
+
+    private UserDto user(Long id, String name, String email) {
+        UserDto user = new UserDto();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        user.setLoginSource("EMAIL_PASSWORD");
+        user.setRoles(new LinkedHashSet<>(List.of("ROLE_USER")));
+        user.setEnabled(true);
+        user.setCreatedAt("08 Mar 2026, 10:10:10 AM");
+        return user;
+    }
+}
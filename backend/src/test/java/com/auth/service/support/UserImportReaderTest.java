@@ -0,0 +1,80 @@
+package com.auth.service.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("UserImportReader")
+class UserImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("next: CSV with reordered header and quoted cells → maps columns by name")
+    void givenCsvWithQuotedCells_whenReading_thenMapsColumnsByHeaderName() throws Exception {
+        // Arrange
+        String csv = "\uFEFFEmail,Password,Name,team\n"
+                + "jane@example.com,Secret123,\"Doe, \"\"Jane\"\"\",ops\n"
+                + "\n"
+                + "bob@example.com,\"unterminated,Bob\n";
+
+        // Act
+        List<UserImportReader.Row> rows = readAll(UserFileFormat.CSV, csv);
+
+        // Assert
+        assertEquals(2, rows.size());
+        assertEquals(2L, rows.get(0).lineNumber());
+        assertEquals("Doe, \"Jane\"", rows.get(0).request().getName());
+        assertEquals("jane@example.com", rows.get(0).request().getEmail());
+        assertEquals("Secret123", rows.get(0).request().getPassword());
+        assertEquals(4L, rows.get(1).lineNumber());
+        assertEquals("Unterminated quoted cell.", rows.get(1).error());
+    }
+
+    @Test
+    @DisplayName("open: CSV header without password column → throws IllegalArgumentException")
+    void givenCsvHeaderMissingColumn_whenOpening_thenThrows() {
+        // Arrange
+        ByteArrayInputStream input = new ByteArrayInputStream("name,email\n".getBytes(StandardCharsets.UTF_8));
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> UserImportReader.open(UserFileFormat.CSV, input, objectMapper));
+    }
+
+    @Test
+    @DisplayName("next: NDJSON with a malformed line → reports the line and keeps reading")
+    void givenNdjsonWithMalformedLine_whenReading_thenReportsErrorAndContinues() throws Exception {
+        // Arrange
+        String ndjson = "{\"name\":\"Alice\",\"email\":\"alice@example.com\",\"password\":\"Secret123\"}\n"
+                + "{not json}\n"
+                + "{\"name\":\"Bob\",\"email\":\"bob@example.com\",\"password\":\"Secret456\"}\n";
+
+        // Act
+        List<UserImportReader.Row> rows = readAll(UserFileFormat.NDJSON, ndjson);
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals("alice@example.com", rows.get(0).request().getEmail());
+        assertNull(rows.get(1).request());
+        assertEquals("Malformed JSON.", rows.get(1).error());
+        assertEquals(3L, rows.get(2).lineNumber());
+    }
+
+    private List<UserImportReader.Row> readAll(UserFileFormat format, String content) throws Exception {
+        List<UserImportReader.Row> rows = new ArrayList<>();
+        ByteArrayInputStream input = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        try (UserImportReader reader = UserImportReader.open(format, input, objectMapper)) {
+            reader.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+}
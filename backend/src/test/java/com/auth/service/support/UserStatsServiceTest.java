@@ -0,0 +1,123 @@
+package com.auth.service.support;
+
+import com.auth.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserStatsService")
+class UserStatsServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserListVersion userListVersion;
+
+    @InjectMocks
+    private UserStatsService userStatsService;
+
+    @Test
+    @DisplayName("currentCounts: counters present → returns them without querying the database")
+    void givenCountersPresent_whenReadingCounts_thenSkipsDatabase() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(List.of("20", "12"));
+
+        // Act
+        UserStatsService.UserCounts counts = userStatsService.currentCounts();
+
+        // Assert
+        assertEquals(new UserStatsService.UserCounts(20L, 12L), counts);
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("currentCounts: counters missing → rebuilds them from the database")
+    void givenCountersMissing_whenReadingCounts_thenReconcilesFromDatabase() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(null, null));
+        when(userRepository.count()).thenReturn(5L);
+        when(userRepository.countByEnabledTrue()).thenReturn(3L);
+
+        // Act
+        UserStatsService.UserCounts counts = userStatsService.currentCounts();
+
+        // Assert
+        assertEquals(new UserStatsService.UserCounts(5L, 3L), counts);
+        verify(valueOperations).multiSet(Map.of(
+                UserStatsService.TOTAL_USERS_KEY, "5",
+                UserStatsService.ENABLED_USERS_KEY, "3"));
+    }
+
+    @Test
+    @DisplayName("reconcile: counts drifted → overwrites counters and advances the user list version")
+    void givenDriftedCounters_whenReconciling_thenAdvancesUserListVersion() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(List.of("6", "3"));
+        when(userRepository.count()).thenReturn(5L);
+        when(userRepository.countByEnabledTrue()).thenReturn(3L);
+
+        // Act
+        userStatsService.reconcile();
+
+        // Assert
+        verify(userListVersion).advance();
+    }
+
+    @Test
+    @DisplayName("reconcile: counts unchanged → keeps the user list version")
+    void givenAccurateCounters_whenReconciling_thenKeepsUserListVersion() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(List.of("5", "3"));
+        when(userRepository.count()).thenReturn(5L);
+        when(userRepository.countByEnabledTrue()).thenReturn(3L);
+
+        // Act
+        userStatsService.reconcile();
+
+        // Assert
+        verify(userListVersion, never()).advance();
+    }
+
+    @Test
+    @DisplayName("currentCounts: Redis unavailable → falls back to database counts")
+    void givenRedisUnavailable_whenReadingCounts_thenFallsBackToDatabase() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        when(userRepository.count()).thenReturn(5L);
+        when(userRepository.countByEnabledTrue()).thenReturn(3L);
+
+        // Act
+        UserStatsService.UserCounts counts = userStatsService.currentCounts();
+
+        // Assert
+        assertEquals(new UserStatsService.UserCounts(5L, 3L), counts);
+    }
+}
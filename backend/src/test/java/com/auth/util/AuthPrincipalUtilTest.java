@@ -3,9 +3,15 @@ package com.auth.util;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -45,4 +51,17 @@ class AuthPrincipalUtilTest {
         assertThrows(IllegalArgumentException.class,
                 () -> AuthPrincipalUtil.requireAuthenticatedEmail(null));
     }
+
+    @Test
+    @DisplayName("hasAuthority: matches granted authority names exactly")
+    void givenGrantedAuthorities_whenCheckingAuthority_thenMatchesExactName() {
+        // Arrange
+        Authentication authentication = mock(Authentication.class);
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(authentication).getAuthorities();
+
+        // Act + Assert
+        assertTrue(AuthPrincipalUtil.hasAuthority(authentication, "ROLE_ADMIN"));
+        assertFalse(AuthPrincipalUtil.hasAuthority(authentication, "ROLE_USER"));
+        assertFalse(AuthPrincipalUtil.hasAuthority(null, "ROLE_ADMIN"));
+    }
 }
@@ -0,0 +1,16 @@
+-- Seeds :rows synthetic users for AdminUserPagingBenchmark (or by hand:
+-- psql -v rows=250000 -f seed-admin-users.sql). Run against a schema migrated by Flyway.
+-- created_at is one second apart per user, so the default createdAt ordering has no ties.
+INSERT INTO users (name, email, password, enabled, created_at, updated_at, role_mask, auth_provider)
+SELECT 'Bench User ' || g,
+       'bench-user-' || g || '@example.com',
+       'not-a-hash',
+       g % 10 <> 0,
+       TIMESTAMP '2020-01-01 00:00:00' + g * INTERVAL '1 second',
+       TIMESTAMP '2020-01-01 00:00:00' + g * INTERVAL '1 second',
+       1,
+       'LOCAL'
+FROM generate_series(1, :rows) AS g
+ON CONFLICT (email) DO NOTHING;
+
+ANALYZE users;
@@ -18,8 +18,8 @@ const UserDashboard = () => {
 
     const fetchDashboardData = useCallback(async () => {
         try {
-            const response = await userAPI.getDashboard();
-            setDashboardData(response.data ?? null);
+            const response = await userAPI.getBootstrap();
+            setDashboardData(response.data?.dashboard ?? null);
         } catch {
             setError('Failed to load dashboard data');
         } finally {
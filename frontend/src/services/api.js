@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { isChallengeRequired, solveChallenge } from '../utils/proofOfWork';
 
 const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api/v1';
 const OAUTH_BASE_URL = import.meta.env.VITE_OAUTH_BASE_URL || 'http://localhost:8080';
@@ -183,10 +184,24 @@ api.interceptors.response.use(
   }
 );
 
+// Suspicious traffic gets a proof-of-work puzzle (HTTP 428); solve it and retry once.
+const postWithChallenge = async (url, data) => {
+  try {
+    return await api.post(url, data);
+  } catch (error) {
+    if (!isChallengeRequired(error)) {
+      throw error;
+    }
+    const { challenge, difficulty, expiresInSeconds } = error.response.data.data;
+    const challengeSolution = await solveChallenge({ challenge, difficulty, expiresInSeconds });
+    return api.post(url, { ...data, challenge, challengeSolution });
+  }
+};
+
 export const authAPI = {
-  register: (data) => api.post('/auth/register', data),
+  register: (data) => postWithChallenge('/auth/register', data),
   verifyOtp: (data) => api.post('/auth/verify-otp', data),
-  login: (data) => api.post('/auth/login', data),
+  login: (data) => postWithChallenge('/auth/login', data),
   refresh: () => api.post('/auth/refresh'),
   resetPassword: (data) => api.post('/auth/reset-password', data),
   updatePassword: (data) => api.post('/auth/update-password', data),
@@ -195,6 +210,7 @@ export const authAPI = {
 };
 
 export const userAPI = {
+  getBootstrap: () => api.get('/user/bootstrap'),
   getDashboard: () => api.get('/user/dashboard'),
   getProfile: () => api.get('/user/profile'),
   changePassword: (data) => api.post('/user/change-password', data),
@@ -0,0 +1,29 @@
+/**
+ * Finds a solution for a proof-of-work challenge returned with HTTP 428:
+ * SHA-256(challenge + ':' + solution) must start with `difficulty` zero bits.
+ * The search runs in a Web Worker so the page stays responsive, and is abandoned once the
+ * challenge expires, since the server would reject the solution anyway.
+ */
+export const solveChallenge = ({ challenge, difficulty, expiresInSeconds }) =>
+  new Promise((resolve, reject) => {
+    const worker = new Worker(new URL('./proofOfWork.worker.js', import.meta.url), { type: 'module' });
+    let timeout = null;
+    const finish = (settle) => {
+      clearTimeout(timeout);
+      worker.terminate();
+      settle();
+    };
+
+    worker.onmessage = ({ data }) => finish(() => resolve(data.solution));
+    worker.onerror = (event) => finish(() => reject(event.error ?? new Error(event.message)));
+    if (expiresInSeconds > 0) {
+      timeout = setTimeout(
+        () => finish(() => reject(new Error('The verification challenge expired. Please try again.'))),
+        expiresInSeconds * 1000
+      );
+    }
+    worker.postMessage({ challenge, difficulty });
+  });
+
+export const isChallengeRequired = (error) =>
+  error?.response?.status === 428 && typeof error.response.data?.data?.challenge === 'string';
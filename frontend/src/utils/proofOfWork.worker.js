@@ -0,0 +1,121 @@
+// Proof-of-work solver. Runs off the main thread and hashes synchronously: awaiting
+// crypto.subtle.digest once per candidate costs far more than the hash itself.
+
+const K = new Uint32Array([
+  0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+  0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+  0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+  0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+  0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+  0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+  0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+  0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2,
+]);
+const INITIAL_STATE = [0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19];
+const w = new Uint32Array(64);
+
+// One SHA-256 compression of the 64-byte block at `offset` into `state`.
+const compress = (state, bytes, offset) => {
+  for (let i = 0; i < 16; i += 1) {
+    const j = offset + i * 4;
+    w[i] = (bytes[j] << 24) | (bytes[j + 1] << 16) | (bytes[j + 2] << 8) | bytes[j + 3];
+  }
+  for (let i = 16; i < 64; i += 1) {
+    const x = w[i - 15];
+    const y = w[i - 2];
+    const s0 = ((x >>> 7) | (x << 25)) ^ ((x >>> 18) | (x << 14)) ^ (x >>> 3);
+    const s1 = ((y >>> 17) | (y << 15)) ^ ((y >>> 19) | (y << 13)) ^ (y >>> 10);
+    w[i] = w[i - 16] + s0 + w[i - 7] + s1;
+  }
+  let a = state[0];
+  let b = state[1];
+  let c = state[2];
+  let d = state[3];
+  let e = state[4];
+  let f = state[5];
+  let g = state[6];
+  let h = state[7];
+  for (let i = 0; i < 64; i += 1) {
+    const s1 = ((e >>> 6) | (e << 26)) ^ ((e >>> 11) | (e << 21)) ^ ((e >>> 25) | (e << 7));
+    const t1 = (h + s1 + ((e & f) ^ (~e & g)) + K[i] + w[i]) | 0;
+    const s0 = ((a >>> 2) | (a << 30)) ^ ((a >>> 13) | (a << 19)) ^ ((a >>> 22) | (a << 10));
+    const t2 = (s0 + ((a & b) ^ (a & c) ^ (b & c))) | 0;
+    h = g;
+    g = f;
+    f = e;
+    e = (d + t1) | 0;
+    d = c;
+    c = b;
+    b = a;
+    a = (t1 + t2) | 0;
+  }
+  state[0] += a;
+  state[1] += b;
+  state[2] += c;
+  state[3] += d;
+  state[4] += e;
+  state[5] += f;
+  state[6] += g;
+  state[7] += h;
+};
+
+const leadingZeroBits = (state) => {
+  let bits = 0;
+  for (const word of state) {
+    if (word !== 0) {
+      return bits + Math.clz32(word);
+    }
+    bits += 32;
+  }
+  return bits;
+};
+
+/**
+ * Finds the first base-36 counter such that SHA-256(challenge + ':' + solution) starts with
+ * `difficulty` zero bits. Full 64-byte blocks of the fixed prefix are hashed once; each
+ * candidate only compresses the one or two blocks holding its own bytes.
+ */
+export const solve = (challenge, difficulty) => {
+  const prefix = new TextEncoder().encode(`${challenge}:`);
+  const fixedLength = prefix.length - (prefix.length % 64);
+  const midstate = new Uint32Array(INITIAL_STATE);
+  for (let offset = 0; offset < fixedLength; offset += 64) {
+    compress(midstate, prefix, offset);
+  }
+
+  const tail = new Uint8Array(128);
+  const tailPrefixLength = prefix.length - fixedLength;
+  tail.set(prefix.subarray(fixedLength));
+  const state = new Uint32Array(8);
+
+  for (let candidate = 0; ; candidate += 1) {
+    const solution = candidate.toString(36);
+    let length = tailPrefixLength;
+    for (let i = 0; i < solution.length; i += 1) {
+      tail[length] = solution.charCodeAt(i);
+      length += 1;
+    }
+    tail[length] = 0x80;
+    tail.fill(0, length + 1);
+    const blocks = length + 9 <= 64 ? 1 : 2;
+    const bitLength = (fixedLength + length) * 8;
+    const end = blocks * 64;
+    tail[end - 4] = bitLength >>> 24;
+    tail[end - 3] = bitLength >>> 16;
+    tail[end - 2] = bitLength >>> 8;
+    tail[end - 1] = bitLength;
+
+    state.set(midstate);
+    compress(state, tail, 0);
+    if (blocks === 2) {
+      compress(state, tail, 64);
+    }
+    if (leadingZeroBits(state) >= difficulty) {
+      return solution;
+    }
+  }
+};
+
+self.onmessage = ({ data }) => {
+  self.postMessage({ solution: solve(data.challenge, data.difficulty) });
+};